@@ -0,0 +1,56 @@
+package com.example.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.AttributeSimilarityIndex;
+
+/**
+ * The /{id}/similar lookup: scoring the whole catalog against one item and
+ * keeping the top 20, with the Vector API kernel and with the scalar
+ * fallback. The fork loads jdk.incubator.vector so both can run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AttributeSimilarityBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int items;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+
+    private AttributeSimilarityIndex index;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        index = AttributeSimilarityIndex.build(CatalogFixtures.items(items), vectorized);
+        if (index.isVectorized() != vectorized) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+    }
+
+    @Benchmark
+    public List<ScoredItem> similar() {
+        next = next % items + 7919;
+        return index.similar(next % items + 1, 20);
+    }
+}
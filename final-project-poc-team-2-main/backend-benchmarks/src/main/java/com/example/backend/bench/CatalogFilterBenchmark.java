@@ -0,0 +1,80 @@
+package com.example.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.dto.FacetCounts;
+import com.example.backend.index.ClothingFacetIndex;
+
+/**
+ * The catalog filter endpoints (/filter, /facets, /cheapest) as served by
+ * ClothingFacetIndex. The filters are a narrow one (two colours and a
+ * gender) and a broad one (one event plus a price range), to cover both a
+ * small and a large result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogFilterBenchmark {
+
+    private static final ClothingItemFilter NARROW = new ClothingItemFilter(
+        List.of("female"), List.of("red", "navy"), null, null, null, null, null, null);
+    private static final ClothingItemFilter BROAD = new ClothingItemFilter(
+        null, null, null, null, null, List.of("casual"), 20, 90);
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    private List<ClothingItemDTO> catalog;
+    private ClothingFacetIndex index;
+
+    @Setup
+    public void setUp() {
+        catalog = List.copyOf(CatalogFixtures.items(items));
+        index = ClothingFacetIndex.build(catalog);
+    }
+
+    @Benchmark
+    public List<ClothingItemDTO> filterNarrow() {
+        return index.query(NARROW);
+    }
+
+    @Benchmark
+    public List<ClothingItemDTO> filterBroad() {
+        return index.query(BROAD);
+    }
+
+    @Benchmark
+    public FacetCounts facetCounts() {
+        return index.facetCounts(NARROW);
+    }
+
+    @Benchmark
+    public List<ClothingItemDTO> cheapest() {
+        return index.cheapest(BROAD, 10);
+    }
+
+    // what a full rebuild costs after a bulk import or the periodic staleness check
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ClothingFacetIndex build() {
+        return ClothingFacetIndex.build(catalog);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.backend.model.ClothingItem;
+
+/**
+ * Synthetic catalog rows drawn from the vocabularies in clothing-script's
+ * migration files. The seed is fixed, so every run measures the same data,
+ * and nothing is read from disk or a database.
+ */
+final class CatalogFixtures {
+
+    static final String[] GENDERS = {"male", "female", "unisex"};
+    static final String[] COLORS = {"red", "blue", "black", "white", "green", "beige", "navy", "grey", "pink", "brown"};
+    static final String[] PATTERNS = {"solid", "striped", "graphic", "floral", "plaid", "checked"};
+    static final String[] MATERIALS = {"cotton", "denim", "wool", "polyester", "linen", "leather", "silk"};
+    static final String[] TYPES = {"hoodie", "t-shirt", "jeans", "jacket", "dress", "skirt", "sweater", "coat"};
+    static final String[] EVENTS = {"casual", "formal", "party", "outdoor", "everyday wear", "work", "date night"};
+    static final String[] PRICES = {"$15-$25", "$20-$40", "40", "$60-$90", "$80-$120", "$120+"};
+
+    private CatalogFixtures() {}
+
+    static List<ClothingItem> items(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<ClothingItem> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String color = pick(random, COLORS);
+            String type = pick(random, TYPES);
+            String material = pick(random, MATERIALS);
+
+            ClothingItem item = new ClothingItem();
+            item.setId((long) i);
+            item.setName(capitalize(color) + " " + capitalize(material) + " " + capitalize(type) + " " + i);
+            item.setDescription("A " + color + " " + material + " " + type
+                + " with a relaxed fit, easy to layer and comfortable for all-day wear.");
+            item.setColor(color);
+            item.setPattern(pick(random, PATTERNS));
+            item.setMaterial(material);
+            item.setEstimatedPricing(pick(random, PRICES));
+            item.setGender(pick(random, GENDERS));
+            item.setEvents(pick(random, EVENTS) + ", " + pick(random, EVENTS));
+            item.setTypeOfClothing(type);
+            item.setImageUrl("https://example.com/images/" + i + ".jpg");
+            item.normalizePrice();
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ColumnarItems;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * The catalog in each response format the backend negotiates: plain JSON,
+ * CBOR, and the columnar JSON of {@link ColumnarItems}. "serialize" is
+ * what the server does per format, including building the columns.
+ * "parse" reads the bytes back into a tree, as a client's generic decoder
+ * would. Payload sizes, raw and gzipped, are printed once per trial, since
+ * JMH only measures time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogFormatBenchmark {
+
+    public enum Format { JSON, CBOR, COLUMNAR }
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    @Param({"JSON", "CBOR", "COLUMNAR"})
+    public Format format;
+
+    private List<ClothingItemDTO> catalog;
+    private ObjectMapper mapper;
+    private ObjectWriter writer;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalog = List.copyOf(CatalogFixtures.items(items));
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        // as CatalogSnapshotService derives its CBOR mapper
+        mapper = format == Format.CBOR ? json.copyWith(new CBORFactory()) : json;
+        writer = format == Format.COLUMNAR ? mapper.writerFor(ColumnarItems.class)
+                                           : mapper.writerFor(new TypeReference<List<ClothingItemDTO>>() {});
+        payload = serialize();
+        System.out.printf("%n%s, %d items: %d bytes, %d gzipped%n", format, items, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return format == Format.COLUMNAR ? writer.writeValueAsBytes(ColumnarItems.of(catalog))
+                                         : writer.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public JsonNode parse() throws IOException {
+        return mapper.readTree(payload);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writing a list of catalog items as JSON, the step CatalogSnapshotService
+ * runs for GET /api/clothing-items and CatalogExportService for exports.
+ * The mapper is built with the same defaults Spring Boot gives the app's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int items;
+
+    private List<ClothingItemDTO> catalog;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        catalog = List.copyOf(CatalogFixtures.items(items));
+        writer = Jackson2ObjectMapperBuilder.json().build()
+            .writerFor(new TypeReference<List<ClothingItemDTO>>() {});
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(catalog);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.backend.bench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.index.CooccurrenceIndex;
+
+/**
+ * The /also-saved lookup (top 10 by cosine) and a full rebuild of the
+ * wishlist co-occurrence index, at 100k and 1M wishlists of 1-10 items over
+ * a 20k-item catalog. Popular items are saved far more often than the rest,
+ * as in real wishlists. The setup prints the index's size and estimated heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CooccurrenceBenchmark {
+
+    private static final int ITEMS = 20_000;
+
+    @Param({"100000", "1000000"})
+    public int wishlists;
+
+    // (wishlist, item) entries, wishlist by wishlist
+    private long[] wishlistIds;
+    private long[] itemIds;
+    private CooccurrenceIndex index;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int capacity = wishlists * 6;
+        wishlistIds = new long[capacity];
+        itemIds = new long[capacity];
+        int n = 0;
+        for (int w = 1; w <= wishlists; w++) {
+            for (int size = 1 + random.nextInt(10); size > 0; size--) {
+                if (n == capacity) {
+                    capacity *= 2;
+                    wishlistIds = Arrays.copyOf(wishlistIds, capacity);
+                    itemIds = Arrays.copyOf(itemIds, capacity);
+                }
+                double u = random.nextDouble();
+                wishlistIds[n] = w;
+                itemIds[n] = 1 + (long) (ITEMS * u * u * u);
+                n++;
+            }
+        }
+        wishlistIds = Arrays.copyOf(wishlistIds, n);
+        itemIds = Arrays.copyOf(itemIds, n);
+
+        index = build();
+        System.out.printf("%n%d wishlists, %d entries, %d pairs, ~%d MB estimated%n",
+                          index.wishlists(), index.entries(), index.pairs(), index.estimatedBytes() >> 20);
+    }
+
+    private CooccurrenceIndex build() {
+        CooccurrenceIndex built = new CooccurrenceIndex();
+        for (int i = 0; i < wishlistIds.length; i++) {
+            built.add(wishlistIds[i], itemIds[i]);
+        }
+        return built;
+    }
+
+    // walks the catalog, so both popular and rare items are asked for
+    @Benchmark
+    public List<CooccurrenceIndex.Neighbour> related() {
+        next = (next + 7919) % ITEMS;
+        return index.related(next + 1, 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public CooccurrenceIndex rebuild() {
+        return build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.backend.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.backend.index.HammingIndex;
+import com.example.backend.util.PerceptualHash;
+
+/**
+ * The /visually-similar lookup: every item within a Hamming radius of one
+ * item's image hash, from HammingIndex and, for comparison, by scanning all
+ * hashes. The hashes come in groups of four variants of one picture (a few
+ * bits flipped each), like the repeated shots in the image runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageHashBenchmark {
+
+    private static final int VARIANTS = 4;
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    @Param({"4", "10"})
+    public int radius;
+
+    private long[] hashes;
+    private HammingIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        hashes = new long[items];
+        for (int i = 0; i < items; i += VARIANTS) {
+            long base = random.nextLong();
+            for (int v = 0; v < VARIANTS && i + v < items; v++) {
+                long h = base;
+                for (int flips = random.nextInt(4); flips > 0; flips--) {
+                    h ^= 1L << random.nextInt(PerceptualHash.BITS);
+                }
+                hashes[i + v] = h;
+            }
+        }
+        index = index();
+    }
+
+    private HammingIndex index() {
+        HammingIndex built = new HammingIndex();
+        for (int i = 0; i < hashes.length; i++) {
+            built.add(hashes[i], i);
+        }
+        return built;
+    }
+
+    // a different item each call, so one lucky bucket cannot dominate
+    private long query() {
+        next = (next + 7919) % hashes.length;
+        return hashes[next];
+    }
+
+    @Benchmark
+    public void hammingIndex(Blackhole bh) {
+        index.search(query(), radius, (value, hash, d) -> bh.consume(value));
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        long q = query();
+        for (int i = 0; i < hashes.length; i++) {
+            if (PerceptualHash.distance(hashes[i], q) <= radius) bh.consume(i);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HammingIndex build() {
+        return index();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+
+import com.example.backend.model.User;
+import com.example.backend.util.JwtUtil;
+
+/**
+ * Issuing a token at login and fully verifying one. Verification runs on
+ * every authenticated request that misses JwtAuthenticationFilter's cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwt;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtUtil();
+        // normally injected from jwt.secret / jwt.expiration
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwt);
+        fields.setPropertyValue("secret", "K2jDjEPBDJ99StJrE7f6Mmfx8ndnR6erFD4w8TPPm2g=");
+        fields.setPropertyValue("expiration", TimeUnit.HOURS.toMillis(1));
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        token = jwt.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwt.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtUtil.Verified verify() {
+        return jwt.verify(token);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.SearchIndex;
+
+/**
+ * The /search endpoint as served by SearchIndex: one common word, three
+ * words, and the same three misspelt so that each is matched by its
+ * one-edit neighbours. Sampled rather than averaged, so the output has the
+ * p99 the search latency target is stated in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    @Param({"jacket", "black leather jacket", "blak lether jaket"})
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = SearchIndex.build(CatalogFixtures.items(items));
+    }
+
+    @Benchmark
+    public List<ScoredItem> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.bench;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.index.DecayingCounters;
+
+/**
+ * The trending counters: counting one wishlist save from four threads at
+ * once (the write path), and the top-100 recomputed for the trending rail,
+ * with 10k/100k items having scores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingBenchmark {
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    private DecayingCounters counters;
+
+    @Setup
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        counters = new DecayingCounters(Duration.ofHours(24), now);
+        Random random = new Random(42);
+        for (int i = 1; i <= items; i++) {
+            counters.add(i, 1 + random.nextInt(50), now - random.nextInt(7 * 24 * 3600 * 1000));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void add() {
+        counters.add(1 + ThreadLocalRandom.current().nextInt(items), 1, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<DecayingCounters.Scored> top() {
+        return counters.top(100, System.currentTimeMillis());
+    }
+}
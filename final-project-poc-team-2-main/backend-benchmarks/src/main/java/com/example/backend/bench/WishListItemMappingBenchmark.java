@@ -0,0 +1,60 @@
+package com.example.backend.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.WishListItemDTO;
+import com.example.backend.model.ClothingItem;
+import com.example.backend.model.Wishlist;
+import com.example.backend.model.WishlistItem;
+
+/**
+ * Mapping a 1000-item wishlist with WishListItemDTO.from, as
+ * WishlistItemController does for its list response. The entities are plain
+ * objects here, so this is the mapping alone. In the app the lazy
+ * associations are Hibernate proxies, but reading their ids does not
+ * initialise them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WishListItemMappingBenchmark {
+
+    private static final int ITEMS = 1000;
+
+    private List<WishlistItem> items;
+
+    @Setup
+    public void setUp() {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setId(7L);
+        items = new ArrayList<>(ITEMS);
+        for (ClothingItem clothing : CatalogFixtures.items(ITEMS)) {
+            WishlistItem item = new WishlistItem();
+            item.setId(clothing.getId() + 1000);
+            item.setWishlist(wishlist);
+            item.setClothingItem(clothing);
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<WishListItemDTO> map() {
+        return items.stream().map(WishListItemDTO::from).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Blocking JSON-over-HTTP calls to the backend. One shared HttpClient keeps
+ * its connections alive across requests. It is safe to call from any number
+ * of (virtual) threads.
+ */
+final class Api {
+
+    record Response(int status, byte[] body) {
+        JsonNode json() throws IOException {
+            return MAPPER.readTree(body);
+        }
+
+        @Override
+        public String toString() {
+            String text = new String(body, 0, Math.min(body.length, 200));
+            return status + (text.isBlank() ? "" : " " + text);
+        }
+    }
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    Api(URI base) {
+        this.base = base;
+    }
+
+    Response get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET());
+    }
+
+    Response get(String path, String token, String header, String value) throws IOException, InterruptedException {
+        return send(request(path, token).header(header, value).GET());
+    }
+
+    Response post(String path, Object body, String token) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body))));
+    }
+
+    Response postFile(String path, String contentType, Path file, String token) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", contentType)
+            .POST(HttpRequest.BodyPublishers.ofFile(file)));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT);
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+}
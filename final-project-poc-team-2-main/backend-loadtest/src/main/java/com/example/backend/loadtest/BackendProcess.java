@@ -0,0 +1,138 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The backend's executable jar, started as a child JVM so that the load
+ * generator does not share a heap or GC with the server it measures.
+ * The JWT secret is fresh on every run. SQL and request DEBUG logging are
+ * turned off, since writing them would otherwise cost more than the
+ * requests themselves.
+ */
+final class BackendProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+    private final URI baseUrl;
+    private final long startedNanos;
+
+    private BackendProcess(Process process, URI baseUrl, long startedNanos) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.startedNanos = startedNanos;
+    }
+
+    static BackendProcess start(Options options, EmbeddedDatabase db, Path log) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(options.backendJar())) {
+            throw new IOException(options.backendJar() + " not found; build it with: (cd ../backend && ./mvnw package -DskipTests)");
+        }
+        List<String> launcher = new ArrayList<>();
+        launcher.add(java());
+        launcher.addAll(options.jvmArgs());
+        launcher.add("-jar");
+        launcher.add(options.backendJar().toString());
+
+        BackendProcess backend = launch(launcher, null, options.backendArgs(), db, log);
+        try {
+            backend.awaitHealthy(log, Duration.ofMillis(500));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            backend.close();
+            throw e;
+        }
+        return backend;
+    }
+
+    /**
+     * Starts the backend with {@code launcher} (a java command line, or a
+     * native executable) followed by the usual arguments and {@code
+     * backendArgs}, in {@code workingDir} or the current directory when it is
+     * null. Does not wait for it to come up.
+     */
+    static BackendProcess launch(List<String> launcher, Path workingDir, List<String> backendArgs,
+                                 EmbeddedDatabase db, Path log) throws IOException {
+        int port = freePort();
+
+        List<String> command = new ArrayList<>(launcher);
+        command.add("--server.port=" + port);
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.org.springframework.web=INFO");
+        command.addAll(backendArgs);
+
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile());
+        if (workingDir != null) builder.directory(workingDir.toFile());
+        builder.environment().put("SPRING_DATASOURCE_URL", db.jdbcUrl());
+        builder.environment().put("SPRING_DATASOURCE_USERNAME", EmbeddedDatabase.USER);
+        builder.environment().put("SPRING_DATASOURCE_PASSWORD", EmbeddedDatabase.PASSWORD);
+        builder.environment().put("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+        builder.environment().put("JWT_EXPIRATION", String.valueOf(TimeUnit.DAYS.toMillis(1)));
+
+        long started = System.nanoTime();
+        return new BackendProcess(builder.start(), URI.create("http://localhost:" + port), started);
+    }
+
+    /** The java executable of the JVM running this tool. */
+    static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    URI baseUrl() {
+        return baseUrl;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    /**
+     * Polls the health endpoint every {@code pollInterval} until it answers
+     * 200, and returns how long that took from the process being started.
+     */
+    Duration awaitHealthy(Path log, Duration pollInterval) throws IOException, InterruptedException {
+        Api api = new Api(baseUrl);
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Backend exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (api.get("/actuator/health", null).status() == 200) {
+                    return Duration.ofNanos(System.nanoTime() - startedNanos);
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(pollInterval);
+        }
+        throw new IOException("Backend not healthy after " + STARTUP_TIMEOUT.toSeconds() + " s, see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * A throwaway Postgres on a free port. The binaries come from a Maven
+ * artifact, so nothing has to be installed and no container is involved.
+ * The data directory is deleted on close.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    static final String NAME = "clothing";
+    static final String USER = "postgres";
+    static final String PASSWORD = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static EmbeddedDatabase start() throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+            // the defaults are sized for unit tests
+            .setServerConfig("shared_buffers", "256MB")
+            .setServerConfig("max_connections", "100")
+            .start();
+        try (Connection c = postgres.getPostgresDatabase().getConnection();
+             Statement s = c.createStatement()) {
+            s.execute("create database " + NAME);
+        }
+        return new EmbeddedDatabase(postgres);
+    }
+
+    String jdbcUrl() {
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/" + NAME;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(), USER, PASSWORD);
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** What the seeded database contains, as far as the workload needs to know. */
+record Fixture(List<Session> sessions, long[] itemIds, String password) {
+
+    /** A signed-in user with the ids of their wishlist. */
+    record Session(long userId, String email, long wishlistId, String token) {}
+
+    Session anySession(ThreadLocalRandom random) {
+        return sessions.get(random.nextInt(sessions.size()));
+    }
+
+    long anyItem(ThreadLocalRandom random) {
+        return itemIds[random.nextInt(itemIds.length)];
+    }
+}
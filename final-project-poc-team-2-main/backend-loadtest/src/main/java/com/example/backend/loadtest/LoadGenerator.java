@@ -0,0 +1,109 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model load: requests start on a fixed schedule at the offered rate,
+ * whether or not earlier ones have finished, the way independent users
+ * arrive. Each request runs on its own virtual thread. Its latency is
+ * measured from when it was scheduled to start, not from when it was sent.
+ * A stalled server therefore shows up in the percentiles instead of
+ * silently lowering the request rate (coordinated omission).
+ *
+ * Past {@code maxInFlight} outstanding requests, new arrivals are counted
+ * as dropped. This keeps an overloaded server from exhausting the
+ * generator, and a non-zero drop count means the rate is beyond capacity.
+ */
+final class LoadGenerator {
+
+    /** One measured step: latencies of the successful requests per operation, plus failures. */
+    record Step(int offeredRate,
+                Duration measured,
+                Map<Workload, Histogram> latencies,
+                Map<Workload, Long> errors,
+                Map<Workload, String> lastErrors,
+                long dropped) {}
+
+    private final Api api;
+    private final Fixture fixture;
+
+    LoadGenerator(Api api, Fixture fixture) {
+        this.api = api;
+        this.fixture = fixture;
+    }
+
+    Step run(int rate, Duration warmup, Duration duration, int maxInFlight) {
+        Map<Workload, Histogram> latencies = new EnumMap<>(Workload.class);
+        Map<Workload, LongAdder> errors = new EnumMap<>(Workload.class);
+        Map<Workload, AtomicReference<String>> lastErrors = new EnumMap<>(Workload.class);
+        for (Workload w : Workload.values()) {
+            latencies.put(w, new ConcurrentHistogram(3));
+            errors.put(w, new LongAdder());
+            lastErrors.put(w, new AtomicReference<>());
+        }
+        LongAdder dropped = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long interval = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * interval;
+                if (scheduled >= end) break;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                boolean measured = scheduled >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) dropped.increment();
+                    continue;
+                }
+                Workload op = Workload.pick(random);
+                Fixture.Session session = fixture.anySession(random);
+                requests.execute(() -> {
+                    try {
+                        Api.Response response = op.call(api, fixture, session, ThreadLocalRandom.current());
+                        long latency = System.nanoTime() - scheduled;
+                        if (!measured) return;
+                        if (op.succeeded(response.status())) {
+                            latencies.get(op).recordValue(latency);
+                        } else {
+                            errors.get(op).increment();
+                            lastErrors.get(op).set(response.toString());
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        if (measured) {
+                            errors.get(op).increment();
+                            lastErrors.get(op).set(e.toString());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }   // close() waits for the stragglers
+
+        Map<Workload, Long> errorCounts = new EnumMap<>(Workload.class);
+        Map<Workload, String> lastErrorText = new EnumMap<>(Workload.class);
+        errors.forEach((op, n) -> errorCounts.put(op, n.sum()));
+        lastErrors.forEach((op, e) -> { if (e.get() != null) lastErrorText.put(op, e.get()); });
+        return new Step(rate, duration, latencies, errorCounts, lastErrorText, dropped.sum());
+    }
+}
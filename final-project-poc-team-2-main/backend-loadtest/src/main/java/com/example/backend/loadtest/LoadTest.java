@@ -0,0 +1,51 @@
+package com.example.backend.loadtest;
+
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * End-to-end load test. It starts an embedded Postgres and the backend jar
+ * against it, seeds users, wishlists, surveys and the CSV catalog, then
+ * offers the {@link Workload} mix at each requested rate in turn. It
+ * reports per-endpoint throughput and HdrHistogram latency percentiles.
+ * Everything is torn down at the end, so two runs with the same options
+ * start from the same state.
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(Options.USAGE);
+            return;
+        }
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Files.createDirectories(options.out());
+
+        Log.info("Starting embedded Postgres");
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            Log.info("Starting backend from %s", options.backendJar());
+            try (BackendProcess backend = BackendProcess.start(options, db, options.out().resolve("backend.log"))) {
+                Api api = new Api(backend.baseUrl());
+                Fixture fixture = new Seeder(api, db, options).seed();
+
+                LoadGenerator generator = new LoadGenerator(api, fixture);
+                Report report = new Report(options.out(), System.out);
+                for (int rate : options.rates()) {
+                    Log.info("Offering %d req/s: %d s warm-up, %d s measured",
+                             rate, options.warmup().toSeconds(), options.duration().toSeconds());
+                    report.add(generator.run(rate, options.warmup(), options.duration(), options.maxInFlight()));
+                }
+                Log.info("Results in %s", options.out().toAbsolutePath().normalize());
+            }
+        }
+    }
+}
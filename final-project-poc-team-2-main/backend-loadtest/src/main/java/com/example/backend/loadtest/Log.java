@@ -0,0 +1,14 @@
+package com.example.backend.loadtest;
+
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/** Progress lines on stderr, keeping stdout for the results. */
+final class Log {
+
+    private Log() {}
+
+    static void info(String format, Object... args) {
+        System.err.println(LocalTime.now().truncatedTo(ChronoUnit.SECONDS) + " " + format.formatted(args));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Command line of {@link LoadTest}; every option has a default that runs from this module's directory. */
+record Options(List<Integer> rates,
+               Duration warmup,
+               Duration duration,
+               int users,
+               int itemsPerWishlist,
+               int maxInFlight,
+               Path csvDir,
+               Path backendJar,
+               List<String> jvmArgs,
+               List<String> backendArgs,
+               Path out) {
+
+    static final String USAGE = """
+        usage: java -jar target/loadtest.jar [options]
+          --rate=25,50,100      offered load in requests/s; one measured step per value
+          --warmup=10           seconds at each rate before measuring
+          --duration=60         seconds measured at each rate
+          --users=100           seeded users, each with one wishlist and a survey
+          --items-per-wishlist=10
+          --max-in-flight=1000  requests beyond this are counted as dropped, not sent
+          --csv-dir=../clothing-script/migration-files
+          --backend-jar=../backend/target/backend-0.0.1-SNAPSHOT.jar
+          --jvm-arg=...         extra JVM option for the backend (repeatable)
+          --backend-arg=...     extra Spring argument for the backend (repeatable),
+                                e.g. --backend-arg=--spring.threads.virtual.enabled=true
+          --out=target/loadtest-results
+        """;
+
+    static Options parse(String[] args) {
+        List<Integer> rates = List.of(25, 50, 100);
+        int warmup = 10, duration = 60, users = 100, itemsPerWishlist = 10, maxInFlight = 1000;
+        Path csvDir = Path.of("../clothing-script/migration-files");
+        Path backendJar = Path.of("../backend/target/backend-0.0.1-SNAPSHOT.jar");
+        Path out = Path.of("target/loadtest-results");
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> backendArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognised argument " + arg + "\n" + USAGE);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "rate" -> rates = Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).toList();
+                case "warmup" -> warmup = Integer.parseInt(value);
+                case "duration" -> duration = Integer.parseInt(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "items-per-wishlist" -> itemsPerWishlist = Integer.parseInt(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "csv-dir" -> csvDir = Path.of(value);
+                case "backend-jar" -> backendJar = Path.of(value);
+                case "jvm-arg" -> jvmArgs.add(value);
+                case "backend-arg" -> backendArgs.add(value);
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + USAGE);
+            }
+        }
+        if (rates.isEmpty() || rates.stream().anyMatch(r -> r <= 0) || users <= 0 || duration <= 0) {
+            throw new IllegalArgumentException("Rates, users and duration must be positive\n" + USAGE);
+        }
+        return new Options(rates, Duration.ofSeconds(warmup), Duration.ofSeconds(duration), users,
+                           itemsPerWishlist, maxInFlight, csvDir, backendJar,
+                           List.copyOf(jvmArgs), List.copyOf(backendArgs), out);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Prints a per-endpoint table for each step and keeps the raw data under the
+ * output directory:
+ * <ul>
+ *   <li>{@code summary.csv}: one row per rate and endpoint, for comparing releases;</li>
+ *   <li>{@code rate-N/<endpoint>.hgrm}: full percentile distributions in
+ *       milliseconds, which HdrHistogram's plotter can chart.</li>
+ * </ul>
+ */
+final class Report {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+    private static final String CSV_HEADER = "rate,endpoint,count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    private final Path out;
+    private final PrintStream console;
+
+    Report(Path out, PrintStream console) throws IOException {
+        this.out = out;
+        this.console = console;
+        Files.createDirectories(out);
+        Files.writeString(out.resolve("summary.csv"), CSV_HEADER + "\n");
+    }
+
+    void add(LoadGenerator.Step step) throws IOException {
+        double seconds = step.measured().toMillis() / 1000.0;
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+
+        console.printf(Locale.ROOT, "%n== %d req/s offered for %.0f s ==%n", step.offeredRate(), seconds);
+        console.printf(Locale.ROOT, "%-44s %7s %6s %8s %8s %8s %8s %8s %8s%n",
+                       "endpoint", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Path dir = Files.createDirectories(out.resolve("rate-" + step.offeredRate()));
+        for (Map.Entry<Workload, Histogram> e : step.latencies().entrySet()) {
+            Workload op = e.getKey();
+            Histogram h = e.getValue();
+            long errors = step.errors().get(op);
+            all.add(h);
+            allErrors += errors;
+            row(step.offeredRate(), op.endpoint, h, errors, seconds);
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve(op.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                h.outputPercentileDistribution(hgrm, NANOS_PER_MS);
+            }
+        }
+        row(step.offeredRate(), "all", all, allErrors, seconds);
+        try (PrintStream hgrm = new PrintStream(Files.newOutputStream(dir.resolve("all.hgrm")))) {
+            all.outputPercentileDistribution(hgrm, NANOS_PER_MS);
+        }
+
+        if (step.dropped() > 0) {
+            console.printf("%d requests not sent: more than --max-in-flight were outstanding, the offered rate is past capacity%n",
+                           step.dropped());
+        }
+        step.lastErrors().forEach((op, error) -> console.printf("last error on %s: %s%n", op.endpoint, error));
+    }
+
+    private void row(int rate, String endpoint, Histogram h, long errors, double seconds) throws IOException {
+        boolean empty = h.getTotalCount() == 0;
+        double p50 = empty ? 0 : h.getValueAtPercentile(50) / NANOS_PER_MS;
+        double p90 = empty ? 0 : h.getValueAtPercentile(90) / NANOS_PER_MS;
+        double p99 = empty ? 0 : h.getValueAtPercentile(99) / NANOS_PER_MS;
+        double p999 = empty ? 0 : h.getValueAtPercentile(99.9) / NANOS_PER_MS;
+        double max = empty ? 0 : h.getMaxValue() / NANOS_PER_MS;
+        double throughput = h.getTotalCount() / seconds;
+
+        console.printf(Locale.ROOT, "%-44s %7d %6d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                       endpoint, h.getTotalCount(), errors, throughput, p50, p90, p99, p999, max);
+        Files.writeString(out.resolve("summary.csv"),
+                          String.format(Locale.ROOT, "%d,\"%s\",%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                                        rate, endpoint, h.getTotalCount(), errors, throughput, p50, p90, p99, p999, max),
+                          StandardOpenOption.APPEND);
+    }
+}
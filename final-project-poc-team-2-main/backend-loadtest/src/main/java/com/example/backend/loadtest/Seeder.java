@@ -0,0 +1,203 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Fills a fresh database through the same paths production data takes where
+ * that is cheap, and through SQL where it is not:
+ * <ul>
+ *   <li>one user registers through /auth/register, and the other users are
+ *       inserted in SQL with a copy of that BCrypt hash. Registering each
+ *       one through the API costs ~100 ms of CPU per user;</li>
+ *   <li>an admin is inserted the same way, and the catalog goes through the
+ *       admin-only CSV import endpoint with its token, one file at a time;</li>
+ *   <li>each user gets a wishlist with random items and a survey, also in
+ *       SQL. Ids come from the same sequences Hibernate allocates from.</li>
+ * </ul>
+ * Then every user logs in once, a few at a time, so the workload has tokens.
+ */
+final class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+    private static final String EMAIL_PATTERN = "loadtest-%d@example.com";
+    // outside the loadtest-% pattern, so it gets no wishlist or session
+    private static final String ADMIN_EMAIL = "admin@loadtest.example.com";
+
+    private final Api api;
+    private final EmbeddedDatabase db;
+    private final Options options;
+
+    Seeder(Api api, EmbeddedDatabase db, Options options) {
+        this.api = api;
+        this.db = db;
+        this.options = options;
+    }
+
+    Fixture seed() throws Exception {
+        importCatalog(api, adminToken(api, db), options.csvDir());
+        try (Connection c = db.connect()) {
+            c.setAutoCommit(false);
+            insertUsers(c);
+            insertWishlists(c);
+            insertSurveys(c);
+            c.commit();
+            long[] itemIds = itemIds(c);
+            List<Fixture.Session> sessions = logIn(c);
+            awaitSearchIndex();
+            return new Fixture(sessions, itemIds, PASSWORD);
+        }
+    }
+
+    /** Imports every CSV in {@code csvDir} through the import endpoint, waiting for each job to finish. */
+    static void importCatalog(Api api, String adminToken, Path csvDir) throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(csvDir)) {
+            files = list.filter(p -> p.toString().endsWith(".csv")).sorted().toList();
+        }
+        if (files.isEmpty()) throw new IOException("No CSV files in " + csvDir);
+
+        for (Path file : files) {
+            Api.Response submitted = api.postFile("/api/clothing-items/import", "text/csv", file, adminToken);
+            if (submitted.status() != 202) throw new IOException("Import of " + file + " refused: " + submitted);
+            JsonNode job = submitted.json();
+            while (job.path("state").asText().matches("QUEUED|RUNNING")) {
+                Thread.sleep(200);
+                job = api.get("/api/clothing-items/import/" + job.path("id").asText(), adminToken).json();
+            }
+            if (!job.path("state").asText().equals("DONE")) {
+                throw new IOException("Import of " + file + " failed: " + job);
+            }
+            Log.info("Imported %s: %d new items", file.getFileName(), job.path("inserted").asLong());
+        }
+    }
+
+    /**
+     * Registers user 0 through the API and logs in as an admin inserted in SQL
+     * with a copy of its hash. Flagging user 0 instead would not do: the
+     * backend caches the users it has saved, so it would log in without the
+     * flag.
+     */
+    static String adminToken(Api api, EmbeddedDatabase db) throws IOException, InterruptedException, SQLException {
+        register(api, 0);
+        try (Connection c = db.connect();
+             PreparedStatement ps = c.prepareStatement("""
+                 insert into users (id, email, password, admin)
+                 select nextval('users_seq'), ?, password, true from users where email = ?""")) {
+            ps.setString(1, ADMIN_EMAIL);
+            ps.setString(2, EMAIL_PATTERN.formatted(0));
+            ps.executeUpdate();
+        }
+        return logIn(api, ADMIN_EMAIL);
+    }
+
+    private static void register(Api api, int n) throws IOException, InterruptedException {
+        Api.Response response = api.post("/auth/register", Map.of("email", EMAIL_PATTERN.formatted(n), "password", PASSWORD), null);
+        if (response.status() != 200) throw new IOException("Registration failed: " + response);
+    }
+
+    private void insertUsers(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                insert into users (id, email, password)
+                select nextval('users_seq'), format(?, g), (select password from users where email = ?)
+                from generate_series(1, ?) g""")) {
+            ps.setString(1, EMAIL_PATTERN.replace("%d", "%s"));
+            ps.setString(2, EMAIL_PATTERN.formatted(0));
+            ps.setInt(3, options.users() - 1);
+            ps.executeUpdate();
+        }
+    }
+
+    private void insertWishlists(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                insert into wishlist (id, name, user_id)
+                select nextval('wishlist_seq'), 'Favourites', id from users where email like 'loadtest-%'""")) {
+            ps.executeUpdate();
+        }
+        // the correlated "where w.id = w.id" makes Postgres draw a new sample per wishlist
+        try (PreparedStatement ps = c.prepareStatement("""
+                insert into wishlist_item (id, wishlist_id, clothing_item_id)
+                select nextval('wishlist_item_seq'), w.id, i.id
+                from wishlist w
+                cross join lateral (select id from clothing_item where w.id = w.id order by random() limit ?) i""")) {
+            ps.setInt(1, options.itemsPerWishlist());
+            ps.executeUpdate();
+        }
+    }
+
+    private void insertSurveys(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                insert into survey (answers, user_id)
+                select ?::jsonb, id from users where email like 'loadtest-%'""")) {
+            ps.setString(1, Api.MAPPER.valueToTree(Workload.surveyAnswers(ThreadLocalRandom.current())).toString());
+            ps.executeUpdate();
+        }
+    }
+
+    private static long[] itemIds(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("select id from clothing_item order by id");
+             ResultSet rs = ps.executeQuery()) {
+            List<Long> ids = new ArrayList<>();
+            while (rs.next()) ids.add(rs.getLong(1));
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    // logins are BCrypt-bound on the server; more in parallel than it has cores only earns 503s
+    private List<Fixture.Session> logIn(Connection c) throws Exception {
+        List<Callable<Fixture.Session>> logins = new ArrayList<>();
+        try (PreparedStatement ps = c.prepareStatement("""
+                select u.id, u.email, min(w.id) from users u join wishlist w on w.user_id = u.id
+                where u.email like 'loadtest-%' group by u.id, u.email order by u.id""");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                long userId = rs.getLong(1), wishlistId = rs.getLong(3);
+                String email = rs.getString(2);
+                logins.add(() -> new Fixture.Session(userId, email, wishlistId, logIn(api, email)));
+            }
+        }
+        List<Fixture.Session> sessions = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (Future<Fixture.Session> session : pool.invokeAll(logins)) {
+                sessions.add(session.get());
+            }
+        }
+        Log.info("Seeded %d users with a wishlist of %d items and a survey each", sessions.size(), options.itemsPerWishlist());
+        return sessions;
+    }
+
+    private static String logIn(Api api, String email) throws IOException, InterruptedException {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            Api.Response response = api.post("/auth/login", Map.of("email", email, "password", PASSWORD), null);
+            if (response.status() == 200) return response.json().path("token").asText();
+            if (response.status() != 503) throw new IOException("Login of " + email + " failed: " + response);
+            Thread.sleep(1000);
+        }
+        throw new IOException("Login of " + email + " kept getting 503");
+    }
+
+    // the search index is rebuilt asynchronously after an import
+    private void awaitSearchIndex() throws IOException, InterruptedException {
+        for (int attempt = 0; attempt < 60; attempt++) {
+            if (api.get("/api/clothing-items/search?q=jacket&limit=1", null).json().size() > 0) return;
+            Thread.sleep(500);
+        }
+        throw new IOException("Search index still empty a minute after the import");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Command line of {@link StartupTest}; every option has a default that runs from this module's directory. */
+record StartupOptions(int runs,
+                      int warmupRuns,
+                      Path jar,
+                      Path fastJar,
+                      Path cdsArchive,
+                      Path nativeExecutable,
+                      List<String> jvmArgs,
+                      List<String> backendArgs,
+                      Path csvDir,
+                      Path out) {
+
+    static final String USAGE = """
+        usage: java -cp target/loadtest.jar com.example.backend.loadtest.StartupTest [options]
+          --runs=5              measured starts of each variant
+          --warmup-runs=1       unmeasured starts of each variant first, to warm the page cache
+          --jar=../backend/target/backend-0.0.1-SNAPSHOT.jar
+          --fast-jar=../backend/target/fast-startup/backend-0.0.1-SNAPSHOT-fast.jar
+                                built with -Pfast-startup; the aot and aot+cds variants
+          --cds-archive=...     defaults to app.jsa next to the fast jar
+          --native=../backend/target/backend
+                                built with -Pnative native:compile; skipped when missing
+          --jvm-arg=...         JVM option for every JVM variant (repeatable); defaults to
+                                --jvm-arg=--add-modules=jdk.incubator.vector, as the archive was trained with it
+          --backend-arg=...     extra Spring argument for every variant (repeatable)
+          --csv-dir=../clothing-script/migration-files
+          --out=target/startup-results
+        """;
+
+    static StartupOptions parse(String[] args) {
+        int runs = 5, warmupRuns = 1;
+        Path jar = Path.of("../backend/target/backend-0.0.1-SNAPSHOT.jar");
+        Path fastJar = Path.of("../backend/target/fast-startup/backend-0.0.1-SNAPSHOT-fast.jar");
+        Path cdsArchive = null;
+        Path nativeExecutable = Path.of("../backend/target/backend");
+        Path csvDir = Path.of("../clothing-script/migration-files");
+        Path out = Path.of("target/startup-results");
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> backendArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognised argument " + arg + "\n" + USAGE);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "runs" -> runs = Integer.parseInt(value);
+                case "warmup-runs" -> warmupRuns = Integer.parseInt(value);
+                case "jar" -> jar = Path.of(value);
+                case "fast-jar" -> fastJar = Path.of(value);
+                case "cds-archive" -> cdsArchive = Path.of(value);
+                case "native" -> nativeExecutable = Path.of(value);
+                case "jvm-arg" -> jvmArgs.add(value);
+                case "backend-arg" -> backendArgs.add(value);
+                case "csv-dir" -> csvDir = Path.of(value);
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + USAGE);
+            }
+        }
+        if (runs <= 0 || warmupRuns < 0) {
+            throw new IllegalArgumentException("Runs must be positive\n" + USAGE);
+        }
+        if (jvmArgs.isEmpty()) jvmArgs.add("--add-modules=jdk.incubator.vector");
+        fastJar = fastJar.toAbsolutePath().normalize();
+        if (cdsArchive == null) cdsArchive = fastJar.resolveSibling("app.jsa");
+        return new StartupOptions(runs, warmupRuns, jar.toAbsolutePath().normalize(), fastJar,
+                                  cdsArchive.toAbsolutePath().normalize(), nativeExecutable.toAbsolutePath().normalize(),
+                                  List.copyOf(jvmArgs), List.copyOf(backendArgs), csvDir, out);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and first-request latency of the backend built three or four
+ * ways: the plain jar, the {@code fast-startup} jar with Spring AOT, the same
+ * with its AppCDS archive, and the GraalVM native executable when one has
+ * been built. All start against one embedded Postgres that is migrated and
+ * seeded with the CSV catalog up front, so every start finds the same data.
+ *
+ * Variants are started round-robin rather than one after another, so drift
+ * on the machine is spread over all of them. Each start records the time
+ * from launching the process to the first healthy answer (polled every
+ * 10 ms), the startup time Spring itself logs, the first and second call to
+ * a few read endpoints, and the resident memory after them. Medians go to
+ * stdout and every run to {@code startup.csv}.
+ */
+public final class StartupTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Pattern STARTED = Pattern.compile("Started BackendApplication in ([0-9.]+) seconds");
+    private static final List<String> PROBES = List.of(
+        "/api/clothing-items/page?size=20",
+        "/api/clothing-items/filter?gender=female&color=black",
+        "/api/clothing-items/search?q=black+shirt");
+    private static final String CSV_HEADER =
+        "variant,run,healthy_ms,spring_started_ms,first_page_ms,first_filter_ms,first_search_ms,"
+        + "second_page_ms,second_filter_ms,second_search_ms,rss_mb";
+
+    /** One way of starting the backend. */
+    private record Variant(String name, List<String> launcher, Path workingDir) {}
+
+    /** What one start measured, in milliseconds; -1 where it could not be read. */
+    private record Run(double healthy, double springStarted, double[] first, double[] second, double rssMb) {}
+
+    private StartupTest() {}
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.print(StartupOptions.USAGE);
+            return;
+        }
+        StartupOptions options;
+        try {
+            options = StartupOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Files.createDirectories(options.out());
+        List<Variant> variants = variants(options);
+
+        Log.info("Starting embedded Postgres");
+        try (EmbeddedDatabase db = EmbeddedDatabase.start()) {
+            // the first start migrates the schema; it and the import are not measured
+            Log.info("Seeding the catalog through %s", options.jar().getFileName());
+            Path seedLog = options.out().resolve("seed.log");
+            try (BackendProcess backend = BackendProcess.launch(variants.get(0).launcher(), null, options.backendArgs(), db, seedLog)) {
+                backend.awaitHealthy(seedLog, POLL_INTERVAL);
+                Api api = new Api(backend.baseUrl());
+                Seeder.importCatalog(api, Seeder.adminToken(api, db), options.csvDir());
+            }
+
+            List<List<Run>> runs = new ArrayList<>();
+            variants.forEach(v -> runs.add(new ArrayList<>()));
+            Files.writeString(options.out().resolve("startup.csv"), CSV_HEADER + "\n");
+            for (int n = -options.warmupRuns(); n < options.runs(); n++) {
+                for (int v = 0; v < variants.size(); v++) {
+                    Variant variant = variants.get(v);
+                    String label = n < 0 ? "warm-up" : "run " + (n + 1);
+                    Run run = measure(variant, options, db,
+                                      options.out().resolve(variant.name().replace('+', '-') + "-" + (n < 0 ? "warmup" + -n : n + 1) + ".log"));
+                    Log.info("%-8s %-8s healthy in %.0f ms", variant.name(), label, run.healthy());
+                    if (n >= 0) {
+                        runs.get(v).add(run);
+                        Files.writeString(options.out().resolve("startup.csv"), csvRow(variant, n + 1, run),
+                                          StandardOpenOption.APPEND);
+                    }
+                }
+            }
+            print(variants, runs, System.out);
+            Log.info("Results in %s", options.out().toAbsolutePath().normalize());
+        }
+    }
+
+    private static List<Variant> variants(StartupOptions options) throws IOException {
+        if (!Files.isRegularFile(options.jar())) {
+            throw new IOException(options.jar() + " not found; build it with: (cd ../backend && ./mvnw package -DskipTests)");
+        }
+        if (!Files.isRegularFile(options.fastJar()) || !Files.isRegularFile(options.cdsArchive())) {
+            throw new IOException(options.fastJar() + " or its archive not found; build them with:"
+                                  + " (cd ../backend && ./mvnw -Pfast-startup package -DskipTests)");
+        }
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", java(options, List.of(), options.jar()), null));
+
+        // the archive recorded the relative class path of the fast jar, so it is started from its own directory
+        Path fastDir = options.fastJar().getParent();
+        Path fastJar = options.fastJar().getFileName();
+        variants.add(new Variant("aot", java(options, List.of("-Dspring.aot.enabled=true"), fastJar), fastDir));
+        variants.add(new Variant("aot+cds", java(options, List.of("-Dspring.aot.enabled=true",
+                                                                  "-XX:SharedArchiveFile=" + options.cdsArchive()), fastJar),
+                                 fastDir));
+        if (Files.isExecutable(options.nativeExecutable())) {
+            variants.add(new Variant("native", List.of(options.nativeExecutable().toString()), null));
+        } else {
+            Log.info("No native executable at %s, skipping that variant", options.nativeExecutable());
+        }
+        return variants;
+    }
+
+    private static List<String> java(StartupOptions options, List<String> extra, Path jar) {
+        List<String> command = new ArrayList<>();
+        command.add(BackendProcess.java());
+        command.addAll(options.jvmArgs());
+        command.addAll(extra);
+        command.add("-jar");
+        command.add(jar.toString());
+        return command;
+    }
+
+    private static Run measure(Variant variant, StartupOptions options, EmbeddedDatabase db, Path log)
+            throws IOException, InterruptedException {
+        BackendProcess backend = BackendProcess.launch(variant.launcher(), variant.workingDir(), options.backendArgs(), db, log);
+        try (backend) {
+            double healthy = backend.awaitHealthy(log, POLL_INTERVAL).toNanos() / 1e6;
+            Api api = new Api(backend.baseUrl());
+            double[] first = new double[PROBES.size()];
+            double[] second = new double[PROBES.size()];
+            for (int i = 0; i < PROBES.size(); i++) {
+                first[i] = timedGet(api, PROBES.get(i));
+            }
+            for (int i = 0; i < PROBES.size(); i++) {
+                second[i] = timedGet(api, PROBES.get(i));
+            }
+            return new Run(healthy, springStarted(log), first, second, rssMb(backend.pid()));
+        }
+    }
+
+    private static double timedGet(Api api, String path) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Api.Response response = api.get(path, null);
+        double ms = (System.nanoTime() - start) / 1e6;
+        if (response.status() != 200) throw new IOException("GET " + path + " failed: " + response);
+        return ms;
+    }
+
+    private static double springStarted(Path log) throws IOException {
+        Matcher m = STARTED.matcher(Files.readString(log));
+        return m.find() ? Double.parseDouble(m.group(1)) * 1000 : -1;
+    }
+
+    // Linux only; elsewhere the column stays empty
+    private static double rssMb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not available
+        }
+        return -1;
+    }
+
+    private static String csvRow(Variant variant, int n, Run run) {
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f", variant.name(), n, run.healthy(), run.springStarted()));
+        for (double ms : run.first()) row.append(String.format(Locale.ROOT, ",%.1f", ms));
+        for (double ms : run.second()) row.append(String.format(Locale.ROOT, ",%.1f", ms));
+        return row.append(String.format(Locale.ROOT, ",%.0f%n", run.rssMb())).toString();
+    }
+
+    private static void print(List<Variant> variants, List<List<Run>> runs, PrintStream console) {
+        console.printf(Locale.ROOT, "%n== startup, median of %d runs (min-max) ==%n", runs.get(0).size());
+        console.printf(Locale.ROOT, "%-8s %-20s %-20s %-18s %-18s %-18s %8s%n",
+                       "variant", "healthy ms", "spring started ms", "1st page ms", "1st filter ms", "1st search ms", "rss MB");
+        for (int v = 0; v < variants.size(); v++) {
+            List<Run> r = runs.get(v);
+            console.printf(Locale.ROOT, "%-8s %-20s %-20s %-18s %-18s %-18s %8.0f%n", variants.get(v).name(),
+                           stat(r, Run::healthy), stat(r, Run::springStarted),
+                           stat(r, x -> x.first()[0]), stat(r, x -> x.first()[1]), stat(r, x -> x.first()[2]),
+                           median(r, Run::rssMb));
+        }
+        console.printf(Locale.ROOT, "%n== second request, median ms ==%n");
+        console.printf(Locale.ROOT, "%-8s %8s %8s %8s%n", "variant", "page", "filter", "search");
+        for (int v = 0; v < variants.size(); v++) {
+            List<Run> r = runs.get(v);
+            console.printf(Locale.ROOT, "%-8s %8.1f %8.1f %8.1f%n", variants.get(v).name(),
+                           median(r, x -> x.second()[0]), median(r, x -> x.second()[1]), median(r, x -> x.second()[2]));
+        }
+    }
+
+    private static String stat(List<Run> runs, ToDoubleFunction<Run> metric) {
+        double[] values = runs.stream().mapToDouble(metric).sorted().toArray();
+        return String.format(Locale.ROOT, "%.0f (%.0f-%.0f)", median(values), values[0], values[values.length - 1]);
+    }
+
+    private static double median(List<Run> runs, ToDoubleFunction<Run> metric) {
+        return median(runs.stream().mapToDouble(metric).sorted().toArray());
+    }
+
+    private static double median(double[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix. Weights are percentages of all requests, loosely following
+ * how the frontend is used: mostly browsing and searching, some wishlist
+ * traffic, and the occasional login and survey.
+ */
+enum Workload {
+
+    CATALOG_PAGE("GET /api/clothing-items/page", 25) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/api/clothing-items/page?size=24&after=" + (f.anyItem(r) - 1), null);
+        }
+    },
+    CATALOG_FILTER("GET /api/clothing-items/filter", 15) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/api/clothing-items/filter?gender=" + oneOf(r, GENDERS) + "&color=" + oneOf(r, COLORS)
+                           + "&events=" + oneOf(r, EVENTS), null);
+        }
+    },
+    SEARCH("GET /api/clothing-items/search", 15) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/api/clothing-items/search?limit=20&q=" + URLEncoder.encode(oneOf(r, QUERIES), StandardCharsets.UTF_8), null);
+        }
+    },
+    CATALOG_FULL("GET /api/clothing-items", 5) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/api/clothing-items", null, "Accept-Encoding", "br, gzip");
+        }
+    },
+    WISHLIST_DETAIL("GET /users/{id}/wishlists/{id}/detail", 10) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/users/" + s.userId() + "/wishlists/" + s.wishlistId() + "/detail?size=50", s.token());
+        }
+    },
+    WISHLIST_ADD("POST /users/{id}/wishlists/{id}/items", 15) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.post("/users/" + s.userId() + "/wishlists/" + s.wishlistId() + "/items",
+                            Map.of("clothingItemId", f.anyItem(r)), s.token());
+        }
+
+        @Override
+        boolean succeeded(int status) {
+            return status == 201 || status == 200;   // 200 when the item was already there
+        }
+    },
+    RECOMMENDATIONS("GET /api/surveys/user/{id}/recommendations", 5) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.get("/api/surveys/user/" + s.userId() + "/recommendations?limit=20", s.token());
+        }
+    },
+    SURVEY_SUBMIT("POST /api/surveys", 5) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.post("/api/surveys", Map.of("userId", s.userId(), "answers", surveyAnswers(r)), s.token());
+        }
+    },
+    LOGIN("POST /auth/login", 5) {
+        @Override
+        Api.Response call(Api api, Fixture f, Fixture.Session s, ThreadLocalRandom r) throws IOException, InterruptedException {
+            return api.post("/auth/login", Map.of("email", s.email(), "password", f.password()), null);
+        }
+    };
+
+    private static final List<String> GENDERS = List.of("female", "male", "unisex");
+    private static final List<String> COLORS = List.of("red", "blue", "black", "white", "green", "beige", "pink");
+    private static final List<String> EVENTS = List.of("casual", "formal", "party", "outdoor", "work");
+    private static final List<String> QUERIES = List.of(
+        "hoodie", "denim jacket", "red dress", "wool sweater", "graphic tee", "black leather",
+        "summer skirt", "jaket", "cozy knit", "floral");
+
+    private static final int TOTAL_WEIGHT;
+    static {
+        int total = 0;
+        for (Workload w : values()) total += w.weight;
+        TOTAL_WEIGHT = total;
+    }
+
+    final String endpoint;
+    final int weight;
+
+    Workload(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    abstract Api.Response call(Api api, Fixture fixture, Fixture.Session session, ThreadLocalRandom random)
+        throws IOException, InterruptedException;
+
+    boolean succeeded(int status) {
+        return status == 200;
+    }
+
+    static Workload pick(ThreadLocalRandom random) {
+        int ticket = random.nextInt(TOTAL_WEIGHT);
+        for (Workload w : values()) {
+            ticket -= w.weight;
+            if (ticket < 0) return w;
+        }
+        throw new AssertionError();
+    }
+
+    /** Answers in the {"q1": ...} shape, drawn from values the survey page offers. */
+    static Map<String, String> surveyAnswers(ThreadLocalRandom r) {
+        Map<String, String> answers = new LinkedHashMap<>();
+        answers.put("q1", oneOf(r, List.of("casual", "formal", "streetwear")));
+        answers.put("q2", oneOf(r, List.of("casual_denim", "minimalist", "streetwear_poly")));
+        answers.put("q5", oneOf(r, List.of("neutral", "contrast", "mood")));
+        answers.put("q7", oneOf(r, List.of("active", "home", "night", "creating")));
+        answers.put("q10", oneOf(r, List.of("cottage", "studio", "beach", "cafe")));
+        answers.put("q11", oneOf(r, List.of("graphic", "solid")));
+        answers.put("q14", oneOf(r, List.of("top", "bottom", "layer")));
+        answers.put("q15", oneOf(r, List.of("love", "tolerate", "avoid", "ignore")));
+        answers.put("q16", oneOf(r, List.of("0-40", "40-70", "70+")));
+        return answers;
+    }
+
+    private static String oneOf(ThreadLocalRandom random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
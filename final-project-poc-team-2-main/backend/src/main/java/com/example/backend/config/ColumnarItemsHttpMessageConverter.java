@@ -0,0 +1,87 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemPage;
+import com.example.backend.dto.ColumnarItems;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.dto.SimilarItem;
+import com.example.backend.dto.WishlistDetail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes responses that carry catalog items in the {@link ColumnarItems}
+ * shape when the client asks for it. Only the types listed in {@link Shape}
+ * qualify; for any other body this converter stays out of the way, so
+ * asking for the columnar type there gets a 406.
+ *
+ * Whether a list holds items, scored items or similar items is read from
+ * its declared type, since an empty list has nothing to look at.
+ */
+class ColumnarItemsHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private enum Shape { ITEMS, SCORED, SIMILAR, PAGE, WISHLIST }
+
+    ColumnarItemsHttpMessageConverter(ObjectMapper mapper) {
+        super(mapper, ColumnarItems.MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return canWrite(clazz, clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && shape(type != null ? type : clazz) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Shape shape = shape(type != null ? type : body.getClass());
+        if (shape == null) throw new HttpMessageNotWritableException("No columnar form for " + body.getClass());
+        Object columnar = switch (shape) {
+            case ITEMS -> ColumnarItems.of((List<ClothingItemDTO>) body);
+            case SCORED -> ColumnarItems.ofScored((List<ScoredItem>) body);
+            case SIMILAR -> ColumnarItems.ofSimilar((List<SimilarItem>) body);
+            case PAGE -> ColumnarItems.of((ClothingItemPage) body);
+            case WISHLIST -> ColumnarItems.of((WishlistDetail) body);
+        };
+        super.writeInternal(columnar, null, outputMessage);
+    }
+
+    private static Shape shape(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> raw = resolved.toClass();
+        if (ClothingItemPage.class.isAssignableFrom(raw)) return Shape.PAGE;
+        if (WishlistDetail.class.isAssignableFrom(raw)) return Shape.WISHLIST;
+        if (!List.class.isAssignableFrom(raw)) return null;
+
+        Class<?> element = resolved.asCollection().resolveGeneric(0);
+        if (element == null) return null;
+        if (ClothingItemDTO.class.isAssignableFrom(element)) return Shape.ITEMS;
+        if (ScoredItem.class.isAssignableFrom(element)) return Shape.SCORED;
+        if (SimilarItem.class.isAssignableFrom(element)) return Shape.SIMILAR;
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The response formats besides JSON. CBOR ({@code Accept: application/cbor})
+ * comes with jackson-dataformat-cbor and works for every endpoint. The
+ * columnar catalog shape ({@code Accept: application/vnd.clothing.columnar})
+ * is added here.
+ *
+ * The columnar converter goes last on purpose. With {@code Accept: *}{@code /*}
+ * Spring picks the type of the first converter able to write the body, and
+ * that must stay JSON.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper mapper;
+
+    public ContentNegotiationConfig(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarItemsHttpMessageConverter(mapper));
+    }
+}
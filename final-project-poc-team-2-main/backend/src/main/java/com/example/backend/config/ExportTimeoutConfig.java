@@ -0,0 +1,50 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Gives the streamed catalog export its own async timeout. Every other async
+ * request keeps the server default (30 s on Tomcat), which is plenty for the
+ * auth continuations. A full export of a large catalog to a slow client runs
+ * for minutes and would be cut off half way.
+ *
+ * The timeout is set just before concurrent handling starts, which is the
+ * last point it can still be changed for the request.
+ */
+@Configuration
+public class ExportTimeoutConfig implements WebMvcConfigurer {
+
+    static final String EXPORT_PATH = "/api/clothing-items/export";
+
+    private final Duration exportTimeout;
+
+    public ExportTimeoutConfig(@Value("${catalog.export.timeout:1h}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest async && servletRequest != null
+                        && EXPORT_PATH.equals(UrlPathHelper.defaultInstance.getPathWithinApplication(servletRequest))) {
+                    async.setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
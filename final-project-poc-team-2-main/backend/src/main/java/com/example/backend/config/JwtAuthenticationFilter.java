@@ -0,0 +1,117 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.util.JwtUtil;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <jwt>}. The
+ * principal is the user id from the token's subject, so ownership checks
+ * never need the users table, and an admin token also carries ROLE_ADMIN.
+ *
+ * Verified tokens are kept in a bounded LRU map keyed by the token's SHA-256,
+ * so a client's repeated requests skip the HMAC and JSON parsing; the cache
+ * never holds the token itself. An entry is dropped once its token expires.
+ * A missing, invalid or expired token leaves the request anonymous, and the
+ * authorization rules decide whether that is enough.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final JwtUtil jwtUtil;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, JwtUtil.Verified> verified;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, int cacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.verified = new LinkedHashMap<>(Math.min(cacheSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtUtil.Verified> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            JwtUtil.Verified token = verify(header.substring(BEARER.length()).trim());
+            if (token != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new UsernamePasswordAuthenticationToken(token.userId(), null,
+                                                                              token.admin() ? ADMIN : List.of()));
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private JwtUtil.Verified verify(String token) {
+        if (token.isEmpty()) return null;
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        JwtUtil.Verified cached;
+        lock.lock();
+        try {
+            cached = verified.get(key);
+            if (cached != null && cached.isExpired(now)) {
+                verified.remove(key);
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null) return cached;
+
+        JwtUtil.Verified fresh;
+        try {
+            fresh = jwtUtil.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        lock.lock();
+        try {
+            verified.put(key, fresh);
+        } finally {
+            lock.unlock();
+        }
+        return fresh;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
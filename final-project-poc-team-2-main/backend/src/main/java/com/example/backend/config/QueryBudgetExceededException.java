@@ -0,0 +1,13 @@
+package com.example.backend.config;
+
+/**
+ * Thrown at the statement that takes a request over its query budget, when
+ * sql.monitor.fail-over-budget is on. Meant for tests and staging, where a
+ * new N+1 should fail loudly rather than add a log line.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String request, int budget, String sql) {
+        super(request + " ran more than " + budget + " SQL statements; the one over budget was: " + sql);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts the SQL statements each request runs. The count is recorded as
+ * http.server.requests.queries, per controller method. A warning is logged
+ * when a request goes over the budget or repeats one statement often enough
+ * to look like an N+1: lazily walking an association inside a loop.
+ */
+class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry registry;
+    private final int budget;
+    private final int repeatThreshold;
+
+    QueryBudgetFilter(MeterRegistry registry, int budget, int repeatThreshold) {
+        this.registry = registry;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueries queries = RequestQueries.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueries.end();
+            report(queries, handler(request));
+        }
+    }
+
+    private void report(RequestQueries queries, String handler) {
+        DistributionSummary.builder("http.server.requests.queries")
+            .description("SQL statements run by one request")
+            .tag("handler", handler)
+            .register(registry)
+            .record(queries.count());
+
+        if (queries.count() > budget) {
+            log.warn("{} ({}) ran {} SQL statements in {} ms, over the budget of {}",
+                     queries.request, handler, queries.count(), queries.millis(), budget);
+        }
+        for (Map.Entry<String, Integer> e : queries.statements().entrySet()) {
+            if (e.getValue() >= repeatThreshold) {
+                log.warn("Possible N+1 in {} ({}): {} runs of {}", queries.request, handler, e.getValue(), e.getKey());
+            }
+        }
+    }
+
+    // "WishlistItemController.get"; the tag stays low-cardinality, unlike the raw URI
+    static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SQL statements one request has run so far, kept in a thread local
+ * between {@link QueryBudgetFilter} and {@link SqlMonitoringListener}.
+ * Only the request thread is tracked. Work handed to other threads
+ * (streamed exports, async auth continuations) is not counted.
+ */
+final class RequestQueries {
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    final String request;
+    private int count;
+    private long millis;
+    // SQL text -> executions, in first-seen order
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    private RequestQueries(String request) {
+        this.request = request;
+    }
+
+    static RequestQueries begin(String request) {
+        RequestQueries queries = new RequestQueries(request);
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    /** The queries of the request running on this thread, or null outside one. */
+    static RequestQueries current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Counts one more statement and returns the new total. */
+    int started() {
+        return ++count;
+    }
+
+    void finished(String sql, long elapsedMillis) {
+        statements.merge(sql, 1, Integer::sum);
+        millis += elapsedMillis;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long millis() {
+        return millis;
+    }
+
+    Map<String, Integer> statements() {
+        return statements;
+    }
+}
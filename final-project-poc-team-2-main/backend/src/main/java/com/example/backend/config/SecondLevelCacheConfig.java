@@ -0,0 +1,75 @@
+package com.example.backend.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.example.backend.model.ClothingItem;
+import com.example.backend.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Caffeine caches behind Hibernate's second-level cache, one per region.
+ *
+ * Each region is bounded by cache.region.&lt;name&gt;.max-size, and Caffeine
+ * evicts by frequency and recency once it is full. A non-zero
+ * cache.region.&lt;name&gt;.expire-after-write also drops entries of that
+ * age, which bounds how long a change made outside the application can go
+ * unnoticed. Hibernate is given this cache manager and refuses to start if
+ * an entity asks for a region not listed here.
+ *
+ * Hits, misses and puts per region are exported as
+ * hibernate.second.level.cache.* and hibernate.cache.natural.id.* meters
+ * (see SqlMonitoringConfig).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS =
+        List.of(ClothingItem.CACHE_REGION, User.CACHE_REGION, User.EMAIL_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment env) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // The provider keeps one manager per URI for the whole JVM. The default
+        // URI would be shared by every application context, and the second one
+        // to start (a test context, say) would find its regions already there.
+        URI uri = URI.create(provider.getDefaultURI() + "#" + Integer.toHexString(System.identityHashCode(this)));
+        CacheManager manager = provider.getCacheManager(uri, getClass().getClassLoader());
+        for (String region : REGIONS) {
+            manager.createCache(region, regionConfiguration(env, region));
+        }
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Environment env, String region) {
+        long maxSize = env.getProperty("cache.region." + region + ".max-size", Long.class, 10_000L);
+        Duration ttl = env.getProperty("cache.region." + region + ".expire-after-write", Duration.class, Duration.ZERO);
+
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        if (!ttl.isZero()) {
+            config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hibernate caches immutable disassembled state, so copying it on every read and write is wasted work
+        config.setStoreByValue(false);
+        return config;
+    }
+}
@@ -1,19 +1,61 @@
 package com.example.backend.config;
 
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.example.backend.util.JwtUtil;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtUtil jwtUtil,
+                                                   @Value("${jwt.cache-size:10000}") int tokenCacheSize) throws Exception {
         http.csrf(csrf -> csrf.disable())
-            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            .cors(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, tokenCacheSize), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // per-user resources: only the user named in the path
+                .requestMatchers("/users/{userId}/**", "/api/surveys/user/{userId}/**", "/auth/user/{userId}")
+                    .access(SecurityConfig::isPathUser)
+                // these check the user in the body against the token themselves
+                .requestMatchers(HttpMethod.POST, "/api/surveys").authenticated()
+                .requestMatchers("/auth/delete").authenticated()
+                // operator endpoints
+                .requestMatchers("/api/clothing-items/import/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                // catalog, register and login stay public
+                .anyRequest().permitAll());
         return http.build();
     }
-}
 
+    private static AuthorizationDecision isPathUser(Supplier<Authentication> authentication,
+                                                    RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        boolean granted = auth != null
+            && auth.isAuthenticated()
+            && !(auth instanceof AnonymousAuthenticationToken)
+            && auth.getName().equals(context.getVariables().get("userId"));
+        return new AuthorizationDecision(granted);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Lightweight SQL observability, replacing show-sql and DEBUG request
+ * logging:
+ * <ul>
+ *   <li>the DataSource is wrapped so every statement passes
+ *       {@link SqlMonitoringListener}, for per-request counts and the slow-query log;</li>
+ *   <li>{@link QueryBudgetFilter} checks each request against sql.monitor.query-budget;</li>
+ *   <li>http.server.requests timers get a "handler" tag naming the
+ *       controller method, so each endpoint has its own timer.</li>
+ * </ul>
+ * Hibernate's own statistics are exported as hibernate.* meters by Spring
+ * Boot, through hibernate-micrometer and hibernate.generate_statistics.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor monitoredDataSource(@Value("${sql.monitor.query-budget:10}") int budget,
+                                                        @Value("${sql.monitor.fail-over-budget:false}") boolean failOverBudget,
+                                                        @Value("${sql.monitor.slow-query-ms:200}") long slowMillis) {
+        SqlMonitoringListener listener = new SqlMonitoringListener(budget, failOverBudget, slowMillis);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(listener).build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(ObjectProvider<MeterRegistry> registry,
+                                                                       @Value("${sql.monitor.query-budget:10}") int budget,
+                                                                       @Value("${sql.monitor.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+            new FilterRegistrationBean<>(new QueryBudgetFilter(registry.getObject(), budget, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public ServerRequestObservationConvention handlerTaggingConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                    .and("handler", QueryBudgetFilter.handler(context.getCarrier()));
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Sees every statement sent through the application DataSource. It counts
+ * statements against the current request's budget and logs statements slower
+ * than the threshold, with the shape of their bind parameters, e.g.
+ * {@code (Long, String, null)}. Values are left out so no credentials or
+ * personal data reach the log.
+ */
+class SqlMonitoringListener implements QueryExecutionListener {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("sql.slow");
+
+    private final int budget;
+    private final boolean failOverBudget;
+    private final long slowMillis;
+
+    SqlMonitoringListener(int budget, boolean failOverBudget, long slowMillis) {
+        this.budget = budget;
+        this.failOverBudget = failOverBudget;
+        this.slowMillis = slowMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queries) {
+        RequestQueries request = RequestQueries.current();
+        if (request == null) return;
+        if (request.started() > budget && failOverBudget) {
+            throw new QueryBudgetExceededException(request.request, budget, sql(queries));
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queries) {
+        String sql = sql(queries);
+        RequestQueries request = RequestQueries.current();
+        if (request != null) {
+            request.finished(sql, execInfo.getElapsedTime());
+        }
+        if (execInfo.getElapsedTime() >= slowMillis) {
+            slowLog.warn("{} ms{}{}: {} {}",
+                         execInfo.getElapsedTime(),
+                         request == null ? "" : " in " + request.request,
+                         execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                         sql, parameterShape(queries));
+        }
+    }
+
+    private static String sql(List<QueryInfo> queries) {
+        return queries.size() == 1 ? queries.get(0).getQuery()
+             : String.join("; ", queries.stream().map(QueryInfo::getQuery).toList());
+    }
+
+    // types of the first parameter set, in index order: setLong -> Long, setNull -> null
+    private static String parameterShape(List<QueryInfo> queries) {
+        if (queries.isEmpty() || queries.get(0).getParametersList().isEmpty()) return "()";
+        List<ParameterSetOperation> params = queries.get(0).getParametersList().get(0);
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        params.stream()
+              .sorted(Comparator.comparingInt(p -> p.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE))
+              .forEach(p -> shape.add(typeOf(p)));
+        return shape.toString();
+    }
+
+    private static String typeOf(ParameterSetOperation p) {
+        if (ParameterSetOperation.isSetNullParameterOperation(p)) return "null";
+        String method = p.getMethod().getName();
+        if (method.equals("setObject") && p.getArgs().length > 1 && p.getArgs()[1] != null) {
+            return p.getArgs()[1].getClass().getSimpleName();
+        }
+        return method.startsWith("set") ? method.substring(3) : method;
+    }
+}
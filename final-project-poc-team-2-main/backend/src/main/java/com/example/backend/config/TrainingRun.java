@@ -0,0 +1,73 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * The training run behind the fast-startup build profile, switched on with
+ * {@code startup.training-run=true}. Once the application is ready it sends
+ * itself a few typical requests, so the classes that serve them are loaded
+ * too, then shuts down cleanly. The JVM writes its AppCDS archive of
+ * everything loaded when it exits.
+ *
+ * The property is checked at runtime rather than with
+ * {@code @ConditionalOnProperty}: an AOT-processed jar fixes its conditions
+ * at build time, and this class must work in exactly that jar.
+ */
+@Component
+public class TrainingRun {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+    private static final List<String> PATHS = List.of(
+        "/actuator/health",
+        "/api/clothing-items",
+        "/api/clothing-items/page?size=20",
+        "/api/clothing-items/filter?gender=female&color=black",
+        "/api/clothing-items/facets?gender=female",
+        "/api/clothing-items/search?q=black+shirt",
+        "/api/clothing-items/1/similar",
+        // unauthenticated, so it also runs the token filter's rejection path
+        "/users/1/wishlists");
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void run(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        if (!context.getEnvironment().getProperty("startup.training-run", Boolean.class, false)) return;
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (String path : PATHS) {
+            try {
+                HttpResponse<Void> response = http.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+                log.info("Training run: GET {} -> {}", path, response.statusCode());
+            } catch (IOException e) {
+                log.warn("Training run: GET {} failed: {}", path, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Training run complete, exiting");
+        System.exit(SpringApplication.exit(context));
+    }
+}
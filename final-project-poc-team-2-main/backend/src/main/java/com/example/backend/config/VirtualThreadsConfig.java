@@ -0,0 +1,54 @@
+package com.example.backend.config;
+
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Virtual-thread mode, switched on with {@code spring.threads.virtual.enabled=true}.
+ * This uses the property name Spring Boot 3.2 later added, so upgrading can
+ * replace this class without any configuration change.
+ *
+ * Tomcat runs each request on its own virtual thread. The application task
+ * executor, which runs MVC async work (streamed exports, the auth
+ * continuations), does the same. A request blocked on JDBC then costs a
+ * parked virtual thread instead of a pool thread, so the Hikari pool, not
+ * server.tomcat.threads.max, limits concurrent database work.
+ *
+ * Pinning: the JDBC path is clear. pgjdbc 42.6 and Hikari 5.1 use locks
+ * rather than synchronized. The application's own shared state uses
+ * ReentrantLock/ReadWriteLock. The synchronized blocks left in
+ * CatalogImportService only guard in-memory maps and never block inside.
+ * To check a change, run with -Djdk.tracePinnedThreads=short.
+ *
+ * BCrypt stays on PasswordHashingService's platform pool on purpose. It is
+ * CPU work, and virtual threads would only remove its admission limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequests() {
+        log.info("Serving requests on virtual threads");
+        return handler -> handler.setExecutor(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    // Same name as Boot's own pool, which then backs off; MVC async support picks this up.
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory()));
+    }
+}
@@ -4,88 +4,146 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.model.User;
+import com.example.backend.service.PasswordHashingService;
+import com.example.backend.service.RecommendationService;
+import com.example.backend.util.CurrentUser;
 import com.example.backend.util.JwtUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService hashing;
     private final JwtUtil jwtUtil;
+    private final RecommendationService recommendations;
+    // database work after a hash completes runs here, keeping the hashing threads on hashing
+    private final Executor taskExecutor;
 
     @Autowired
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public AuthController(UserRepository userRepository, PasswordHashingService hashing, JwtUtil jwtUtil,
+                          RecommendationService recommendations,
+                          @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.hashing = hashing;
         this.jwtUtil = jwtUtil;
+        this.recommendations = recommendations;
+        this.taskExecutor = taskExecutor;
     }
 
+    // Register and login hash on PasswordHashingService's pool and release the
+    // request thread meanwhile; when that pool is saturated they answer 503.
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody Map<String, String> body) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody Map<String, String> body) {
         String email = body.get("email");
         String password = body.get("password");
 
-        System.out.println("Registering user with email: " + email);
-        System.out.println("Password: " + password);
         if (email == null || password == null) {
-            return ResponseEntity.badRequest().body("Email and password are required.");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email and password are required."));
         }
 
-
-
         if (userRepository.findByEmail(email).isPresent()) {
-            return ResponseEntity.badRequest().body("Email already exists.");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email already exists."));
         }
 
-        User user = new User();
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
-        userRepository.saveAndFlush(user);
-
-        System.out.println("User registered with ID: " + user.getId());
-        System.out.println("User email: " + user.getEmail());
-
-        // Issue a JWT token for the registered user.
-        String token = jwtUtil.generateToken(user);
-
-        System.out.println("Generated token: " + token);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("user", user);
+        CompletableFuture<String> hash;
+        try {
+            hash = hashing.encode(password);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
+        }
 
-        return ResponseEntity.ok(response);
+        return hash.thenApplyAsync(encoded -> {
+            User user = new User();
+            user.setEmail(email);
+            user.setPassword(encoded);
+            try {
+                userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                // the same email registered concurrently; email is unique
+                return ResponseEntity.badRequest().body("Email already exists.");
+            }
+            return tokenResponse(user);
+        }, taskExecutor);
     }
-  
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> body) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String, String> body) {
         String email = body.get("email");
         String password = body.get("password");
 
         Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty() || !passwordEncoder.matches(password, userOpt.get().getPassword())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+        if (userOpt.isEmpty() || password == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials"));
         }
+        User user = userOpt.get();
 
-        // Optionally issue a token on login:
-        String token = jwtUtil.generateToken(userOpt.get());
+        CompletableFuture<Boolean> matches;
+        try {
+            matches = hashing.matches(password, user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
+        }
+
+        return matches.thenApplyAsync(ok -> {
+            if (!ok) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+            }
+            if (hashing.needsRehash(user.getPassword())) {
+                rehash(user, password);
+            }
+            return tokenResponse(user);
+        }, taskExecutor);
+    }
+
+    // Stores a hash at the current cost factor. Best effort and off the response
+    // path: under load it is skipped and simply retried at the next login.
+    private void rehash(User user, String password) {
+        String oldHash = user.getPassword();
+        try {
+            hashing.encode(password)
+                .thenAcceptAsync(newHash -> userRepository.updatePasswordHash(user.getId(), oldHash, newHash), taskExecutor)
+                .exceptionally(e -> {
+                    log.warn("Could not rehash password of user {}", user.getId(), e);
+                    return null;
+                });
+        } catch (RejectedExecutionException e) {
+            log.debug("Hashing pool busy, rehash of user {} deferred", user.getId());
+        }
+    }
+
+    private ResponseEntity<?> tokenResponse(User user) {
+        String token = jwtUtil.generateToken(user);
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
-        response.put("user", userOpt.get());
-
+        response.put("user", user);
         return ResponseEntity.ok(response);
     }
 
+    private static ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body("Too many sign-ins at once, try again shortly.");
+    }
+
 
 
     @PostMapping("/logout")
@@ -101,12 +159,17 @@ public class AuthController {
     public ResponseEntity<?> deleteUser(@RequestBody Map<String, String> body) {
         String email = body.get("email");
 
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        // An account can only be deleted with its own token. The caller's account
+        // is looked up first, so any other email gets the same 403 whether or not
+        // it is registered, and the endpoint cannot be used to probe for accounts.
+        Long callerId = CurrentUser.id();
+        Optional<User> userOpt = callerId == null ? Optional.empty() : userRepository.findById(callerId);
+        if (userOpt.isEmpty() || !userOpt.get().getEmail().equals(email)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not your account");
         }
 
         userRepository.delete(userOpt.get());
+        recommendations.onUserDeleted(callerId);
         return ResponseEntity.ok("User deleted");
     }
 
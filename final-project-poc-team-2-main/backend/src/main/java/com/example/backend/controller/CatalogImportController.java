@@ -0,0 +1,51 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.CatalogImportProgress;
+import com.example.backend.service.CatalogImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/clothing-items/import")
+public class CatalogImportController {
+
+    private final CatalogImportService importService;
+
+    public CatalogImportController(CatalogImportService importService) {
+        this.importService = importService;
+    }
+
+    // POST /api/clothing-items/import   (Content-Type: text/csv, body = clothing_analysis CSV)
+    // Accepts the upload and loads it in the background; poll the Location for progress.
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<?> importCsv(InputStream body) throws IOException {
+        CatalogImportProgress job;
+        try {
+            job = importService.submit(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .location(URI.create("/api/clothing-items/import/" + job.id()))
+            .body(job);
+    }
+
+    // GET /api/clothing-items/import/{jobId}
+    @GetMapping("/{jobId}")
+    public ResponseEntity<CatalogImportProgress> progress(@PathVariable String jobId) {
+        return importService.progress(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,27 +1,223 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.dto.ClothingItemPage;
+import com.example.backend.dto.FacetCounts;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.dto.SimilarItem;
 import com.example.backend.repository.ClothingItemRepository;
+import com.example.backend.service.AttributeSimilarityService;
+import com.example.backend.service.CatalogExportService;
+import com.example.backend.service.CatalogIndexService;
+import com.example.backend.service.CatalogSnapshotService;
+import com.example.backend.service.CooccurrenceService;
+import com.example.backend.service.SearchService;
+import com.example.backend.service.TrendingService;
+import com.example.backend.service.VisualSimilarityService;
+import com.example.backend.util.PerceptualHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/clothing-items")
 public class ClothingItemController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ClothingItemRepository repo;
+    private final CatalogIndexService catalogIndex;
+    private final CatalogExportService exporter;
+    private final CatalogSnapshotService snapshots;
+    private final SearchService search;
+    private final VisualSimilarityService visualSimilarity;
+    private final AttributeSimilarityService attributeSimilarity;
+    private final CooccurrenceService cooccurrence;
+    private final TrendingService trending;
+    private final int defaultMaxDistance;
 
-    public ClothingItemController(ClothingItemRepository repo) {
+    public ClothingItemController(ClothingItemRepository repo,
+                                  CatalogIndexService catalogIndex,
+                                  CatalogExportService exporter,
+                                  CatalogSnapshotService snapshots,
+                                  SearchService search,
+                                  VisualSimilarityService visualSimilarity,
+                                  AttributeSimilarityService attributeSimilarity,
+                                  CooccurrenceService cooccurrence,
+                                  TrendingService trending,
+                                  @Value("${catalog.similar.max-distance:10}") int defaultMaxDistance) {
         this.repo = repo;
+        this.catalogIndex = catalogIndex;
+        this.exporter = exporter;
+        this.snapshots = snapshots;
+        this.search = search;
+        this.visualSimilarity = visualSimilarity;
+        this.attributeSimilarity = attributeSimilarity;
+        this.cooccurrence = cooccurrence;
+        this.trending = trending;
+        this.defaultMaxDistance = defaultMaxDistance;
+    }
+
+    // GET /api/clothing-items
+    // Served from a pre-serialized, pre-compressed snapshot; a matching
+    // If-None-Match gets a 304 without serializing or querying anything.
+    // Accept: application/cbor or application/vnd.clothing.columnar picks a
+    // compact format (see ColumnarItems); anything else gets JSON.
+    // 503 with Retry-After while the catalog is still loading at startup.
+    @GetMapping("")
+    public ResponseEntity<byte[]> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<CatalogSnapshotService.Snapshot> current = snapshots.current();
+        if (current.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        CatalogSnapshotService.Snapshot snapshot = current.get();
+        CatalogSnapshotService.Format format = CatalogSnapshotService.Format.negotiate(accept);
+        CatalogSnapshotService.Encoding encoding = snapshot.negotiate(acceptEncoding);
+
+        boolean notModified = snapshot.matches(ifNoneMatch, format);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+            .eTag(snapshot.etag(format, encoding))
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+        if (encoding.header() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding.header());
+        }
+        return response.contentType(format.mediaType()).body(snapshot.body(format, encoding));
+    }
+
+    // GET /api/clothing-items/page?after=0&size=100
+    // Keyset pagination on id: pass the returned nextCursor as "after".
+    @GetMapping("/page")
+    public ClothingItemPage page(@RequestParam(defaultValue = "0") long after,
+                                 @RequestParam(defaultValue = "100") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ClothingItemDTO> items = repo.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(pageSize));
+        return ClothingItemPage.of(items, pageSize);
+    }
+
+    // GET /api/clothing-items/export?format=json|ndjson
+    // Streams every row from a database cursor; memory use does not grow with the catalog.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "json") String format) {
+        CatalogExportService.Format fmt;
+        try {
+            fmt = CatalogExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(fmt == CatalogExportService.Format.NDJSON ? NDJSON : MediaType.APPLICATION_JSON)
+            .body(out -> exporter.export(out, fmt));
+    }
+
+    // GET /api/clothing-items/filter?gender=female&color=red&color=blue&events=casual&minPrice=20&maxPrice=60
+    // Answered from the in-memory bitmap index, never touches the database.
+    @GetMapping("/filter")
+    public List<ClothingItemDTO> filter(ClothingItemFilter filter) {
+        return catalogIndex.filter(filter);
+    }
+
+    // GET /api/clothing-items/facets?gender=female&color=red
+    // How many items each filter option would leave, ignoring that option's own filter.
+    @GetMapping("/facets")
+    public FacetCounts facets(ClothingItemFilter filter) {
+        return catalogIndex.facetCounts(filter);
+    }
+
+    // GET /api/clothing-items/search?q=red+hoody&limit=20
+    // Ranked free-text search over names, descriptions and attributes; tolerates one typo per word.
+    @GetMapping("/search")
+    public List<ScoredItem> search(@RequestParam("q") String query,
+                                   @RequestParam(defaultValue = "20") int limit) {
+        return search.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // GET /api/clothing-items/suggest?prefix=jac
+    // Search-as-you-type completions for the word being typed.
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix,
+                                @RequestParam(defaultValue = "10") int limit) {
+        return search.suggest(prefix, Math.max(1, Math.min(limit, 50)));
+    }
+
+    // GET /api/clothing-items/cheapest?limit=10&gender=female
+    // The N cheapest items matching the same filters, by their lowest price.
+    @GetMapping("/cheapest")
+    public List<ClothingItemDTO> cheapest(ClothingItemFilter filter,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return catalogIndex.cheapest(filter, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // GET /api/clothing-items/trending?limit=20
+    // Items saved to wishlists most lately, with older saves counting less;
+    // read from a list refreshed in the background.
+    @GetMapping("/trending")
+    public List<ScoredItem> trending(@RequestParam(defaultValue = "20") int limit) {
+        return trending.trending(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // GET /api/clothing-items/{id}/visually-similar?limit=20&maxDistance=10
+    // Items whose picture looks like this one's, closest first, from the
+    // in-memory perceptual-hash index. maxDistance is in differing bits (0-64).
+    @GetMapping("/{id}/visually-similar")
+    public ResponseEntity<List<SimilarItem>> visuallySimilar(@PathVariable long id,
+                                                             @RequestParam(required = false) Integer maxDistance,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        if (catalogIndex.item(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        int distance = maxDistance == null ? defaultMaxDistance
+                                           : Math.max(0, Math.min(maxDistance, PerceptualHash.BITS));
+        return ResponseEntity.ok(visualSimilarity.similar(id, distance, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    // GET /api/clothing-items/{id}/similar?limit=20
+    // "More like this": items sharing the most attributes with this one
+    // (type, colour, pattern, material, gender, events, price band), best first.
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<ScoredItem>> similar(@PathVariable long id,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        if (catalogIndex.item(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(attributeSimilarity.similar(id, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
     }
 
-    @GetMapping("")                    // GET /items
-    public List<ClothingItemDTO> findAll() {
-        return repo.findAllProjectedBy();
+    // GET /api/clothing-items/{id}/also-saved?limit=10
+    // "People who saved this also saved": items most often in the same
+    // wishlists as this one, best first, from the in-memory co-occurrence index.
+    @GetMapping("/{id}/also-saved")
+    public ResponseEntity<List<ScoredItem>> alsoSaved(@PathVariable long id,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        if (catalogIndex.item(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(cooccurrence.alsoSaved(id, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
     }
 }
@@ -1,9 +1,11 @@
 package com.example.backend.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +13,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.dto.ScoredItem;
 import com.example.backend.model.Survey;
 import com.example.backend.model.User;
 import com.example.backend.repository.SurveyRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.RecommendationService;
+import com.example.backend.util.CurrentUser;
 import com.fasterxml.jackson.databind.JsonNode;
 
 @CrossOrigin(origins = "*")
@@ -26,12 +32,15 @@ public class SurveyController {
 
     private final SurveyRepository surveyRepository;
     private final UserRepository userRepository;
+    private final RecommendationService recommendationService;
 
     @Autowired
     public SurveyController(SurveyRepository surveyRepository,
-                            UserRepository userRepository) {
+                            UserRepository userRepository,
+                            RecommendationService recommendationService) {
         this.surveyRepository = surveyRepository;
         this.userRepository = userRepository;
+        this.recommendationService = recommendationService;
     }
 
 
@@ -43,6 +52,20 @@ public class SurveyController {
             .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /api/surveys/user/{userId}/recommendations?limit=20
+     * Catalog items ranked by how well they fit the user's survey answers,
+     * best first. 404 if the user has not taken the survey.
+     */
+    @GetMapping("/user/{userId}/recommendations")
+    public ResponseEntity<List<ScoredItem>> recommendations(@PathVariable Long userId,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        int n = Math.max(1, Math.min(limit, RecommendationService.MAX_RESULTS));
+        return recommendationService.recommend(userId, n)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * POST /api/surveys
      * Create a new Survey. Body should include:
@@ -53,6 +76,11 @@ public class SurveyController {
      */
     @PostMapping
 public ResponseEntity<Survey> create(@RequestBody CreateSurveyRequest req) {
+    // the token's user may only answer for themselves
+    if (!CurrentUser.is(req.getUserId())) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
     // 1) Look up the User
     User user = userRepository.findById(req.getUserId())
         .orElseThrow(() -> new IllegalArgumentException("User not found: " + req.getUserId()));
@@ -70,6 +98,7 @@ public ResponseEntity<Survey> create(@RequestBody CreateSurveyRequest req) {
 
     // 4) Save (will update if exists or insert if new)
     Survey saved = surveyRepository.save(survey);
+    recommendationService.onSurveySaved(user.getId(), saved);
 
     // 5) Return 200 OK with the saved object
     return ResponseEntity.ok(saved);
@@ -3,6 +3,7 @@ package com.example.backend.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,9 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.backend.dto.WishListDTO;
+import com.example.backend.dto.WishlistDetail;
 import com.example.backend.model.User;
 import com.example.backend.model.Wishlist;
 import com.example.backend.repository.UserRepository;
@@ -26,6 +29,8 @@ import com.example.backend.repository.WishlistRepository;
 @RequestMapping("/users/{userId}/wishlists")
 public class WishlistController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final WishlistRepository wishlistRepo;
     private final UserRepository userRepo;
 
@@ -57,6 +62,20 @@ public class WishlistController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // GET /users/{userId}/wishlists/{id}/detail?after=0&size=50
+    // The wishlist with full clothing data for each item, from a single query;
+    // pass the returned nextCursor as "after" for the next page.
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<WishlistDetail> detail(@PathVariable Long userId,
+                                                 @PathVariable Long id,
+                                                 @RequestParam(defaultValue = "0") long after,
+                                                 @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        WishlistDetail detail = WishlistDetail.of(
+            wishlistRepo.findDetail(id, userId, after, PageRequest.ofSize(pageSize)), pageSize);
+        return detail == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(detail);
+    }
+
     /* ---------- CREATE ---------- */
 
     // POST /users/{userId}/wishlists
@@ -1,8 +1,15 @@
 package com.example.backend.controller;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -21,23 +28,29 @@ import com.example.backend.repository.ClothingItemRepository;
 import com.example.backend.repository.WishlistItemRepository;
 import com.example.backend.repository.WishlistRepository;
 import com.example.backend.dto.WishListItemDTO;
+import com.example.backend.service.WishlistItemsChangedEvent;
 
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/users/{userId}/wishlists/{wishlistId}/items")
 public class WishlistItemController {
 
+    private static final int MAX_BULK_ITEMS = 1000;
+
     private final WishlistRepository wishlistRepo;
     private final WishlistItemRepository itemRepo;
     private final ClothingItemRepository clothingRepo;
+    private final ApplicationEventPublisher publisher;
 
     @Autowired
     public WishlistItemController(WishlistRepository wishlistRepo,
                                   WishlistItemRepository itemRepo,
-                                  ClothingItemRepository clothingRepo) {
+                                  ClothingItemRepository clothingRepo,
+                                  ApplicationEventPublisher publisher) {
         this.wishlistRepo = wishlistRepo;
         this.itemRepo = itemRepo;
         this.clothingRepo = clothingRepo;
+        this.publisher = publisher;
     }
 
     // GET ALL ITEMS IN A WISHLIST
@@ -45,16 +58,13 @@ public class WishlistItemController {
     @GetMapping
 public ResponseEntity<List<WishListItemDTO>> list(@PathVariable Long userId,
                                                   @PathVariable Long wishlistId) {
-    return wishlistRepo.findById(wishlistId)
-        .filter(w -> w.getUser().getId().equals(userId))
-        .map(w -> {
-            List<WishListItemDTO> dtoList = itemRepo.findByWishlistId(wishlistId)
-                .stream()
-                .map(WishListItemDTO::from)
-                .toList();
-            return ResponseEntity.ok(dtoList);
-        })
-        .orElse(ResponseEntity.notFound().build());
+    if (!wishlistRepo.existsByIdAndUserId(wishlistId, userId)) return ResponseEntity.notFound().build();
+
+    List<WishListItemDTO> dtoList = itemRepo.findByWishlistId(wishlistId)
+        .stream()
+        .map(WishListItemDTO::from)
+        .toList();
+    return ResponseEntity.ok(dtoList);
 }
 
 
@@ -65,9 +75,7 @@ public ResponseEntity<List<WishListItemDTO>> list(@PathVariable Long userId,
 public ResponseEntity<WishListItemDTO> get(@PathVariable Long userId,
                                            @PathVariable Long wishlistId,
                                            @PathVariable Long id) {
-    return itemRepo.findById(id)
-        .filter(it -> it.getWishlist().getId().equals(wishlistId) &&
-                      it.getWishlist().getUser().getId().equals(userId))
+    return itemRepo.findByIdAndWishlistIdAndWishlistUserId(id, wishlistId, userId)
         .map(WishListItemDTO::from)
         .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
@@ -82,22 +90,74 @@ public ResponseEntity<WishListItemDTO> create(@PathVariable Long userId,
                                               @PathVariable Long wishlistId,
                                               @RequestBody CreateItemRequest body) {
 
-    Wishlist wishlist = wishlistRepo.findById(wishlistId)
-            .filter(w -> w.getUser().getId().equals(userId))
-            .orElse(null);
-
-    if (wishlist == null) return ResponseEntity.notFound().build();
+    if (!wishlistRepo.existsByIdAndUserId(wishlistId, userId)) return ResponseEntity.notFound().build();
+    // only its id is needed for the insert, so no need to load it
+    Wishlist wishlist = wishlistRepo.getReferenceById(wishlistId);
 
     ClothingItem clothing = clothingRepo.findById(body.clothingItemId()).orElse(null);
     if (clothing == null) return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
 
+    // adding an item that is already there is not an error, just a no-op
+    var existing = itemRepo.findByWishlistIdAndClothingItemId(wishlistId, clothing.getId());
+    if (existing.isPresent()) return ResponseEntity.ok(WishListItemDTO.from(existing.get()));
+
     WishlistItem item = new WishlistItem();
     item.setWishlist(wishlist);
     item.setClothingItem(clothing);
 
-    WishlistItem saved = itemRepo.save(item);
-    return ResponseEntity.status(HttpStatus.CREATED).body(WishListItemDTO.from(saved));
+    try {
+        WishlistItem saved = itemRepo.save(item);
+        return ResponseEntity.status(HttpStatus.CREATED).body(WishListItemDTO.from(saved));
+    } catch (DataIntegrityViolationException e) {
+        // lost a race with a concurrent add of the same item
+        return itemRepo.findByWishlistIdAndClothingItemId(wishlistId, clothing.getId())
+            .map(WishListItemDTO::from)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> e);
+    }
 }
+
+    // POST /users/{userId}/wishlists/{wishlistId}/items/bulk
+    // Body: { "clothingItemIds": [123, 456] }
+    // Adds them all in one statement; ids already in the wishlist are skipped,
+    // so repeating the request is harmless. Unknown ids reject the whole request.
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkItemsResult> addAll(@PathVariable Long userId,
+                                                  @PathVariable Long wishlistId,
+                                                  @RequestBody BulkItemsRequest body) {
+        Set<Long> ids = body.distinctIds();
+        if (ids.isEmpty() || ids.size() > MAX_BULK_ITEMS) return ResponseEntity.badRequest().build();
+        if (!wishlistRepo.existsByIdAndUserId(wishlistId, userId)) return ResponseEntity.notFound().build();
+
+        Set<Long> unknown = new HashSet<>(ids);
+        clothingRepo.findExistingIds(ids).forEach(unknown::remove);
+        if (!unknown.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BulkItemsResult(ids.size(), 0, new ArrayList<>(unknown)));
+        }
+
+        List<Long> added = itemRepo.addAll(wishlistId, ids);
+        // the insert bypasses JPA, so its entity listener never sees these rows
+        if (!added.isEmpty()) publisher.publishEvent(new WishlistItemsChangedEvent(wishlistId, added, false));
+        return ResponseEntity.ok(new BulkItemsResult(ids.size(), added.size(), List.of()));
+    }
+
+    // DELETE /users/{userId}/wishlists/{wishlistId}/items/bulk
+    // Body: { "clothingItemIds": [123, 456] }
+    // Removes them in one statement; ids that are not in the wishlist are ignored.
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkItemsResult> removeAll(@PathVariable Long userId,
+                                                     @PathVariable Long wishlistId,
+                                                     @RequestBody BulkItemsRequest body) {
+        Set<Long> ids = body.distinctIds();
+        if (ids.isEmpty() || ids.size() > MAX_BULK_ITEMS) return ResponseEntity.badRequest().build();
+        if (!wishlistRepo.existsByIdAndUserId(wishlistId, userId)) return ResponseEntity.notFound().build();
+
+        List<Long> removed = itemRepo.removeAll(wishlistId, ids);
+        // as for addAll, and only the ids that were there: listeners count what they are told
+        if (!removed.isEmpty()) publisher.publishEvent(new WishlistItemsChangedEvent(wishlistId, removed, true));
+        return ResponseEntity.ok(new BulkItemsResult(ids.size(), removed.size(), List.of()));
+    }
+
     // DELETE /users/{userId}/wishlists/{wishlistId}/items/{id}
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long userId,
@@ -116,4 +176,15 @@ public ResponseEntity<WishListItemDTO> create(@PathVariable Long userId,
 
     
     public static record CreateItemRequest(Long clothingItemId) {}
+
+    public static record BulkItemsRequest(List<Long> clothingItemIds) {
+        Set<Long> distinctIds() {
+            Set<Long> ids = new LinkedHashSet<>();
+            if (clothingItemIds != null) clothingItemIds.stream().filter(Objects::nonNull).forEach(ids::add);
+            return ids;
+        }
+    }
+
+    /** {@code changed} is how many items were actually added or removed. */
+    public static record BulkItemsResult(int requested, int changed, List<Long> unknownIds) {}
 }
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot of a bulk catalog import. {@code duplicates} are rows whose
+ * content already exists (from an earlier import or earlier in the same
+ * file); {@code rejected} rows failed validation and are described, up to a
+ * limit, in {@code errors}. {@code nearDuplicates} were inserted but their
+ * picture looks like an existing item's or an earlier row's; up to the same
+ * limit are named in {@code nearDuplicateSamples}.
+ */
+public record CatalogImportProgress(String id,
+                                    String state,
+                                    int percent,
+                                    long rowsRead,
+                                    long inserted,
+                                    long duplicates,
+                                    long rejected,
+                                    long nearDuplicates,
+                                    long rowsPerSecond,
+                                    Instant startedAt,
+                                    Instant finishedAt,
+                                    List<String> errors,
+                                    List<String> nearDuplicateSamples,
+                                    String message) {}
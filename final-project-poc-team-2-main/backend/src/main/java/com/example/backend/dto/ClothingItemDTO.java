@@ -13,4 +13,6 @@ public interface ClothingItemDTO {
     String getEvents();
     String getTypeOfClothing();
     String getImageUrl();
+    Integer getPriceMinCents();
+    Integer getPriceMaxCents();
 }
@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Query parameters accepted by the catalog filter endpoints.
+ * Values inside one attribute are OR-ed, attributes are AND-ed together,
+ * which is the same semantics the curated page used to apply client-side.
+ * Prices are whole dollars and match any item whose estimated range overlaps.
+ */
+public record ClothingItemFilter(List<String> gender,
+                                 List<String> color,
+                                 List<String> material,
+                                 List<String> pattern,
+                                 List<String> typeOfClothing,
+                                 List<String> events,
+                                 Integer minPrice,
+                                 Integer maxPrice) {
+
+    public boolean hasPrice() {
+        return minPrice != null || maxPrice != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated catalog listing. Pass {@code nextCursor}
+ * back as {@code after} to fetch the following page; it is {@code null}
+ * once the end of the catalog has been reached.
+ */
+public record ClothingItemPage(List<ClothingItemDTO> items, Long nextCursor) {
+
+    public static ClothingItemPage of(List<ClothingItemDTO> items, int size) {
+        Long next = items.size() < size ? null : items.get(items.size() - 1).getId();
+        return new ClothingItemPage(items, next);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Catalog items in the compact columnar shape, asked for with
+ * {@code Accept: application/vnd.clothing.columnar}. The body is still
+ * JSON, but each field name appears once instead of once per item:
+ * <pre>
+ * {"count": 2,
+ *  "columns": {"id": [1, 2], "name": ["Red Hoodie", "Blue Jeans"], "color": [0, 1], ...},
+ *  "dictionaries": {"color": ["red", "blue"], ...}}
+ * </pre>
+ * Item {@code i} is the {@code i}th entry of every column. The fields with
+ * few distinct values (colour, pattern, material, pricing, gender, events
+ * and type) hold an index into their dictionary instead of the value; a
+ * missing value is a {@code null} dictionary entry like any other.
+ *
+ * The media type has no +json suffix on purpose: the JSON converter
+ * accepts every application/*+json type and would answer it with plain JSON.
+ */
+public record ColumnarItems(int count, Map<String, Object> columns, Map<String, List<String>> dictionaries) {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.clothing.columnar";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    /** {@link ClothingItemPage} with its items in columns. */
+    public record Page(ColumnarItems items, Long nextCursor) {}
+
+    /** A list of {@link ScoredItem}: the scores in one array, the items in columns. */
+    public record Scored(double[] score, ColumnarItems items) {}
+
+    /** A list of {@link SimilarItem}: the distances in one array, the items in columns. */
+    public record Similar(int[] distance, ColumnarItems items) {}
+
+    /** {@link WishlistDetail} with the wishlist item ids in one array and the items in columns. */
+    public record Wishlist(Long id, String name, long[] itemIds, ColumnarItems items, Long nextCursor) {}
+
+    public static ColumnarItems of(List<? extends ClothingItemDTO> items) {
+        int n = items.size();
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        String[] descriptions = new String[n];
+        String[] imageUrls = new String[n];
+        Integer[] priceMin = new Integer[n];
+        Integer[] priceMax = new Integer[n];
+        Dictionary color = new Dictionary(n, ClothingItemDTO::getColor);
+        Dictionary pattern = new Dictionary(n, ClothingItemDTO::getPattern);
+        Dictionary material = new Dictionary(n, ClothingItemDTO::getMaterial);
+        Dictionary pricing = new Dictionary(n, ClothingItemDTO::getEstimatedPricing);
+        Dictionary gender = new Dictionary(n, ClothingItemDTO::getGender);
+        Dictionary events = new Dictionary(n, ClothingItemDTO::getEvents);
+        Dictionary type = new Dictionary(n, ClothingItemDTO::getTypeOfClothing);
+
+        for (int i = 0; i < n; i++) {
+            ClothingItemDTO item = items.get(i);
+            ids[i] = item.getId();
+            names[i] = item.getName();
+            descriptions[i] = item.getDescription();
+            imageUrls[i] = item.getImageUrl();
+            priceMin[i] = item.getPriceMinCents();
+            priceMax[i] = item.getPriceMaxCents();
+            color.add(i, item);
+            pattern.add(i, item);
+            material.add(i, item);
+            pricing.add(i, item);
+            gender.add(i, item);
+            events.add(i, item);
+            type.add(i, item);
+        }
+
+        // in the order ClothingItemDTO declares them, as the JSON form has them
+        Map<String, Object> columns = new LinkedHashMap<>();
+        Map<String, List<String>> dictionaries = new LinkedHashMap<>();
+        columns.put("id", ids);
+        columns.put("name", names);
+        columns.put("description", descriptions);
+        color.put("color", columns, dictionaries);
+        pattern.put("pattern", columns, dictionaries);
+        material.put("material", columns, dictionaries);
+        pricing.put("estimatedPricing", columns, dictionaries);
+        gender.put("gender", columns, dictionaries);
+        events.put("events", columns, dictionaries);
+        type.put("typeOfClothing", columns, dictionaries);
+        columns.put("imageUrl", imageUrls);
+        columns.put("priceMinCents", priceMin);
+        columns.put("priceMaxCents", priceMax);
+        return new ColumnarItems(n, columns, dictionaries);
+    }
+
+    public static Page of(ClothingItemPage page) {
+        return new Page(of(page.items()), page.nextCursor());
+    }
+
+    public static Wishlist of(WishlistDetail detail) {
+        List<WishlistDetail.Item> rows = detail.items();
+        long[] itemIds = new long[rows.size()];
+        List<ClothingItemDTO> items = new ArrayList<>(rows.size());
+        for (int i = 0; i < itemIds.length; i++) {
+            itemIds[i] = rows.get(i).id();
+            items.add(rows.get(i).clothingItem());
+        }
+        return new Wishlist(detail.id(), detail.name(), itemIds, of(items), detail.nextCursor());
+    }
+
+    public static Scored ofScored(List<ScoredItem> scored) {
+        double[] scores = new double[scored.size()];
+        List<ClothingItemDTO> items = new ArrayList<>(scored.size());
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = scored.get(i).score();
+            items.add(scored.get(i).item());
+        }
+        return new Scored(scores, of(items));
+    }
+
+    public static Similar ofSimilar(List<SimilarItem> similar) {
+        int[] distances = new int[similar.size()];
+        List<ClothingItemDTO> items = new ArrayList<>(similar.size());
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = similar.get(i).distance();
+            items.add(similar.get(i).item());
+        }
+        return new Similar(distances, of(items));
+    }
+
+    /** One dictionary-encoded column: codes by position, values by code in first-seen order. */
+    private static final class Dictionary {
+
+        private final Function<ClothingItemDTO, String> field;
+        private final int[] codes;
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codeOf = new HashMap<>();
+
+        Dictionary(int size, Function<ClothingItemDTO, String> field) {
+            this.field = field;
+            this.codes = new int[size];
+        }
+
+        void add(int i, ClothingItemDTO item) {
+            String value = field.apply(item);
+            Integer code = codeOf.get(value);
+            if (code == null) {
+                code = values.size();
+                codeOf.put(value, code);
+                values.add(value);
+            }
+            codes[i] = code;
+        }
+
+        void put(String name, Map<String, Object> columns, Map<String, List<String>> dictionaries) {
+            columns.put(name, codes);
+            dictionaries.put(name, values);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.util.Map;
+
+/**
+ * Live option counts for the filter sidebar. {@code facets} maps each filter
+ * name (gender, color, ...) to value → number of items that would match if
+ * that value were picked, given every <em>other</em> active filter.
+ * {@code total} is the number of items matching the full filter.
+ */
+public record FacetCounts(int total, Map<String, Map<String, Integer>> facets) {
+}
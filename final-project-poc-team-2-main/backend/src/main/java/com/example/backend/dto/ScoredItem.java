@@ -0,0 +1,5 @@
+package com.example.backend.dto;
+
+/** A catalog item together with the score it was ranked by (higher is better). */
+public record ScoredItem(ClothingItemDTO item, double score) {
+}
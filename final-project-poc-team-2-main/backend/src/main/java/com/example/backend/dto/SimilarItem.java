@@ -0,0 +1,5 @@
+package com.example.backend.dto;
+
+/** A catalog item together with how many bits its image hash differs from the query's (lower is closer). */
+public record SimilarItem(ClothingItemDTO item, int distance) {
+}
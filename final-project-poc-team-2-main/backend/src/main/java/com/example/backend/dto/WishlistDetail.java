@@ -0,0 +1,28 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A wishlist with its items' full catalog data, one keyset page at a time.
+ * Pass {@code nextCursor} back as {@code after} for the next page; it is
+ * {@code null} on the last one.
+ */
+public record WishlistDetail(Long id, String name, List<Item> items, Long nextCursor) {
+
+    /** {@code id} is the wishlist item id, used to remove it again. */
+    public record Item(Long id, ClothingItemDTO clothingItem) {}
+
+    /** Folds the rows of {@code WishlistRepository#findDetail}; {@code null} when there are none. */
+    public static WishlistDetail of(List<WishlistDetailRow> rows, int size) {
+        if (rows.isEmpty()) return null;
+        List<Item> items = new ArrayList<>(rows.size());
+        for (WishlistDetailRow row : rows) {
+            // an empty page still yields one row, with no item, for the wishlist itself
+            if (row.itemId() != null) items.add(new Item(row.itemId(), row.clothingItem()));
+        }
+        Long next = items.size() < size ? null : items.get(items.size() - 1).id();
+        WishlistDetailRow first = rows.get(0);
+        return new WishlistDetail(first.wishlistId(), first.wishlistName(), items, next);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.backend.dto;
+
+/** One row of the wishlist detail query: the wishlist, and one item or none. */
+public record WishlistDetailRow(Long wishlistId, String wishlistName, Long itemId, ClothingItemDTO clothingItem) {}
@@ -0,0 +1,214 @@
+package com.example.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.util.ColorNames;
+
+/**
+ * "More like this" over the whole catalog, by attributes.
+ *
+ * Every item is encoded once into columns of ints, one per attribute, in id
+ * order: a dictionary code for gender, colour, pattern, material and type,
+ * a price band, and its events as a 64-bit set split over two int columns.
+ * Scoring one item against all others is then a pass over a few flat
+ * arrays with no objects touched, done by {@link AttributeSimilarityKernel}
+ * with the JDK Vector API when the jdk.incubator.vector module is loaded
+ * (--add-modules jdk.incubator.vector), and by the same arithmetic one item
+ * at a time otherwise. The catalog is cut into blocks scored in parallel,
+ * each keeping its best k in a primitive heap; the heaps are merged at the
+ * end.
+ *
+ * Instances are immutable; rebuild after the catalog changes.
+ */
+public final class AttributeSimilarityIndex {
+
+    /** Whether the Vector API can be used in this JVM. */
+    public static final boolean VECTOR_API_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // what a match on each attribute is worth; events earn their weight times
+    // the Jaccard overlap, price its weight in the same band and half next to it
+    static final float W_TYPE = 1.5f;
+    static final float W_COLOR = 1.0f;
+    static final float W_PATTERN = 0.75f;
+    static final float W_MATERIAL = 0.75f;
+    static final float W_GENDER = 0.5f;
+    static final float W_EVENTS = 1.0f;
+    static final float W_PRICE = 1.0f;
+
+    /** Code of a missing value; the query skips attributes it has no value for. */
+    static final int NONE = 0;
+    // far from every real band, so an unpriced item is never "next to" one
+    static final int NO_BAND = -1000;
+    // upper bounds in cents of every band but the last
+    private static final int[] BAND_LIMITS = { 2500, 5000, 7500, 10000, 15000, 20000, 30000 };
+
+    // items per scoring block: the scores of one block stay in L1
+    private static final int BLOCK = 2048;
+    // fewest items worth a parallel task, so small catalogs are not over-split
+    private static final int MIN_ITEMS_PER_TASK = 16 * BLOCK;
+
+    final int size;
+    final long[] ids;
+    final ClothingItemDTO[] items;
+    final int[] gender, color, pattern, material, type, band;
+    final int[] eventsLo, eventsHi, eventCount;
+    private final boolean vectorized;
+
+    private AttributeSimilarityIndex(List<? extends ClothingItemDTO> sorted, boolean vectorized) {
+        this.vectorized = vectorized;
+        size = sorted.size();
+        ids = new long[size];
+        items = new ClothingItemDTO[size];
+        gender = new int[size];
+        color = new int[size];
+        pattern = new int[size];
+        material = new int[size];
+        type = new int[size];
+        band = new int[size];
+        eventsLo = new int[size];
+        eventsHi = new int[size];
+        eventCount = new int[size];
+
+        Map<ClothingFacet, Map<String, Integer>> codes = new EnumMap<>(ClothingFacet.class);
+        Map<String, Integer> eventBits = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ClothingItemDTO item = sorted.get(i);
+            ids[i] = item.getId();
+            items[i] = item;
+            gender[i] = code(codes, ClothingFacet.GENDER, first(ClothingFacet.GENDER.valuesOf(item)));
+            color[i] = code(codes, ClothingFacet.COLOR, ColorNames.normalize(item.getColor()));
+            pattern[i] = code(codes, ClothingFacet.PATTERN, first(ClothingFacet.PATTERN.valuesOf(item)));
+            material[i] = code(codes, ClothingFacet.MATERIAL, first(ClothingFacet.MATERIAL.valuesOf(item)));
+            type[i] = code(codes, ClothingFacet.TYPE_OF_CLOTHING, first(ClothingFacet.TYPE_OF_CLOTHING.valuesOf(item)));
+            band[i] = band(item);
+
+            long events = 0;
+            for (String event : ClothingFacet.EVENTS.valuesOf(item)) {
+                // past 64 distinct events, bits are shared and overlap is overstated a little
+                int bit = eventBits.computeIfAbsent(event, e -> eventBits.size()) & 63;
+                events |= 1L << bit;
+            }
+            eventsLo[i] = (int) events;
+            eventsHi[i] = (int) (events >>> 32);
+            eventCount[i] = Long.bitCount(events);
+        }
+    }
+
+    public static AttributeSimilarityIndex build(List<? extends ClothingItemDTO> items) {
+        return build(items, VECTOR_API_AVAILABLE);
+    }
+
+    /** @param vectorized use the Vector API kernel; must only be true when {@link #VECTOR_API_AVAILABLE} */
+    public static AttributeSimilarityIndex build(List<? extends ClothingItemDTO> items, boolean vectorized) {
+        List<? extends ClothingItemDTO> sorted = new ArrayList<>(items);
+        sorted.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return new AttributeSimilarityIndex(sorted, vectorized && VECTOR_API_AVAILABLE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * The {@code k} items most like item {@code id}, best first, ties going
+     * to the lower id. Items sharing nothing with it are left out, as is the
+     * item itself. Empty when the id is not indexed.
+     */
+    public List<ScoredItem> similar(long id, int k) {
+        int self = Arrays.binarySearch(ids, id);
+        if (self < 0 || k <= 0) return List.of();
+
+        int tasks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4,
+                                         size / MIN_ITEMS_PER_TASK));
+        int perTask = (size + tasks - 1) / tasks;
+        TopK best = IntStream.range(0, tasks).parallel()
+            .mapToObj(t -> scoreRange(self, t * perTask, Math.min(size, (t + 1) * perTask), k))
+            .reduce(TopK::merge)
+            .orElseGet(() -> new TopK(k));
+
+        float[] scores = new float[best.size()];
+        int[] positions = best.drain(scores);
+        List<ScoredItem> result = new ArrayList<>(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            result.add(new ScoredItem(items[positions[i]], scores[i]));
+        }
+        return result;
+    }
+
+    private TopK scoreRange(int self, int from, int to, int k) {
+        TopK top = new TopK(k);
+        float[] scores = new float[BLOCK];
+        for (int start = from; start < to; start += BLOCK) {
+            int n = Math.min(BLOCK, to - start);
+            if (vectorized) {
+                AttributeSimilarityKernel.score(this, self, start, n, scores);
+            } else {
+                for (int i = 0; i < n; i++) {
+                    scores[i] = score(self, start + i);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = start + i;
+                if (pos != self && scores[i] > 0) top.offer(pos, scores[i]);
+            }
+        }
+        return top;
+    }
+
+    /** The scalar form of the kernel: how much item {@code pos} has in common with item {@code q}. */
+    float score(int q, int pos) {
+        float s = 0;
+        if (type[q] != NONE && type[pos] == type[q]) s += W_TYPE;
+        if (color[q] != NONE && color[pos] == color[q]) s += W_COLOR;
+        if (pattern[q] != NONE && pattern[pos] == pattern[q]) s += W_PATTERN;
+        if (material[q] != NONE && material[pos] == material[q]) s += W_MATERIAL;
+        if (gender[q] != NONE && gender[pos] == gender[q]) s += W_GENDER;
+        if (eventCount[q] > 0) {
+            int common = Integer.bitCount(eventsLo[pos] & eventsLo[q]) + Integer.bitCount(eventsHi[pos] & eventsHi[q]);
+            s += W_EVENTS * ((float) common / (eventCount[pos] + eventCount[q] - common));
+        }
+        if (band[q] != NO_BAND) {
+            int d = Math.abs(band[pos] - band[q]);
+            if (d == 0) s += W_PRICE;
+            else if (d == 1) s += W_PRICE / 2;
+        }
+        return s;
+    }
+
+    private static int code(Map<ClothingFacet, Map<String, Integer>> codes, ClothingFacet facet, String value) {
+        if (value.isEmpty()) return NONE;
+        Map<String, Integer> byValue = codes.computeIfAbsent(facet, f -> new HashMap<>());
+        return byValue.computeIfAbsent(value, v -> byValue.size() + 1);
+    }
+
+    private static String first(List<String> values) {
+        return values.isEmpty() ? "" : values.get(0);
+    }
+
+    // by the middle of the range, or the minimum when it is open-ended
+    private static int band(ClothingItemDTO item) {
+        Integer min = item.getPriceMinCents();
+        if (min == null) return NO_BAND;
+        Integer max = item.getPriceMaxCents();
+        long price = max == null ? min : ((long) min + max) / 2;
+        int i = Arrays.binarySearch(BAND_LIMITS, (int) price);
+        return i >= 0 ? i : -i - 1;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.backend.index;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.example.backend.index.AttributeSimilarityIndex.NONE;
+import static com.example.backend.index.AttributeSimilarityIndex.NO_BAND;
+import static com.example.backend.index.AttributeSimilarityIndex.W_COLOR;
+import static com.example.backend.index.AttributeSimilarityIndex.W_EVENTS;
+import static com.example.backend.index.AttributeSimilarityIndex.W_GENDER;
+import static com.example.backend.index.AttributeSimilarityIndex.W_MATERIAL;
+import static com.example.backend.index.AttributeSimilarityIndex.W_PATTERN;
+import static com.example.backend.index.AttributeSimilarityIndex.W_PRICE;
+import static com.example.backend.index.AttributeSimilarityIndex.W_TYPE;
+
+/**
+ * {@link AttributeSimilarityIndex#score} over many items per instruction with
+ * the JDK Vector API. Ints and floats have the same width, so one lane
+ * count serves both: attribute codes are compared as ints and the matches
+ * add their weights into float lanes.
+ *
+ * Only loaded when jdk.incubator.vector is present; nothing else may refer
+ * to the vector types.
+ */
+final class AttributeSimilarityKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    private AttributeSimilarityKernel() {}
+
+    /** Writes the score of items {@code [from, from + n)} against item {@code q} into {@code out[0, n)}. */
+    static void score(AttributeSimilarityIndex x, int q, int from, int n, float[] out) {
+        // an attribute the query item lacks is worth nothing, as in the scalar form
+        float wType = x.type[q] == NONE ? 0 : W_TYPE;
+        float wColor = x.color[q] == NONE ? 0 : W_COLOR;
+        float wPattern = x.pattern[q] == NONE ? 0 : W_PATTERN;
+        float wMaterial = x.material[q] == NONE ? 0 : W_MATERIAL;
+        float wGender = x.gender[q] == NONE ? 0 : W_GENDER;
+        boolean events = x.eventCount[q] > 0;
+        boolean priced = x.band[q] != NO_BAND;
+
+        int i = 0;
+        int upper = INTS.loopBound(n);
+        for (; i < upper; i += INTS.length()) {
+            int at = from + i;
+            FloatVector s = FloatVector.zero(FLOATS);
+            s = addIfEqual(s, x.type, at, x.type[q], wType);
+            s = addIfEqual(s, x.color, at, x.color[q], wColor);
+            s = addIfEqual(s, x.pattern, at, x.pattern[q], wPattern);
+            s = addIfEqual(s, x.material, at, x.material[q], wMaterial);
+            s = addIfEqual(s, x.gender, at, x.gender[q], wGender);
+            if (events) {
+                IntVector common = IntVector.fromArray(INTS, x.eventsLo, at).and(x.eventsLo[q])
+                    .lanewise(VectorOperators.BIT_COUNT)
+                    .add(IntVector.fromArray(INTS, x.eventsHi, at).and(x.eventsHi[q])
+                        .lanewise(VectorOperators.BIT_COUNT));
+                IntVector union = IntVector.fromArray(INTS, x.eventCount, at).add(x.eventCount[q]).sub(common);
+                FloatVector jaccard = ((FloatVector) common.convert(VectorOperators.I2F, 0))
+                    .div((FloatVector) union.convert(VectorOperators.I2F, 0));
+                s = s.add(jaccard.mul(W_EVENTS));
+            }
+            if (priced) {
+                IntVector gap = IntVector.fromArray(INTS, x.band, at).sub(x.band[q]).abs();
+                s = s.add(W_PRICE, gap.eq(0).cast(FLOATS));
+                s = s.add(W_PRICE / 2, gap.eq(1).cast(FLOATS));
+            }
+            s.intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = x.score(q, from + i);
+        }
+    }
+
+    private static FloatVector addIfEqual(FloatVector s, int[] column, int at, int value, float weight) {
+        if (weight == 0) return s;
+        VectorMask<Integer> same = IntVector.fromArray(INTS, column, at).eq(value);
+        return s.add(weight, same.cast(FLOATS));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.index;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+
+/**
+ * The filterable attributes of a clothing item. Each facet knows how to pull
+ * its (normalised) values out of an item and out of a filter request.
+ */
+public enum ClothingFacet {
+    GENDER("gender", ClothingItemDTO::getGender, ClothingItemFilter::gender),
+    COLOR("color", ClothingItemDTO::getColor, ClothingItemFilter::color),
+    MATERIAL("material", ClothingItemDTO::getMaterial, ClothingItemFilter::material),
+    PATTERN("pattern", ClothingItemDTO::getPattern, ClothingItemFilter::pattern),
+    TYPE_OF_CLOTHING("typeOfClothing", ClothingItemDTO::getTypeOfClothing, ClothingItemFilter::typeOfClothing),
+    // events is stored comma-separated ("casual, outdoor, everyday wear")
+    EVENTS("events", ClothingItemDTO::getEvents, ClothingItemFilter::events) {
+        @Override
+        public List<String> valuesOf(ClothingItemDTO item) {
+            String raw = item.getEvents();
+            if (raw == null) return List.of();
+            return Arrays.stream(raw.split(","))
+                         .map(ClothingFacet::normalize)
+                         .filter(v -> !v.isEmpty())
+                         .distinct()
+                         .toList();
+        }
+    };
+
+    private final String param;
+    private final Function<ClothingItemDTO, String> attribute;
+    private final Function<ClothingItemFilter, List<String>> selection;
+
+    ClothingFacet(String param,
+                  Function<ClothingItemDTO, String> attribute,
+                  Function<ClothingItemFilter, List<String>> selection) {
+        this.param = param;
+        this.attribute = attribute;
+        this.selection = selection;
+    }
+
+    /** Name used for this facet in query parameters and JSON responses. */
+    public String param() { return param; }
+
+    public List<String> valuesOf(ClothingItemDTO item) {
+        String value = normalize(attribute.apply(item));
+        return value.isEmpty() ? List.of() : List.of(value);
+    }
+
+    /** Normalised values selected for this facet, or an empty list when unfiltered. */
+    public List<String> selectedIn(ClothingItemFilter filter) {
+        List<String> selected = filter == null ? null : selection.apply(filter);
+        if (selected == null) return List.of();
+        return selected.stream()
+                       .map(ClothingFacet::normalize)
+                       .filter(v -> !v.isEmpty())
+                       .distinct()
+                       .toList();
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.dto.FacetCounts;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.util.PriceRange;
+
+/**
+ * In-memory inverted index over the catalog: one compressed bitmap per
+ * (facet, value) pair. Every item gets a dense position when it is added;
+ * a query ORs the bitmaps of the selected values inside a facet and ANDs the
+ * facets together, so it never looks at rows that cannot match.
+ *
+ * Removed items keep their position but are cleared from every bitmap, so
+ * positions never move and incremental updates stay cheap. Reads and writes
+ * are guarded by a read/write lock; a full rebuild creates a new instance.
+ *
+ * Prices live in parallel primitive arrays and are queried through a sorted
+ * {@link PriceIndex}, which is rebuilt on the first read after a change.
+ */
+public class ClothingFacetIndex {
+
+    // ascending score; ties broken so that lower ids rank higher
+    private static final Comparator<ScoredItem> BY_SCORE =
+        Comparator.comparingDouble(ScoredItem::score)
+                  .thenComparing(s -> s.item().getId(), Comparator.reverseOrder());
+
+    private final List<ClothingItemDTO> rows = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final Map<ClothingFacet, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(ClothingFacet.class);
+    private int[] minPrices = new int[64];
+    private int[] maxPrices = new int[64];
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // built from the arrays above on demand; cleared by every write
+    private volatile PriceIndex priceIndex;
+
+    public ClothingFacetIndex() {
+        for (ClothingFacet facet : ClothingFacet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    public static ClothingFacetIndex build(Collection<? extends ClothingItemDTO> items) {
+        ClothingFacetIndex index = new ClothingFacetIndex();
+        for (ClothingItemDTO item : items) {
+            index.insert(item);
+        }
+        index.bitmaps.values().forEach(m -> m.values().forEach(RoaringBitmap::runOptimize));
+        return index;
+    }
+
+    /* ---------- WRITE ---------- */
+
+    /** Adds the item, or replaces the indexed copy if its id is already present. */
+    public void upsert(ClothingItemDTO item) {
+        lock.writeLock().lock();
+        try {
+            delete(item.getId());
+            insert(item);
+            priceIndex = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            priceIndex = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(ClothingItemDTO item) {
+        int pos = rows.size();
+        rows.add(item);
+        storePrice(pos, item);
+        positions.put(item.getId(), pos);
+        live.add(pos);
+
+        for (ClothingFacet facet : ClothingFacet.values()) {
+            Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+            for (String value : facet.valuesOf(item)) {
+                byValue.computeIfAbsent(value, v -> new RoaringBitmap()).add(pos);
+            }
+        }
+    }
+
+    private void delete(Long id) {
+        Integer pos = positions.remove(id);
+        if (pos == null) return;
+
+        ClothingItemDTO old = rows.set(pos, null);
+        live.remove(pos);
+        for (ClothingFacet facet : ClothingFacet.values()) {
+            Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+            for (String value : facet.valuesOf(old)) {
+                RoaringBitmap bitmap = byValue.get(value);
+                if (bitmap == null) continue;
+                bitmap.remove(pos);
+                if (bitmap.isEmpty()) byValue.remove(value);
+            }
+        }
+    }
+
+    /* ---------- READ ---------- */
+
+    /** Items matching the filter, in catalog (insertion) order. */
+    public List<ClothingItemDTO> query(ClothingItemFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = matching(filter);
+            List<ClothingItemDTO> result = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int pos) -> result.add(rows.get(pos)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} matching items, cheapest first; unpriced items are left out. */
+    public List<ClothingItemDTO> cheapest(ClothingItemFilter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] positions = prices().cheapest(matching(filter), limit);
+            List<ClothingItemDTO> result = new ArrayList<>(positions.length);
+            for (int pos : positions) result.add(rows.get(pos));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Per-value counts for every facet, each computed with that facet's own
+     * selection left out so the sidebar can still offer alternatives. The
+     * selection of every facet is unioned once; each value count is then a
+     * single {@link RoaringBitmap#andCardinality} without materialising sets.
+     */
+    public FacetCounts facetCounts(ClothingItemFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = live.clone();
+            if (filter != null && filter.hasPrice()) base = withinPrice(base, filter);
+
+            Map<ClothingFacet, RoaringBitmap> selections = new EnumMap<>(ClothingFacet.class);
+            for (ClothingFacet facet : ClothingFacet.values()) {
+                List<String> selected = facet.selectedIn(filter);
+                if (!selected.isEmpty()) selections.put(facet, union(facet, selected));
+            }
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (ClothingFacet facet : ClothingFacet.values()) {
+                RoaringBitmap others = base.clone();
+                selections.forEach((f, bitmap) -> { if (f != facet) others.and(bitmap); });
+                facets.put(facet.param(), countValues(facet, others));
+            }
+
+            RoaringBitmap all = base;
+            for (RoaringBitmap bitmap : selections.values()) all = RoaringBitmap.and(all, bitmap);
+            return new FacetCounts(all.getCardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code k} highest-scoring live items, best first. Scans the catalog
+     * once keeping a min-heap of size {@code k}, so memory stays O(k);
+     * items scoring zero or less are skipped.
+     */
+    public List<ScoredItem> topK(ToDoubleFunction<ClothingItemDTO> scorer, int k) {
+        PriorityQueue<ScoredItem> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+        lock.readLock().lock();
+        try {
+            live.forEach((int pos) -> {
+                ClothingItemDTO item = rows.get(pos);
+                double score = scorer.applyAsDouble(item);
+                if (score <= 0) return;
+                if (heap.size() < k) {
+                    heap.add(new ScoredItem(item, score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new ScoredItem(item, score));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<ScoredItem> result = new ArrayList<>(heap);
+        result.sort(BY_SCORE.reversed());
+        return result;
+    }
+
+    /** The item with this id, or {@code null} if it is not indexed. */
+    public ClothingItemDTO get(Long id) {
+        lock.readLock().lock();
+        try {
+            Integer pos = positions.get(id);
+            return pos == null ? null : rows.get(pos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Every live item, in id order. */
+    public List<ClothingItemDTO> items() {
+        lock.readLock().lock();
+        try {
+            List<ClothingItemDTO> result = new ArrayList<>(live.getCardinality());
+            live.forEach((int pos) -> result.add(rows.get(pos)));
+            result.sort(Comparator.comparing(ClothingItemDTO::getId));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of live items in the index. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap matching(ClothingItemFilter filter) {
+        RoaringBitmap result = live.clone();
+        for (ClothingFacet facet : ClothingFacet.values()) {
+            List<String> selected = facet.selectedIn(filter);
+            if (selected.isEmpty()) continue;
+            result.and(union(facet, selected));
+            if (result.isEmpty()) return result;
+        }
+        if (filter != null && filter.hasPrice()) {
+            result = withinPrice(result, filter);
+        }
+        return result;
+    }
+
+    // Most frequent values first, zero counts omitted.
+    private Map<String, Integer> countValues(ClothingFacet facet, RoaringBitmap candidates) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> e : bitmaps.get(facet).entrySet()) {
+            int count = RoaringBitmap.andCardinality(candidates, e.getValue());
+            if (count > 0) counts.add(Map.entry(e.getKey(), count));
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                             .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    private RoaringBitmap union(ClothingFacet facet, List<String> values) {
+        Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+        RoaringBitmap union = new RoaringBitmap();
+        for (String value : values) {
+            RoaringBitmap bitmap = byValue.get(value);
+            if (bitmap != null) union.or(bitmap);
+        }
+        return union;
+    }
+
+    private RoaringBitmap withinPrice(RoaringBitmap candidates, ClothingItemFilter filter) {
+        int from = filter.minPrice() == null ? 0 : toCents(filter.minPrice());
+        int to = filter.maxPrice() == null ? PriceRange.OPEN_ENDED : toCents(filter.maxPrice());
+        return RoaringBitmap.and(candidates, prices().overlapping(from, to));
+    }
+
+    // whole dollars from the query string; anything past the int range is as good as open-ended
+    private static int toCents(int dollars) {
+        return (int) Math.max(0, Math.min(dollars * 100L, PriceRange.OPEN_ENDED));
+    }
+
+    // Only called with the read lock held, so the arrays cannot change while
+    // building; concurrent readers may both build, which is harmless.
+    private PriceIndex prices() {
+        PriceIndex prices = priceIndex;
+        if (prices == null) {
+            prices = PriceIndex.build(minPrices, maxPrices, live);
+            priceIndex = prices;
+        }
+        return prices;
+    }
+
+    private void storePrice(int pos, ClothingItemDTO item) {
+        if (pos == minPrices.length) {
+            minPrices = Arrays.copyOf(minPrices, pos * 2);
+            maxPrices = Arrays.copyOf(maxPrices, pos * 2);
+        }
+        Integer min = item.getPriceMinCents();
+        Integer max = item.getPriceMaxCents();
+        if (min == null) {
+            // row loaded behind JPA's back and not backfilled yet
+            PriceRange parsed = PriceRange.parse(item.getEstimatedPricing());
+            min = parsed == null ? null : parsed.minCents();
+            max = parsed == null || parsed.isOpenEnded() ? null : parsed.maxCents();
+        }
+        minPrices[pos] = min == null ? -1 : min;
+        maxPrices[pos] = max == null ? PriceRange.OPEN_ENDED : max;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Which items end up in the same wishlists, for "people who saved this also
+ * saved".
+ *
+ * Every item gets a dense position the first time it is seen. Per position
+ * the index keeps how many wishlists hold the item and an
+ * {@link IntIntHashMap} from the positions of the items saved alongside it
+ * to how many wishlists hold both. Each wishlist is kept as a small array of
+ * positions, so adding or removing one entry only touches the pairs it
+ * forms with the rest of that wishlist, and doing either twice changes
+ * nothing. No id is ever boxed: ids map to positions and slots through
+ * {@link LongIntHashMap}.
+ *
+ * Related items are ranked by cosine similarity of their wishlist sets,
+ * together / sqrt(saves of one * saves of the other), so items that are in
+ * every wishlist do not crowd out everything else.
+ *
+ * Reads and writes are guarded by a read/write lock. A full rebuild loads
+ * disjoint sets of wishlists into separate instances and {@link #merge}s
+ * them.
+ */
+public final class CooccurrenceIndex {
+
+    /** An item saved alongside the query item: in how many wishlists, and how strongly related. */
+    public record Neighbour(long itemId, int together, float score) {}
+
+    private final LongIntHashMap itemPositions = new LongIntHashMap();
+    private long[] itemIds = new long[64];
+    // how many wishlists hold each item
+    private int[] saves = new int[64];
+    // position -> (position -> wishlists holding both); null until the item has a neighbour
+    private IntIntHashMap[] neighbours = new IntIntHashMap[64];
+    private int items;
+
+    private final LongIntHashMap wishlistSlots = new LongIntHashMap();
+    private long[] slotWishlistIds = new long[64];
+    // slot -> {count, position, position, ...}; null when the slot is free
+    private int[][] contents = new int[64][];
+    private int slotsUsed;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private long entries;
+    // non-zero neighbour counters; every pair is counted once from each side
+    private long pairs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Records that the wishlist holds the item; false if it already did. */
+    public boolean add(long wishlistId, long itemId) {
+        lock.writeLock().lock();
+        try {
+            int pos = position(itemId);
+            int slot = wishlistSlots.get(wishlistId, -1);
+            if (slot < 0) {
+                slot = newSlot(wishlistId);
+            }
+            int[] list = contents[slot];
+            if (indexOf(list, pos) > 0) return false;
+
+            for (int i = 1; i <= list[0]; i++) {
+                link(pos, list[i], 1);
+                link(list[i], pos, 1);
+            }
+            if (list[0] + 1 == list.length) {
+                list = contents[slot] = Arrays.copyOf(list, list.length * 2);
+            }
+            list[++list[0]] = pos;
+            saves[pos]++;
+            entries++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Records that the wishlist no longer holds the item; false if it did not. */
+    public boolean remove(long wishlistId, long itemId) {
+        lock.writeLock().lock();
+        try {
+            int pos = itemPositions.get(itemId, -1);
+            int slot = wishlistSlots.get(wishlistId, -1);
+            if (pos < 0 || slot < 0) return false;
+            int[] list = contents[slot];
+            int at = indexOf(list, pos);
+            if (at < 0) return false;
+
+            list[at] = list[list[0]--];
+            for (int i = 1; i <= list[0]; i++) {
+                link(pos, list[i], -1);
+                link(list[i], pos, -1);
+            }
+            saves[pos]--;
+            entries--;
+            if (list[0] == 0) {
+                freeSlot(wishlistId, slot);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code n} items most often saved together with item {@code itemId},
+     * best first, ties going to the item indexed first. Empty when no
+     * wishlist holds it alongside anything else.
+     */
+    public List<Neighbour> related(long itemId, int n) {
+        lock.readLock().lock();
+        try {
+            int pos = itemPositions.get(itemId, -1);
+            if (pos < 0 || n <= 0 || neighbours[pos] == null) return List.of();
+            IntIntHashMap counts = neighbours[pos];
+            double own = saves[pos];
+            TopK best = new TopK(n);
+            counts.forEach((other, together) ->
+                best.offer(other, (float) (together / Math.sqrt(own * saves[other]))));
+
+            float[] scores = new float[best.size()];
+            int[] positions = best.drain(scores);
+            List<Neighbour> result = new ArrayList<>(positions.length);
+            for (int i = 0; i < positions.length; i++) {
+                result.add(new Neighbour(itemIds[positions[i]], counts.get(positions[i]), scores[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds everything in {@code other}, which must not share a wishlist with
+     * this index. Costs one step per item, pair and entry of {@code other}
+     * rather than replaying its wishlists. {@code other} is left unchanged.
+     */
+    public CooccurrenceIndex merge(CooccurrenceIndex other) {
+        lock.writeLock().lock();
+        other.lock.readLock().lock();
+        try {
+            // checked up front so a failed merge leaves this index as it was
+            for (int s = 0; s < other.slotsUsed; s++) {
+                long wishlistId = other.slotWishlistIds[s];
+                if (other.contents[s] != null && wishlistSlots.get(wishlistId, -1) >= 0) {
+                    throw new IllegalArgumentException("wishlist " + wishlistId + " is in both indexes");
+                }
+            }
+            int[] remap = new int[other.items];
+            for (int p = 0; p < other.items; p++) {
+                remap[p] = position(other.itemIds[p]);
+                saves[remap[p]] += other.saves[p];
+            }
+            for (int p = 0; p < other.items; p++) {
+                if (other.neighbours[p] == null) continue;
+                int from = remap[p];
+                other.neighbours[p].forEach((q, together) -> link(from, remap[q], together));
+            }
+            for (int s = 0; s < other.slotsUsed; s++) {
+                int[] list = other.contents[s];
+                if (list == null) continue;
+                long wishlistId = other.slotWishlistIds[s];
+                int[] copy = Arrays.copyOf(list, list[0] + 2);
+                for (int i = 1; i <= copy[0]; i++) {
+                    copy[i] = remap[copy[i]];
+                }
+                contents[newSlot(wishlistId)] = copy;
+            }
+            entries += other.entries;
+            return this;
+        } finally {
+            other.lock.readLock().unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Number of wishlists holding at least one item. */
+    public int wishlists() {
+        lock.readLock().lock();
+        try {
+            return wishlistSlots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of (wishlist, item) entries. */
+    public long entries() {
+        lock.readLock().lock();
+        try {
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of distinct pairs of items saved together at least once. */
+    public long pairs() {
+        lock.readLock().lock();
+        try {
+            return pairs / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the index, counting array headers and
+     * assuming compressed references. Walks every item and wishlist, so it
+     * is meant for metrics, not for hot paths.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = itemPositions.memoryBytes() + wishlistSlots.memoryBytes()
+                + array(itemIds.length, 8) + array(saves.length, 4) + array(neighbours.length, 4)
+                + array(slotWishlistIds.length, 8) + array(contents.length, 4) + array(freeSlots.length, 4);
+            for (int p = 0; p < items; p++) {
+                if (neighbours[p] != null) bytes += neighbours[p].memoryBytes();
+            }
+            for (int s = 0; s < slotsUsed; s++) {
+                if (contents[s] != null) bytes += array(contents[s].length, 4);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long array(int length, int elementBytes) {
+        return 16L + (long) length * elementBytes;
+    }
+
+    // the position of the item, assigning the next one if it is new
+    private int position(long itemId) {
+        int pos = itemPositions.get(itemId, -1);
+        if (pos >= 0) return pos;
+        if (items == itemIds.length) {
+            int capacity = items * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            saves = Arrays.copyOf(saves, capacity);
+            neighbours = Arrays.copyOf(neighbours, capacity);
+        }
+        pos = items++;
+        itemIds[pos] = itemId;
+        itemPositions.put(itemId, pos);
+        return pos;
+    }
+
+    private void link(int from, int to, int delta) {
+        IntIntHashMap counts = neighbours[from];
+        if (counts == null) {
+            counts = neighbours[from] = new IntIntHashMap();
+        }
+        int after = counts.addTo(to, delta);
+        int before = after - delta;
+        if (before == 0 && after != 0) pairs++;
+        else if (before != 0 && after == 0) pairs--;
+        if (counts.size() == 0) neighbours[from] = null;
+    }
+
+    private int newSlot(long wishlistId) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotsUsed == contents.length) {
+                contents = Arrays.copyOf(contents, slotsUsed * 2);
+                slotWishlistIds = Arrays.copyOf(slotWishlistIds, slotsUsed * 2);
+            }
+            slot = slotsUsed++;
+        }
+        contents[slot] = new int[4];
+        slotWishlistIds[slot] = wishlistId;
+        wishlistSlots.put(wishlistId, slot);
+        return slot;
+    }
+
+    private void freeSlot(long wishlistId, int slot) {
+        wishlistSlots.remove(wishlistId, -1);
+        contents[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    // index of pos in a {count, position, ...} list, or -1
+    private static int indexOf(int[] list, int pos) {
+        for (int i = 1; i <= list[0]; i++) {
+            if (list[i] == pos) return i;
+        }
+        return -1;
+    }
+}
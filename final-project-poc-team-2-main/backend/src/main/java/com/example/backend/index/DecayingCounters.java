@@ -0,0 +1,107 @@
+package com.example.backend.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Exponentially decaying counters by key, for "what is popular right now".
+ *
+ * An event's weight halves every half-life. Rather than decaying every
+ * counter as time passes, each event is added already scaled up by how far
+ * it lies after a fixed landmark time, exp(lambda * (t - landmark)), and
+ * reading scales the sum back down to the current time. Adding is therefore
+ * a hash lookup and a {@link DoubleAdder#add}: no lock, and concurrent adds
+ * to one key land on separate cells instead of contending.
+ *
+ * The scale factor grows with the landmark's age, so {@link #rebase} moves
+ * the landmark up once it is {@value #REBASE_AFTER_HALF_LIVES} half-lives
+ * old, dropping keys that have decayed to nothing on the way. An add that
+ * races with a rebase may be lost.
+ */
+public final class DecayingCounters {
+
+    /** A key and its score decayed to the time asked for. */
+    public record Scored(long key, double score) {}
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long key, double score);
+    }
+
+    // 2^32 at most, far from the end of a double's range or precision
+    static final int REBASE_AFTER_HALF_LIVES = 32;
+
+    private record Epoch(long landmark, ConcurrentHashMap<Long, DoubleAdder> counters) {}
+
+    private final double lambda;
+    private final long rebaseAfterMillis;
+    private volatile Epoch epoch;
+
+    public DecayingCounters(Duration halfLife, long nowMillis) {
+        this.lambda = Math.log(2) / halfLife.toMillis();
+        this.rebaseAfterMillis = halfLife.toMillis() * REBASE_AFTER_HALF_LIVES;
+        this.epoch = new Epoch(nowMillis, new ConcurrentHashMap<>());
+    }
+
+    /** Counts {@code amount} for {@code key} as of {@code atMillis}. */
+    public void add(long key, double amount, long atMillis) {
+        Epoch e = epoch;
+        DoubleAdder counter = e.counters.get(key);
+        if (counter == null) {
+            counter = e.counters.computeIfAbsent(key, k -> new DoubleAdder());
+        }
+        counter.add(amount * Math.exp(lambda * (atMillis - e.landmark)));
+    }
+
+    /** Calls {@code visitor} with every key's score as of {@code nowMillis}, in no particular order. */
+    public void forEach(long nowMillis, Visitor visitor) {
+        Epoch e = epoch;
+        double scale = Math.exp(-lambda * (nowMillis - e.landmark));
+        e.counters.forEach((key, counter) -> visitor.visit(key, counter.sum() * scale));
+    }
+
+    /** The {@code k} highest scores as of {@code nowMillis}, highest first, ties going to the lower key. */
+    public List<Scored> top(int k, long nowMillis) {
+        Epoch e = epoch;
+        long[] keys = e.counters.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        double scale = Math.exp(-lambda * (nowMillis - e.landmark));
+        TopK best = new TopK(Math.max(1, k));
+        for (int i = 0; i < keys.length; i++) {
+            DoubleAdder counter = e.counters.get(keys[i]);
+            if (counter != null) best.offer(i, (float) (counter.sum() * scale));
+        }
+        float[] scores = new float[best.size()];
+        int[] positions = best.drain(scores);
+        List<Scored> result = new ArrayList<>(positions.length);
+        for (int i = 0; i < positions.length && i < k; i++) {
+            result.add(new Scored(keys[positions[i]], scores[i]));
+        }
+        return result;
+    }
+
+    public int size() {
+        return epoch.counters.size();
+    }
+
+    /**
+     * Moves the landmark to {@code nowMillis} if it is due, keeping only keys
+     * scoring at least {@code minScore}. Returns whether it moved.
+     */
+    public boolean rebase(long nowMillis, double minScore) {
+        Epoch old = epoch;
+        if (nowMillis - old.landmark < rebaseAfterMillis) return false;
+        Epoch fresh = new Epoch(nowMillis, new ConcurrentHashMap<>());
+        epoch = fresh;
+        double scale = Math.exp(-lambda * (nowMillis - old.landmark));
+        old.counters.forEach((key, counter) -> {
+            double score = counter.sum() * scale;
+            if (score >= minScore) {
+                fresh.counters.computeIfAbsent(key, k -> new DoubleAdder()).add(score);
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.index;
+
+import java.util.Arrays;
+
+import com.example.backend.util.PerceptualHash;
+
+/**
+ * Multi-index hash over 64-bit perceptual hashes, for "everything within
+ * Hamming distance r of this hash".
+ *
+ * Each hash is cut into four 16-bit chunks and filed in one table per chunk
+ * position, under that chunk's value. If two hashes differ in at most r
+ * bits, then by pigeonhole some chunk differs in at most r / 4 of them. A
+ * search therefore only reads the buckets whose value is within r / 4 bits of
+ * the query's chunk, and checks the candidates it finds against the full
+ * hash. Each bucket is a growable int array of positions with its length in
+ * slot 0; hashes and values are stored once, in parallel arrays by position.
+ *
+ * A BK-tree was tried first. Perceptual hashes of unrelated pictures are
+ * spread almost evenly over 64 bits, so nearly every branch was within
+ * radius and a search at r = 10 over 100k items was slower than scanning
+ * them all. ImageHashBenchmark compares this index with such a scan.
+ *
+ * Writes are not synchronised: build the index, then share it read-only.
+ */
+public class HammingIndex {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long value, long hash, int distance);
+    }
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = PerceptualHash.BITS / CHUNKS;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private long[] hashes = new long[16];
+    private long[] values = new long[16];
+    private int size;
+    // [chunk][chunk value] -> {count, position, position, ...}; buckets are allocated on first use
+    private final int[][][] buckets = new int[CHUNKS][1 << CHUNK_BITS][];
+
+    public void add(long hash, long value) {
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int pos = size++;
+        hashes[pos] = hash;
+        values[pos] = value;
+        for (int c = 0; c < CHUNKS; c++) {
+            int key = chunk(hash, c);
+            int[] bucket = buckets[c][key];
+            if (bucket == null) {
+                bucket = new int[4];
+            } else if (bucket[0] + 1 == bucket.length) {
+                bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            }
+            bucket[++bucket[0]] = pos;
+            buckets[c][key] = bucket;
+        }
+    }
+
+    /** Calls {@code visitor} once for every value whose hash is within {@code radius} bits of {@code hash}, in no particular order. */
+    public void search(long hash, int radius, Visitor visitor) {
+        if (size == 0 || radius < 0) return;
+        int chunkRadius = Math.min(radius / CHUNKS, CHUNK_BITS);
+        for (int c = 0; c < CHUNKS; c++) {
+            probe(hash, radius, chunkRadius, c, chunk(hash, c), 0, chunkRadius, visitor);
+        }
+    }
+
+    // visits the bucket of key, then of every key that flips up to `flips` more bits at or above `from`
+    private void probe(long hash, int radius, int chunkRadius, int c, int key, int from, int flips, Visitor visitor) {
+        scan(hash, radius, chunkRadius, c, buckets[c][key], visitor);
+        if (flips == 0) return;
+        for (int bit = from; bit < CHUNK_BITS; bit++) {
+            probe(hash, radius, chunkRadius, c, key ^ (1 << bit), bit + 1, flips - 1, visitor);
+        }
+    }
+
+    private void scan(long hash, int radius, int chunkRadius, int c, int[] bucket, Visitor visitor) {
+        if (bucket == null) return;
+        for (int i = 1; i <= bucket[0]; i++) {
+            int pos = bucket[i];
+            long other = hashes[pos];
+            int d = PerceptualHash.distance(hash, other);
+            if (d <= radius && firstClose(hash, other, chunkRadius) == c) {
+                visitor.visit(values[pos], other, d);
+            }
+        }
+    }
+
+    // a match is reachable through every chunk within chunkRadius; only the first one reports it
+    private static int firstClose(long a, long b, int chunkRadius) {
+        long diff = a ^ b;
+        for (int c = 0; c < CHUNKS; c++) {
+            if (Integer.bitCount(chunk(diff, c)) <= chunkRadius) return c;
+        }
+        return -1;
+    }
+
+    private static int chunk(long hash, int c) {
+        return (int) (hash >>> (c * CHUNK_BITS)) & CHUNK_MASK;
+    }
+
+    /** Number of values added. */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.index;
+
+/**
+ * Counters keyed by non-negative ints, without boxing: keys and counts sit
+ * in two parallel arrays probed linearly from the key's hash. Keys are
+ * stored plus one so that 0 can mark a free slot, and a counter that drops
+ * to zero is removed. Starts tiny, since most items co-occur with only a
+ * few others. Not synchronised.
+ */
+final class IntIntHashMap {
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int key, int value);
+    }
+
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys = new int[MIN_CAPACITY];
+    private int[] values = new int[MIN_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int key) {
+        int stored = key + 1;
+        int mask = keys.length - 1;
+        for (int i = slot(stored, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == stored) return values[i];
+        }
+        return 0;
+    }
+
+    /** Adds {@code delta} to the counter for {@code key}, removing it when it reaches 0; returns the new count. */
+    int addTo(int key, int delta) {
+        int stored = key + 1;
+        int mask = keys.length - 1;
+        int i = slot(stored, mask);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == stored) {
+                int value = values[i] + delta;
+                if (value == 0) {
+                    removeAt(i);
+                } else {
+                    values[i] = value;
+                }
+                return value;
+            }
+        }
+        if (delta == 0) return 0;
+        keys[i] = stored;
+        values[i] = delta;
+        if (++size > keys.length * 3 / 4) resize(keys.length * 2);
+        return delta;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) visitor.visit(keys[i] - 1, values[i]);
+        }
+    }
+
+    /** Bytes held by this map and its arrays. */
+    long memoryBytes() {
+        return 24L + 2 * (16L + keys.length * 4L);
+    }
+
+    // shifts later entries of the same run back so no probe sequence is broken
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        size--;
+        for (int gap = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            if (keys[j] == 0) {
+                keys[gap] = 0;
+                return;
+            }
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = slot(oldKeys[j], mask);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
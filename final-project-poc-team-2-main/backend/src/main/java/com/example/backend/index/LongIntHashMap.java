@@ -0,0 +1,103 @@
+package com.example.backend.index;
+
+/**
+ * Map from positive long keys to int values, without boxing: keys and
+ * values sit in two parallel arrays probed linearly from the key's hash.
+ * Key 0 marks a free slot, so it cannot be stored. Not synchronised.
+ */
+final class LongIntHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongIntHashMap(int expected) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expected * 4 / 3)) << 1);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** The value stored under {@code key}, or {@code missing} if there is none. */
+    int get(long key, int missing) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return missing;
+    }
+
+    void put(long key, int value) {
+        if (key == 0) throw new IllegalArgumentException("key 0 is reserved");
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length * 3 / 4) resize(keys.length * 2);
+    }
+
+    /** Removes {@code key}; returns its value, or {@code missing} if it was not there. */
+    int remove(long key, int missing) {
+        if (key == 0) return missing;
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; keys[i] != key; i = (i + 1) & mask) {
+            if (keys[i] == 0) return missing;
+        }
+        int value = values[i];
+        size--;
+        // shift later entries of the same run back so no probe sequence is broken
+        for (int gap = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            if (keys[j] == 0) {
+                keys[gap] = 0;
+                return value;
+            }
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+    }
+
+    /** Bytes held by the two arrays. */
+    long memoryBytes() {
+        return 16L + keys.length * 8L + 16L + values.length * 4L;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == 0) continue;
+            int i = slot(oldKeys[j], mask);
+            while (keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
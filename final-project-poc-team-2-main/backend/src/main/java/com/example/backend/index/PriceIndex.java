@@ -0,0 +1,194 @@
+package com.example.backend.index;
+
+import java.util.Arrays;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Sorted primitive index over item price ranges.
+ *
+ * Each priced item is stored twice, once ordered by minimum price and once by
+ * maximum price, as {@code (price << 32 | position)} longs so sorting never
+ * boxes. Whether two ranges overlap is then two binary searches: items whose
+ * minimum is at most the upper bound form a prefix of one order, items whose
+ * maximum is at least the lower bound form a suffix of the other.
+ *
+ * Turning such a prefix or suffix into a bitmap of positions would cost a
+ * pass over it per query, so each order is also cut into at most
+ * {@link #MAX_CUTS} stretches, at price changes, with the positions of every
+ * prefix (suffix) up to each cut prebuilt. A query clones the bitmap at the
+ * nearest cut and adds the entries between it and the boundary. Catalog
+ * prices take few distinct values, so boundaries usually fall on a cut and
+ * nothing is added. The same cuts let {@link #cheapest} skip stretches that
+ * hold no candidate.
+ *
+ * Instances are immutable; {@link ClothingFacetIndex} rebuilds one lazily after
+ * the catalog changes.
+ */
+public final class PriceIndex {
+
+    static final int MAX_CUTS = 64;
+
+    private final long[] byMin;
+    private final long[] byMax;
+    // ascending indexes into byMin from 0 to its length; belowMinCut[k] holds the positions in byMin[0, minCuts[k])
+    private final int[] minCuts;
+    private final RoaringBitmap[] belowMinCut;
+    // ascending indexes into byMax from 0 to its length; fromMaxCut[k] holds the positions in byMax[maxCuts[k], n)
+    private final int[] maxCuts;
+    private final RoaringBitmap[] fromMaxCut;
+
+    private PriceIndex(long[] byMin, long[] byMax) {
+        this.byMin = byMin;
+        this.byMax = byMax;
+        this.minCuts = cuts(byMin);
+        this.belowMinCut = prefixes(byMin, minCuts);
+        this.maxCuts = cuts(byMax);
+        this.fromMaxCut = suffixes(byMax, maxCuts);
+    }
+
+    /**
+     * @param mins minimum price per position in cents, negative when unknown
+     * @param maxs maximum price per position in cents, {@link Integer#MAX_VALUE} when open-ended
+     */
+    public static PriceIndex build(int[] mins, int[] maxs, RoaringBitmap live) {
+        long[] byMin = new long[live.getCardinality()];
+        long[] byMax = new long[byMin.length];
+        int n = 0;
+        IntIterator it = live.getIntIterator();
+        while (it.hasNext()) {
+            int pos = it.next();
+            if (mins[pos] < 0) continue;
+            byMin[n] = pack(mins[pos], pos);
+            byMax[n] = pack(maxs[pos], pos);
+            n++;
+        }
+        byMin = Arrays.copyOf(byMin, n);
+        byMax = Arrays.copyOf(byMax, n);
+        Arrays.sort(byMin);
+        Arrays.sort(byMax);
+        return new PriceIndex(byMin, byMax);
+    }
+
+    /** Positions whose price range overlaps {@code [fromCents, toCents]}. */
+    public RoaringBitmap overlapping(int fromCents, int toCents) {
+        int minEnd = firstAbove(byMin, toCents);         // byMin[0, minEnd) has min <= to
+        int maxStart = firstAtLeast(byMax, fromCents);   // byMax[maxStart, n) has max >= from
+
+        RoaringBitmap lowEnough = below(minEnd);
+        if (maxStart > 0) lowEnough.and(from(maxStart));
+        return lowEnough;
+    }
+
+    /**
+     * Up to {@code limit} positions from {@code candidates}, cheapest minimum
+     * price first. Stretches between cuts that hold no candidate, told by one
+     * {@link RoaringBitmap#andCardinality} each, are skipped without a walk.
+     */
+    public int[] cheapest(RoaringBitmap candidates, int limit) {
+        int[] result = new int[Math.min(limit, candidates.getCardinality())];
+        int n = 0;
+        int before = 0;   // candidates in byMin[0, minCuts[k])
+        for (int k = 0; k + 1 < minCuts.length && n < result.length; k++) {
+            int upTo = RoaringBitmap.andCardinality(candidates, belowMinCut[k + 1]);
+            if (upTo > before) {
+                for (int i = minCuts[k]; i < minCuts[k + 1] && n < result.length; i++) {
+                    int pos = position(byMin[i]);
+                    if (candidates.contains(pos)) result[n++] = pos;
+                }
+            }
+            before = upTo;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    public int size() {
+        return byMin.length;
+    }
+
+    /** Positions in {@code byMin[0, end)}. */
+    private RoaringBitmap below(int end) {
+        int k = Arrays.binarySearch(minCuts, end);
+        if (k < 0) k = -k - 2;   // the last cut before end
+        RoaringBitmap result = belowMinCut[k].clone();
+        for (int i = minCuts[k]; i < end; i++) {
+            result.add(position(byMin[i]));
+        }
+        return result;
+    }
+
+    /** Positions in {@code byMax[start, n)}. */
+    private RoaringBitmap from(int start) {
+        int k = Arrays.binarySearch(maxCuts, start);
+        if (k < 0) k = -k - 1;   // the first cut after start
+        RoaringBitmap result = fromMaxCut[k].clone();
+        for (int i = start; i < maxCuts[k]; i++) {
+            result.add(position(byMax[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Where to cut a sorted order: at 0, at its length, and in between at
+     * price changes at least length / MAX_CUTS entries apart.
+     */
+    private static int[] cuts(long[] sorted) {
+        int stride = Math.max(1, sorted.length / MAX_CUTS);
+        int[] cuts = new int[sorted.length / stride + 2];
+        int n = 1;   // cuts[0] = 0
+        for (int i = 1; i < sorted.length; i++) {
+            if (i - cuts[n - 1] >= stride && price(sorted[i]) != price(sorted[i - 1])) {
+                cuts[n++] = i;
+            }
+        }
+        if (sorted.length > 0) cuts[n++] = sorted.length;
+        return Arrays.copyOf(cuts, n);
+    }
+
+    private static RoaringBitmap[] prefixes(long[] sorted, int[] cuts) {
+        RoaringBitmap[] result = new RoaringBitmap[cuts.length];
+        RoaringBitmap running = new RoaringBitmap();
+        int i = 0;
+        for (int k = 0; k < cuts.length; k++) {
+            for (; i < cuts[k]; i++) running.add(position(sorted[i]));
+            result[k] = running.clone();
+        }
+        return result;
+    }
+
+    private static RoaringBitmap[] suffixes(long[] sorted, int[] cuts) {
+        RoaringBitmap[] result = new RoaringBitmap[cuts.length];
+        RoaringBitmap running = new RoaringBitmap();
+        int i = sorted.length;
+        for (int k = cuts.length - 1; k >= 0; k--) {
+            for (; i > cuts[k]; i--) running.add(position(sorted[i - 1]));
+            result[k] = running.clone();
+        }
+        return result;
+    }
+
+    /** Index of the first entry whose price is greater than {@code cents}. */
+    private static int firstAbove(long[] sorted, int cents) {
+        if (cents == Integer.MAX_VALUE) return sorted.length;
+        return firstAtLeast(sorted, cents + 1);
+    }
+
+    /** Index of the first entry whose price is at least {@code cents}. */
+    private static int firstAtLeast(long[] sorted, int cents) {
+        int i = Arrays.binarySearch(sorted, pack(Math.max(cents, 0), 0));
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static long pack(int cents, int pos) {
+        return ((long) cents << 32) | (pos & 0xFFFFFFFFL);
+    }
+
+    private static int position(long packed) {
+        return (int) packed;
+    }
+
+    private static int price(long packed) {
+        return (int) (packed >>> 32);
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.util.ColorNames;
+
+/**
+ * In-memory inverted index for free-text catalog search.
+ *
+ * Name, description, colour, pattern, material, type and events are tokenised
+ * into one postings list per term, with a field weight folded into the term
+ * frequency (a name hit counts more than a description hit). Queries are
+ * ranked with BM25; a query word missing from the vocabulary is matched
+ * against every term one edit away, at a discount. Postings are primitive
+ * arrays appended in document order and scores accumulate in a flat array,
+ * indexed by document, that is borrowed from a small pool and handed back
+ * zeroed, so a query allocates little beyond its result. The pool is per
+ * index rather than per thread because requests may run on virtual threads,
+ * which would each fill a thread-local once and drop it.
+ *
+ * Removal marks the document dead and lowers the document frequencies; its
+ * postings stay behind until the next full rebuild.
+ */
+public class SearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float FUZZY_WEIGHT = 0.5f;
+    // shorter words produce too many unrelated one-edit neighbours
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float STYLE_WEIGHT = 1.5f;
+    private static final float EVENTS_WEIGHT = 1f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final Set<String> STOPWORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+        "its", "of", "on", "or", "that", "the", "this", "to", "with", "your", "you");
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] tfs = new float[4];
+        int size;
+        int docFreq;
+
+        void add(int doc, float tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+            docFreq++;
+        }
+    }
+
+    /** One query's score accumulator; only the touched entries of scores are non-zero. */
+    private static final class Scratch {
+        final float[] scores;
+        final BitSet touched;
+
+        Scratch(int capacity) {
+            scores = new float[capacity];
+            touched = new BitSet(capacity);
+        }
+
+        // a bulk fill up to the last touched doc is cheaper than visiting each one
+        void clear() {
+            Arrays.fill(scores, 0, touched.length(), 0f);
+            touched.clear();
+        }
+    }
+
+    private final List<ClothingItemDTO> docs = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private float[] docLengths = new float[64];
+    private final BitSet dead = new BitSet();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TermTrie vocabulary = new TermTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // as many as can be searching at once on the CPU; extra concurrent queries allocate their own
+    private final BlockingQueue<Scratch> scratchPool =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private double totalLength;
+    private int liveDocs;
+
+    public static SearchIndex build(Collection<? extends ClothingItemDTO> items) {
+        SearchIndex index = new SearchIndex();
+        for (ClothingItemDTO item : items) {
+            index.insert(item);
+        }
+        return index;
+    }
+
+    /* ---------- WRITE ---------- */
+
+    public void upsert(ClothingItemDTO item) {
+        lock.writeLock().lock();
+        try {
+            delete(item.getId());
+            insert(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(ClothingItemDTO item) {
+        int doc = docs.size();
+        docs.add(item);
+        positions.put(item.getId(), doc);
+
+        Map<String, Float> terms = termFrequencies(item);
+        float length = 0;
+        for (Map.Entry<String, Float> e : terms.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), t -> new Postings()).add(doc, e.getValue());
+            vocabulary.increment(e.getKey());
+            length += e.getValue();
+        }
+        if (doc == docLengths.length) docLengths = Arrays.copyOf(docLengths, doc * 2);
+        docLengths[doc] = length;
+        totalLength += length;
+        liveDocs++;
+    }
+
+    private void delete(Long id) {
+        Integer doc = positions.remove(id);
+        if (doc == null) return;
+
+        for (String term : termFrequencies(docs.get(doc)).keySet()) {
+            postings.get(term).docFreq--;
+            vocabulary.decrement(term);
+        }
+        dead.set(doc);
+        docs.set(doc, null);
+        totalLength -= docLengths[doc];
+        liveDocs--;
+    }
+
+    /* ---------- READ ---------- */
+
+    /** The best {@code limit} items for a free-text query, highest BM25 score first. */
+    public List<ScoredItem> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) return List.of();
+            float avgLength = (float) (totalLength / liveDocs);
+            Scratch scratch = borrowScratch();
+            try {
+                for (String word : words) {
+                    if (vocabulary.contains(word)) {
+                        accumulate(word, 1f, avgLength, scratch.scores, scratch.touched);
+                    } else if (word.length() >= MIN_FUZZY_LENGTH) {
+                        for (TermTrie.Match m : vocabulary.withinEdits(word, 1)) {
+                            accumulate(m.term(), FUZZY_WEIGHT, avgLength, scratch.scores, scratch.touched);
+                        }
+                    }
+                }
+                return top(scratch.scores, scratch.touched, limit);
+            } finally {
+                returnScratch(scratch);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Completions for the word being typed, most widespread first. */
+    public List<String> suggest(String prefix, int limit) {
+        String p = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (p.isEmpty()) return List.of();
+        lock.readLock().lock();
+        try {
+            return vocabulary.complete(p, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called under the read lock, so docs.size() cannot change while the scratch is out.
+    private Scratch borrowScratch() {
+        Scratch scratch = scratchPool.poll();
+        return scratch != null && scratch.scores.length >= docs.size() ? scratch : new Scratch(docs.size());
+    }
+
+    // one outgrown by later inserts is dropped at its next borrow
+    private void returnScratch(Scratch scratch) {
+        scratch.clear();
+        scratchPool.offer(scratch);
+    }
+
+    private void accumulate(String term, float weight, float avgLength, float[] scores, BitSet touched) {
+        Postings p = postings.get(term);
+        if (p == null || p.docFreq <= 0) return;
+
+        float idf = (float) Math.log(1 + (liveDocs - p.docFreq + 0.5) / (p.docFreq + 0.5));
+        for (int i = 0; i < p.size; i++) {
+            int doc = p.docs[i];
+            if (dead.get(doc)) continue;
+            float tf = p.tfs[i];
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            scores[doc] += weight * idf * tf * (K1 + 1) / (tf + norm);
+            touched.set(doc);
+        }
+    }
+
+    // Primitive min-heap of doc ids keyed by score: the root is the weakest of the
+    // current best, so each touched doc costs one comparison unless it gets in.
+    private List<ScoredItem> top(float[] scores, BitSet touched, int limit) {
+        int[] heap = new int[limit];
+        int size = 0;
+        for (int doc = touched.nextSetBit(0); doc >= 0; doc = touched.nextSetBit(doc + 1)) {
+            if (size < limit) {
+                heap[size] = doc;
+                siftUp(heap, size++, scores);
+            } else if (better(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, size, scores);
+            }
+        }
+        List<ScoredItem> result = new ArrayList<>(size);
+        while (size > 0) {
+            int doc = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+            result.add(new ScoredItem(docs.get(doc), scores[doc]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // higher score wins; on a tie the earlier document does
+    private static boolean better(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int i, float[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], scores)) break;
+            int t = heap[parent]; heap[parent] = heap[i]; heap[i] = t;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1, right = left + 1, weakest = i;
+            if (left < size && better(heap[weakest], heap[left], scores)) weakest = left;
+            if (right < size && better(heap[weakest], heap[right], scores)) weakest = right;
+            if (weakest == i) return;
+            int t = heap[weakest]; heap[weakest] = heap[i]; heap[i] = t;
+            i = weakest;
+        }
+    }
+
+    /* ---------- TOKENISING ---------- */
+
+    private static Map<String, Float> termFrequencies(ClothingItemDTO item) {
+        Map<String, Float> tf = new HashMap<>();
+        addField(tf, item.getName(), NAME_WEIGHT);
+        addField(tf, item.getTypeOfClothing(), TYPE_WEIGHT);
+        addField(tf, ColorNames.normalize(item.getColor()), STYLE_WEIGHT);
+        addField(tf, item.getPattern(), STYLE_WEIGHT);
+        addField(tf, item.getMaterial(), STYLE_WEIGHT);
+        addField(tf, item.getEvents(), EVENTS_WEIGHT);
+        addField(tf, item.getDescription(), DESCRIPTION_WEIGHT);
+        return tf;
+    }
+
+    private static void addField(Map<String, Float> tf, String text, float weight) {
+        for (String token : tokenize(text)) {
+            tf.merge(token, weight, Float::sum);
+        }
+    }
+
+    /** Lower-cased alphanumeric words with stopwords dropped and a trailing plural "s" removed. */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (raw.length() < 2 || STOPWORDS.contains(raw)) continue;
+            tokens.add(stem(raw));
+        }
+        return tokens;
+    }
+
+    private static String stem(String word) {
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Character trie over the search vocabulary. Each terminal node remembers how
+ * many documents contain the term, which ranks prefix completions and lets
+ * a term disappear once its last document is removed.
+ *
+ * Children are kept in small sorted parallel arrays rather than maps, which
+ * is both more compact and faster to walk for the short fan-outs of words.
+ * Not thread-safe; {@link SearchIndex} guards it.
+ */
+final class TermTrie {
+
+    /** A vocabulary term found for a (possibly misspelled) query word. */
+    record Match(String term, int distance) {}
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String term;          // non-null when a term ends here
+        int docFreq;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            int at = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, at);
+            System.arraycopy(children, 0, n, 0, at);
+            k[at] = c;
+            n[at] = new Node();
+            System.arraycopy(keys, at, k, at + 1, keys.length - at);
+            System.arraycopy(children, at, n, at + 1, children.length - at);
+            keys = k;
+            children = n;
+            return n[at];
+        }
+    }
+
+    private final Node root = new Node();
+
+    /** Records one more document containing {@code term}. */
+    void increment(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+        }
+        node.term = term;
+        node.docFreq++;
+    }
+
+    /** Records one document fewer; the term stops matching once none remain. */
+    void decrement(String term) {
+        Node node = find(term);
+        if (node != null && node.docFreq > 0) node.docFreq--;
+    }
+
+    boolean contains(String term) {
+        Node node = find(term);
+        return node != null && node.docFreq > 0;
+    }
+
+    /** Up to {@code limit} live terms starting with {@code prefix}, most common first. */
+    List<String> complete(String prefix, int limit) {
+        Node start = find(prefix);
+        if (start == null || limit <= 0) return List.of();
+
+        Comparator<Node> byFreq = Comparator.<Node>comparingInt(n -> n.docFreq)
+                                            .thenComparing(n -> n.term, Comparator.reverseOrder());
+        PriorityQueue<Node> best = new PriorityQueue<>(limit + 1, byFreq);
+        collect(start, best, limit, byFreq);
+
+        List<Node> nodes = new ArrayList<>(best);
+        nodes.sort(byFreq.reversed());
+        return nodes.stream().map(n -> n.term).toList();
+    }
+
+    /**
+     * Live terms within {@code maxEdits} insertions, deletions, substitutions or
+     * swaps of adjacent letters of {@code word} ("jackte" is one edit from
+     * "jacket"). Walks the trie carrying the last two rows of the edit-distance
+     * matrix per node and abandons a branch as soon as every cell in its row
+     * exceeds the limit, so only a thin slice of the vocabulary is visited.
+     */
+    List<Match> withinEdits(String word, int maxEdits) {
+        List<Match> matches = new ArrayList<>();
+        int[] firstRow = new int[word.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) firstRow[i] = i;
+        for (int i = 0; i < root.keys.length; i++) {
+            walk(root.children[i], root.keys[i], '\0', word, null, firstRow, maxEdits, matches);
+        }
+        return matches;
+    }
+
+    private static void walk(Node node, char c, char previousChar, String word,
+                             int[] beforePrevious, int[] previous, int maxEdits, List<Match> matches) {
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = word.charAt(i - 1) == c ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+            if (beforePrevious != null && i > 1
+                    && word.charAt(i - 1) == previousChar && word.charAt(i - 2) == c) {
+                row[i] = Math.min(row[i], beforePrevious[i - 2] + 1);
+            }
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        if (node.term != null && node.docFreq > 0 && row[row.length - 1] <= maxEdits) {
+            matches.add(new Match(node.term, row[row.length - 1]));
+        }
+        if (rowMin > maxEdits) return;
+        for (int i = 0; i < node.keys.length; i++) {
+            walk(node.children[i], node.keys[i], c, word, previous, row, maxEdits, matches);
+        }
+    }
+
+    private static void collect(Node node, PriorityQueue<Node> best, int limit, Comparator<Node> byFreq) {
+        if (node.term != null && node.docFreq > 0) {
+            if (best.size() < limit) {
+                best.add(node);
+            } else if (byFreq.compare(node, best.peek()) > 0) {
+                best.poll();
+                best.add(node);
+            }
+        }
+        for (Node child : node.children) {
+            collect(child, best, limit, byFreq);
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.index;
+
+/**
+ * The k best (position, score) pairs offered so far, as a min-heap in two
+ * parallel arrays so offering never allocates. Lower positions win ties.
+ */
+final class TopK {
+
+    private final int k;
+    private final int[] positions;
+    private final float[] scores;
+    private int n;
+
+    TopK(int k) {
+        this.k = k;
+        positions = new int[k];
+        scores = new float[k];
+    }
+
+    void offer(int pos, float score) {
+        if (n < k) {
+            positions[n] = pos;
+            scores[n] = score;
+            up(n++);
+        } else if (better(pos, score, positions[0], scores[0])) {
+            positions[0] = pos;
+            scores[0] = score;
+            down(0);
+        }
+    }
+
+    TopK merge(TopK other) {
+        for (int i = 0; i < other.n; i++) {
+            offer(other.positions[i], other.scores[i]);
+        }
+        return this;
+    }
+
+    int size() {
+        return n;
+    }
+
+    /**
+     * Empties the heap: returns the positions best first and writes their
+     * scores into {@code scoresOut}, which must hold {@link #size()} entries.
+     */
+    int[] drain(float[] scoresOut) {
+        int[] sorted = new int[n];
+        while (n > 0) {
+            sorted[n - 1] = positions[0];
+            scoresOut[n - 1] = scores[0];
+            n--;
+            positions[0] = positions[n];
+            scores[0] = scores[n];
+            down(0);
+        }
+        return sorted;
+    }
+
+    private static boolean better(int pos, float score, int otherPos, float otherScore) {
+        return score > otherScore || (score == otherScore && pos < otherPos);
+    }
+
+    private void up(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(positions[parent], scores[parent], positions[i], scores[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void down(int i) {
+        while (true) {
+            int l = 2 * i + 1, r = l + 1, worst = i;
+            if (l < n && better(positions[worst], scores[worst], positions[l], scores[l])) worst = l;
+            if (r < n && better(positions[worst], scores[worst], positions[r], scores[r])) worst = r;
+            if (worst == i) return;
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int p = positions[a]; positions[a] = positions[b]; positions[b] = p;
+        float s = scores[a]; scores[a] = scores[b]; scores[b] = s;
+    }
+}
@@ -4,11 +4,41 @@ import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.service.ClothingItemChangeListener;
+import com.example.backend.util.ContentHash;
+import com.example.backend.util.PriceRange;
+
 @Entity
 @Table(name = "clothing_item")
-public class ClothingItem {
+@EntityListeners(ClothingItemChangeListener.class)
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = ClothingItem.CACHE_REGION)
+public class ClothingItem implements ClothingItemDTO {
+    /**
+     * Second-level cache region. Rows only change through imports, bulk
+     * loads and the price backfill, all of which go around Hibernate, so the
+     * entity is immutable to it, the cache is read-only, and the region is
+     * evicted whenever the catalog is re-read from the database.
+     */
+    public static final String CACHE_REGION = "clothing-item";
+
+    /**
+     * Ids handed out per sequence call. The sequence uses pooled-lo semantics
+     * (nextval returns the first id of a block), so bulk loaders can reserve
+     * ids the same way Hibernate does without colliding with it.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE = "clothing_item_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clothing_item_seq")
+    @SequenceGenerator(name = "clothing_item_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -42,6 +72,22 @@ public class ClothingItem {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // parsed from estimatedPricing on every write; max is null for "$120+"
+    @Column(name = "price_min_cents")
+    private Integer priceMinCents;
+
+    @Column(name = "price_max_cents")
+    private Integer priceMaxCents;
+
+    // identifies a row by content so re-running an import does not duplicate it
+    @Column(name = "content_hash", length = ContentHash.LENGTH)
+    private String contentHash;
+
+    // perceptual hash of the image, kept up to date by VisualSimilarityService;
+    // null until the image has been decoded, and for formats it cannot read
+    @Column(name = "image_hash")
+    private Long imageHash;
+
 
     // Getters and setters
     public Long getId() { return id; }
@@ -78,6 +124,22 @@ public class ClothingItem {
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
-   
-
+    public Integer getPriceMinCents() { return priceMinCents; }
+    public Integer getPriceMaxCents() { return priceMaxCents; }
+
+    // the hash is fixed at insert: editing a row must not let a re-import
+    // bring back the version it replaced
+    @PrePersist
+    public void beforeInsert() {
+        normalizePrice();
+        contentHash = ContentHash.of(name, description, color, pattern, material, estimatedPricing,
+                                     gender, events, typeOfClothing, imageUrl);
+    }
+
+    // called on insert, and by the benchmark and test fixtures for items that are never saved
+    public void normalizePrice() {
+        PriceRange range = PriceRange.parse(estimatedPricing);
+        priceMinCents = range == null ? null : range.minCents();
+        priceMaxCents = range == null || range.isOpenEnded() ? null : range.maxCents();
+    }
 }
\ No newline at end of file
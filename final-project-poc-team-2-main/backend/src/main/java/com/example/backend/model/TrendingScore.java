@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Last checkpoint of a clothing item's trending score, already decayed to
+ * {@code asOf}. Read and written in bulk with plain JDBC by TrendingService;
+ * mapped so the table is created along with the others.
+ */
+@Entity
+@Table(name = "trending_score")
+public class TrendingScore {
+
+    @Id
+    @Column(name = "clothing_item_id")
+    private Long clothingItemId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    public Long getClothingItemId() { return clothingItemId; }
+    public double getScore() { return score; }
+    public Instant getAsOf() { return asOf; }
+}
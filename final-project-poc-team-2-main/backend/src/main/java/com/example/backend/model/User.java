@@ -1,5 +1,6 @@
 package com.example.backend.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -10,15 +11,31 @@ import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.EMAIL_CACHE_REGION)
 public class User {
+    /** Second-level cache regions: users by id, and email → id for natural-id lookups. */
+    public static final String CACHE_REGION = "user";
+    public static final String EMAIL_CACHE_REGION = "user-by-email";
+
     @Id
     @GeneratedValue
     private Long id;
 
+    // unique and never changed, so logins can resolve it through the cache
+    @NaturalId
     private String email;
     private String password;
+    // may use the operator endpoints; only ever set in SQL (see V3__user_admin_flag.sql)
+    private boolean admin;
 
     // Getters and setters
     public Long getId() { return id; }
@@ -30,4 +47,7 @@ public class User {
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
 
+    public boolean isAdmin() { return admin; }
+    public void setAdmin(boolean admin) { this.admin = admin; }
+
 }
@@ -1,11 +1,16 @@
 package com.example.backend.model;
 
+import java.time.Instant;
+
 import jakarta.persistence.*;
 
+import com.example.backend.service.WishlistItemChangeListener;
+
 @Entity
 @Table(name = "wishlist_item",
        uniqueConstraints = @UniqueConstraint(
            columnNames = {"wishlist_id", "clothing_item_id"})) // optional: never add the same item twice
+@EntityListeners(WishlistItemChangeListener.class)
 public class WishlistItem {
 
     @Id @GeneratedValue
@@ -20,6 +25,10 @@ public class WishlistItem {
     @JoinColumn(name = "clothing_item_id", nullable = false)
     private ClothingItem clothingItem;
 
+    // when the item was saved; null for rows older than the column
+    @Column(name = "added_at")
+    private Instant addedAt;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -28,4 +37,11 @@ public class WishlistItem {
 
     public ClothingItem getClothingItem() { return clothingItem; }
     public void setClothingItem(ClothingItem clothingItem) { this.clothingItem = clothingItem; }
+
+    public Instant getAddedAt() { return addedAt; }
+
+    @PrePersist
+    public void beforeInsert() {
+        if (addedAt == null) addedAt = Instant.now();
+    }
 }
\ No newline at end of file
@@ -2,13 +2,39 @@ package com.example.backend.repository;
 
 import com.example.backend.model.ClothingItem;
 import com.example.backend.dto.ClothingItemDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface ClothingItemRepository extends JpaRepository<ClothingItem, Long> {
 
+    /**
+     * The whole catalog, for index rebuilds. Not stored in the second-level
+     * cache, so a rebuild does not push the frequently used items out.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.storeMode", value = "BYPASS"))
+    List<ClothingItem> findAll();
+
     /** Spring-Data builds the DTO record automatically */
     List<ClothingItemDTO> findAllProjectedBy();   // ← method name can be anything
+
+    /** Keyset page: rows after the given id, in id order. Pageable only carries the size. */
+    List<ClothingItemDTO> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /** Bumped by every statement that changes rows, whoever makes it (see V4__clothing_item_version.sql). */
+    @Query(value = "select version from clothing_item_version", nativeQuery = true)
+    long findDataVersion();
+
+    /** The subset of {@code ids} that exist, in one query. */
+    @Query("select c.id from ClothingItem c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,11 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.User;
+
+import java.util.Optional;
+
+/** Lookups by the natural id (email), which go through the second-level cache. */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,31 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * A derived {@code findByEmail} query would always reach Postgres, because
+ * Hibernate does not cache query results by default. Loading by natural id
+ * resolves the email through the user-by-email region and the user through
+ * the user region, so a repeat login runs no SQL at all. An unknown email
+ * still costs one query.
+ */
+@Transactional(readOnly = true)
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
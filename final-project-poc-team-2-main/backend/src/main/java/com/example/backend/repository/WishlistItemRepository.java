@@ -1,11 +1,55 @@
 package com.example.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.backend.model.WishlistItem;
 
 public interface WishlistItemRepository extends JpaRepository<WishlistItem, Long> {
     List<WishlistItem> findByWishlistId(Long wishlistId);
+
+    Optional<WishlistItem> findByWishlistIdAndClothingItemId(Long wishlistId, Long clothingItemId);
+
+    // ownership checked in the same query, instead of walking item -> wishlist -> user
+    Optional<WishlistItem> findByIdAndWishlistIdAndWishlistUserId(Long id, Long wishlistId, Long userId);
+
+    /**
+     * Adds every existing clothing item in {@code clothingItemIds} that is not
+     * already in the wishlist, in one statement; returns the ids of those
+     * added. ON CONFLICT covers a concurrent add of the same item. The NOT
+     * EXISTS keeps items already present from drawing a sequence value (with
+     * the pooled-lo optimizer each nextval claims a block of ids). Not
+     * {@code @Modifying}: the RETURNING rows are read like a query's.
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO wishlist_item (id, wishlist_id, clothing_item_id, added_at)
+        SELECT nextval('wishlist_item_seq'), :wishlistId, c.id, now()
+        FROM clothing_item c
+        WHERE c.id IN (:clothingItemIds)
+          AND NOT EXISTS (SELECT 1 FROM wishlist_item w
+                          WHERE w.wishlist_id = :wishlistId AND w.clothing_item_id = c.id)
+        ON CONFLICT (wishlist_id, clothing_item_id) DO NOTHING
+        RETURNING clothing_item_id
+        """, nativeQuery = true)
+    List<Long> addAll(@Param("wishlistId") Long wishlistId, @Param("clothingItemIds") Collection<Long> clothingItemIds);
+
+    /**
+     * Removes the given clothing items from the wishlist, in one statement;
+     * returns the ids of those that were there. Like {@link #addAll}, the
+     * RETURNING rows are read like a query's.
+     */
+    @Transactional
+    @Query(value = """
+        DELETE FROM wishlist_item
+        WHERE wishlist_id = :wishlistId AND clothing_item_id IN (:clothingItemIds)
+        RETURNING clothing_item_id
+        """, nativeQuery = true)
+    List<Long> removeAll(@Param("wishlistId") Long wishlistId, @Param("clothingItemIds") Collection<Long> clothingItemIds);
 }
@@ -2,11 +2,36 @@ package com.example.backend.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.backend.dto.WishListDTO;
+import com.example.backend.dto.WishlistDetailRow;
 import com.example.backend.model.Wishlist;
 
 public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     List<WishListDTO> findByUserId(Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * The wishlist and the page of its items after {@code after} (by item id),
+     * with the whole clothing row, in one SQL statement. The ownership check
+     * is part of the WHERE clause, so another user's wishlist yields no rows.
+     * The left joins keep a single item-less row for an empty page.
+     */
+    @Query("""
+        select new com.example.backend.dto.WishlistDetailRow(w.id, w.name, i.id, c)
+        from Wishlist w
+        left join w.wishlistItems i on i.id > :after
+        left join i.clothingItem c
+        where w.id = :id and w.user.id = :userId
+        order by i.id
+        """)
+    List<WishlistDetailRow> findDetail(@Param("id") Long id,
+                                       @Param("userId") Long userId,
+                                       @Param("after") long after,
+                                       Pageable page);
 }
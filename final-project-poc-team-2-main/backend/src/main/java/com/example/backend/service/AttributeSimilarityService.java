@@ -0,0 +1,78 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.AttributeSimilarityIndex;
+
+/**
+ * Owns the {@link AttributeSimilarityIndex} behind "more like this". The
+ * index is columnar and immutable, so every catalog change rebuilds it; as
+ * with the catalog snapshot that happens on a background thread, bursts of
+ * changes collapse into one rebuild, and requests keep using the previous
+ * index until the new one is swapped in.
+ */
+@Service
+public class AttributeSimilarityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttributeSimilarityService.class);
+
+    private final CatalogIndexService catalog;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "attribute-similarity");
+        t.setDaemon(true);
+        return t;
+    });
+    // collapses a burst of catalog changes into one pending rebuild
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile AttributeSimilarityIndex index = AttributeSimilarityIndex.build(List.of());
+
+    public AttributeSimilarityService(CatalogIndexService catalog) {
+        this.catalog = catalog;
+        if (!AttributeSimilarityIndex.VECTOR_API_AVAILABLE) {
+            log.info("jdk.incubator.vector not loaded, similar items are scored without SIMD");
+        }
+    }
+
+    /** The items most like item {@code id}, best first; empty until the index has caught up with it. */
+    public List<ScoredItem> similar(long id, int limit) {
+        return index.similar(id, limit);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Attribute similarity index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        AttributeSimilarityIndex fresh = AttributeSimilarityIndex.build(catalog.items());
+        index = fresh;
+        log.info("Attribute similarity index rebuilt with {} items in {} ms{}",
+                 fresh.size(), (System.nanoTime() - start) / 1_000_000, fresh.isVectorized() ? " (vectorized)" : "");
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.service;
+
+/**
+ * Published by {@link CatalogIndexService} after the in-memory catalog moved to
+ * a new version. {@code change} is the single-item change that caused it, or
+ * {@code null} after a full rebuild, in which case listeners should reload
+ * everything from {@link CatalogIndexService#items()}.
+ */
+public record CatalogChangedEvent(long version, ClothingItemChangedEvent change) {
+
+    public boolean isRebuild() {
+        return change == null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the whole catalog straight from a JDBC cursor into the response.
+ * Postgres only honours the fetch size inside a transaction, so the query runs
+ * in a read-only one; at most {@code catalog.export.fetch-size} rows are held
+ * in memory at any time, whatever the size of the catalog.
+ */
+@Service
+public class CatalogExportService {
+
+    public enum Format { JSON, NDJSON }
+
+    private static final String SELECT_ALL =
+        "select id, name, description, color, pattern, material, estimated_pricing, " +
+        "gender, events, type_of_clothing, image_url, price_min_cents, price_max_cents " +
+        "from clothing_item order by id";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper mapper;
+
+    public CatalogExportService(DataSource dataSource,
+                                PlatformTransactionManager txManager,
+                                ObjectMapper mapper,
+                                @Value("${catalog.export.fetch-size:500}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.mapper = mapper;
+    }
+
+    public void export(OutputStream out, Format format) {
+        readOnlyTx.executeWithoutResult(status -> {
+            try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+                if (format == Format.NDJSON) {
+                    gen.setRootValueSeparator(new SerializedString("\n"));
+                } else {
+                    gen.writeStartArray();
+                }
+                jdbc.query(SELECT_ALL, (RowCallbackHandler) rs -> writeRow(gen, rs));
+                if (format == Format.JSON) {
+                    gen.writeEndArray();
+                } else {
+                    gen.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Same field names as ClothingItemDTO, so consumers can share one type.
+    private static void writeRow(JsonGenerator gen, ResultSet rs) throws SQLException {
+        try {
+            gen.writeStartObject();
+            gen.writeNumberField("id", rs.getLong("id"));
+            gen.writeStringField("name", rs.getString("name"));
+            gen.writeStringField("description", rs.getString("description"));
+            gen.writeStringField("color", rs.getString("color"));
+            gen.writeStringField("pattern", rs.getString("pattern"));
+            gen.writeStringField("material", rs.getString("material"));
+            gen.writeStringField("estimatedPricing", rs.getString("estimated_pricing"));
+            gen.writeStringField("gender", rs.getString("gender"));
+            gen.writeStringField("events", rs.getString("events"));
+            gen.writeStringField("typeOfClothing", rs.getString("type_of_clothing"));
+            gen.writeStringField("imageUrl", rs.getString("image_url"));
+            writeNullableInt(gen, "priceMinCents", rs.getInt("price_min_cents"), rs.wasNull());
+            writeNullableInt(gen, "priceMaxCents", rs.getInt("price_max_cents"), rs.wasNull());
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullableInt(JsonGenerator gen, String field, int value, boolean isNull) throws IOException {
+        gen.writeFieldName(field);
+        if (isNull) gen.writeNull(); else gen.writeNumber(value);
+    }
+}
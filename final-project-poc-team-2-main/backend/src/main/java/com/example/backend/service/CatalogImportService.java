@@ -0,0 +1,473 @@
+package com.example.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.CatalogImportProgress;
+import com.example.backend.index.HammingIndex;
+import com.example.backend.model.ClothingItem;
+import com.example.backend.util.ContentHash;
+import com.example.backend.util.CsvReader;
+import com.example.backend.util.PriceRange;
+
+/**
+ * Bulk catalog import from the clothing script's CSV format
+ * (image_name,style,color,pattern,material,estimated_pricing,gender,events,
+ * type_of_clothing,name,description; column order does not matter).
+ *
+ * The upload is spooled to a temp file and loaded on a background thread in
+ * chunks. Each chunk reserves its ids from the entity's pooled sequence in a
+ * single round trip, is streamed into a session-local staging table with
+ * COPY, and is moved into clothing_item with ON CONFLICT (content_hash) DO
+ * NOTHING in one statement, then committed. Importing the same file twice
+ * therefore inserts nothing the second time, and a failure keeps every
+ * chunk committed before it.
+ *
+ * Rows also get the perceptual hash of their image when {@link ImageService}
+ * has already seen it. Each inserted row whose picture is within
+ * catalog.import.near-duplicate-distance bits of an existing item, or of a
+ * row inserted earlier by the same import, is counted as a near-duplicate.
+ * Such rows are still inserted: a different colour or text may be
+ * intentional, so they are only reported.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final int MAX_ERRORS = 20;
+    private static final int MAX_JOBS = 20;
+    private static final int MAX_VARCHAR = 255;
+    private static final Set<String> GENDERS = Set.of("male", "female", "unisex");
+
+    private static final String STAGING = "clothing_item_import";
+    private static final String COLUMNS =
+        "id, name, description, color, pattern, material, estimated_pricing, gender, events, "
+        + "type_of_clothing, image_url, price_min_cents, price_max_cents, content_hash, image_hash";
+
+    /** Row as stored; {@code fields} follows the column order of {@link #COLUMNS} minus the generated ones. */
+    private record Row(long line, String[] fields, Integer minCents, Integer maxCents, String hash, Long imageHash) {}
+
+    /** CSV header → index into {@link Row#fields}. */
+    private static final Map<String, Integer> HEADERS = Map.of(
+        "name", 0, "description", 1, "color", 2, "pattern", 3, "material", 4,
+        "estimated_pricing", 5, "gender", 6, "events", 7, "type_of_clothing", 8, "image_name", 9);
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final Path file;
+        final long size;
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong inserted = new AtomicLong();
+        final AtomicLong duplicates = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong nearDuplicates = new AtomicLong();
+        final List<String> errors = new ArrayList<>();
+        final List<String> nearDuplicateSamples = new ArrayList<>();
+        // image hashes of the rows this job inserted, by CSV line; only the import thread touches it
+        final HammingIndex insertedImages = new HammingIndex();
+        volatile State state = State.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String message;
+
+        Job(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        void reject(long line, String reason) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) errors.add("line " + line + ": " + reason);
+            }
+        }
+
+        void nearDuplicate(long line, String reason) {
+            nearDuplicates.incrementAndGet();
+            synchronized (nearDuplicateSamples) {
+                if (nearDuplicateSamples.size() < MAX_ERRORS) nearDuplicateSamples.add("line " + line + ": " + reason);
+            }
+        }
+
+        CatalogImportProgress progress() {
+            Instant start = startedAt;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = start == null ? 0 : Math.max(1, end.toEpochMilli() - start.toEpochMilli());
+            long rows = rowsRead.get();
+            int percent = state == State.DONE ? 100 : size == 0 ? 0 : (int) (100 * bytesRead.get() / size);
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            List<String> samplesCopy;
+            synchronized (nearDuplicateSamples) {
+                samplesCopy = List.copyOf(nearDuplicateSamples);
+            }
+            return new CatalogImportProgress(id, state.name(), Math.min(percent, 100), rows,
+                                             inserted.get(), duplicates.get(), rejected.get(),
+                                             nearDuplicates.get(),
+                                             millis == 0 ? 0 : rows * 1000 / millis,
+                                             start, finishedAt, errorsCopy, samplesCopy, message);
+        }
+    }
+
+    private final DataSource dataSource;
+    private final CatalogIndexService catalogIndex;
+    private final ImageService images;
+    private final VisualSimilarityService visualSimilarity;
+    private final int chunkSize;
+    private final int nearDuplicateDistance;
+
+    private final ExecutorService importer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "catalog-import");
+        t.setDaemon(true);
+        return t;
+    });
+    // in submission order; pruned to MAX_JOBS by dropping the oldest finished jobs
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public CatalogImportService(DataSource dataSource,
+                                CatalogIndexService catalogIndex,
+                                ImageService images,
+                                VisualSimilarityService visualSimilarity,
+                                @Value("${catalog.import.chunk-size:10000}") int chunkSize,
+                                @Value("${catalog.import.near-duplicate-distance:4}") int nearDuplicateDistance) {
+        this.dataSource = dataSource;
+        this.catalogIndex = catalogIndex;
+        this.images = images;
+        this.visualSimilarity = visualSimilarity;
+        this.chunkSize = chunkSize;
+        this.nearDuplicateDistance = nearDuplicateDistance;
+    }
+
+    /**
+     * Spools {@code csv} to disk, checks its header and queues the import.
+     *
+     * @throws IllegalArgumentException if the header lacks a required column
+     */
+    public CatalogImportProgress submit(InputStream csv) throws IOException {
+        Path file = Files.createTempFile("catalog-import-", ".csv");
+        try {
+            long size = Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            try (CsvReader reader = open(file, null)) {
+                columnMapping(reader.next());
+            }
+            Job job = new Job(file, size);
+            synchronized (jobs) {
+                jobs.put(job.id, job);
+                pruneFinishedJobs();
+            }
+            importer.execute(() -> run(job));
+            return job.progress();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    public Optional<CatalogImportProgress> progress(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(Job::progress);
+        }
+    }
+
+    // queued and running jobs are kept whatever their number, so their progress can always be polled
+    private void pruneFinishedJobs() {
+        Iterator<Job> it = jobs.values().iterator();
+        while (jobs.size() > MAX_JOBS && it.hasNext()) {
+            if (it.next().finishedAt != null) it.remove();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importer.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.state = State.RUNNING;
+        job.startedAt = Instant.now();
+        try (CsvReader reader = open(job.file, job.bytesRead);
+             Connection conn = dataSource.getConnection()) {
+            int[] mapping = columnMapping(reader.next());
+            load(job, reader, mapping, conn);
+            job.state = State.DONE;
+        } catch (Exception e) {
+            job.message = e.getMessage();
+            job.state = State.FAILED;
+            log.error("Catalog import {} failed after {} rows", job.id, job.rowsRead.get(), e);
+        } finally {
+            job.finishedAt = Instant.now();
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}", job.file, e);
+            }
+        }
+
+        CatalogImportProgress p = job.progress();
+        log.info("Catalog import {} {}: {} rows, {} inserted, {} duplicates, {} rejected, {} near-duplicates, {} rows/s",
+                 p.id(), p.state(), p.rowsRead(), p.inserted(), p.duplicates(), p.rejected(), p.nearDuplicates(),
+                 p.rowsPerSecond());
+        // JDBC inserts bypass the entity listener, so the index has to catch up in one go
+        if (job.inserted.get() > 0) {
+            catalogIndex.rebuild();
+        }
+    }
+
+    private void load(Job job, CsvReader reader, int[] mapping, Connection conn) throws IOException, SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TEMP TABLE IF NOT EXISTS " + STAGING
+                       + " (LIKE clothing_item) ON COMMIT DELETE ROWS");
+            conn.commit();
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                Row row = parse(record, mapping, reader.recordLine(), job);
+                if (row != null) chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    flush(job, chunk, conn);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) flush(job, chunk, conn);
+        } catch (IOException | SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            try (Statement st = conn.createStatement()) {
+                st.execute("DROP TABLE IF EXISTS " + STAGING);
+                conn.commit();
+            }
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void flush(Job job, List<Row> chunk, Connection conn) throws IOException, SQLException {
+        long[] ids = reserveIds(conn, chunk.size());
+
+        PGCopyOutputStream copy = new PGCopyOutputStream(conn.unwrap(PGConnection.class),
+            "COPY " + STAGING + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)", 1 << 16);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                writeRow(out, ids[i], chunk.get(i));
+            }
+        }
+
+        Set<Long> inserted = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("INSERT INTO clothing_item (" + COLUMNS + ") SELECT " + COLUMNS
+                                            + " FROM " + STAGING + " ON CONFLICT (content_hash) DO NOTHING"
+                                            + " RETURNING id")) {
+            while (rs.next()) inserted.add(rs.getLong(1));
+        }
+        // before the commit, so the catalog's hash index cannot contain these rows yet
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            if (row.imageHash() != null && inserted.contains(ids[i])) checkNearDuplicate(job, row);
+        }
+        conn.commit();
+        job.inserted.addAndGet(inserted.size());
+        job.duplicates.addAndGet(chunk.size() - inserted.size());
+    }
+
+    // closest of: an item already in the catalog, or a row this import inserted earlier
+    private void checkNearDuplicate(Job job, Row row) {
+        long hash = row.imageHash();
+        long[] closestLine = { -1 };
+        int[] lineDistance = { Integer.MAX_VALUE };
+        job.insertedImages.search(hash, nearDuplicateDistance, (line, h, d) -> {
+            if (d < lineDistance[0] || (d == lineDistance[0] && line < closestLine[0])) {
+                closestLine[0] = line;
+                lineDistance[0] = d;
+            }
+        });
+        Optional<VisualSimilarityService.Match> item = visualSimilarity.nearest(hash, nearDuplicateDistance);
+
+        if (item.isPresent() && item.get().distance() <= lineDistance[0]) {
+            job.nearDuplicate(row.line(), "looks like item " + item.get().id()
+                                          + " (distance " + item.get().distance() + ")");
+        } else if (closestLine[0] >= 0) {
+            job.nearDuplicate(row.line(), "looks like line " + closestLine[0] + " (distance " + lineDistance[0] + ")");
+        }
+        job.insertedImages.add(hash, row.line());
+    }
+
+    // pooled-lo: each nextval is the first id of a block of ID_ALLOCATION_SIZE
+    private static long[] reserveIds(Connection conn, int count) throws SQLException {
+        int blocks = (count + ClothingItem.ID_ALLOCATION_SIZE - 1) / ClothingItem.ID_ALLOCATION_SIZE;
+        long[] ids = new long[count];
+        try (PreparedStatement ps = conn.prepareStatement(
+                 "SELECT nextval('" + ClothingItem.ID_SEQUENCE + "') FROM generate_series(1, ?)")) {
+            ps.setInt(1, blocks);
+            try (ResultSet rs = ps.executeQuery()) {
+                int i = 0;
+                while (rs.next() && i < count) {
+                    long first = rs.getLong(1);
+                    for (int k = 0; k < ClothingItem.ID_ALLOCATION_SIZE && i < count; k++) {
+                        ids[i++] = first + k;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Row parse(List<String> record, int[] mapping, long line, Job job) {
+        if (record.size() != mapping.length) {
+            job.reject(line, "expected " + mapping.length + " fields, found " + record.size());
+            return null;
+        }
+        String[] fields = new String[HEADERS.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            if (mapping[i] < 0) continue;
+            String value = record.get(i).trim();
+            fields[mapping[i]] = value.isEmpty() ? null : value;
+        }
+
+        String name = fields[HEADERS.get("name")];
+        String type = fields[HEADERS.get("type_of_clothing")];
+        if (name == null || type == null) {
+            job.reject(line, "name and type_of_clothing are required");
+            return null;
+        }
+        int gender = HEADERS.get("gender");
+        if (fields[gender] != null) {
+            fields[gender] = fields[gender].toLowerCase(Locale.ROOT);
+            if (!GENDERS.contains(fields[gender])) {
+                job.reject(line, "unknown gender '" + fields[gender] + "'");
+                return null;
+            }
+        }
+        int description = HEADERS.get("description");
+        for (int i = 0; i < fields.length; i++) {
+            if (i != description && fields[i] != null && fields[i].length() > MAX_VARCHAR) {
+                job.reject(line, "a field is longer than " + MAX_VARCHAR + " characters");
+                return null;
+            }
+        }
+
+        PriceRange price = PriceRange.parse(fields[HEADERS.get("estimated_pricing")]);
+        // same field order as ClothingItem#beforeInsert
+        String hash = ContentHash.of(fields);
+        String image = fields[HEADERS.get("image_name")];
+        OptionalLong imageHash = image == null ? OptionalLong.empty() : images.perceptualHash(image);
+        return new Row(line, fields,
+                       price == null ? null : price.minCents(),
+                       price == null || price.isOpenEnded() ? null : price.maxCents(),
+                       hash,
+                       imageHash.isPresent() ? imageHash.getAsLong() : null);
+    }
+
+    private static void writeRow(Writer out, long id, Row row) throws IOException {
+        out.write(Long.toString(id));
+        for (String field : row.fields()) {
+            out.write(',');
+            writeField(out, field);
+        }
+        out.write(',');
+        if (row.minCents() != null) out.write(Integer.toString(row.minCents()));
+        out.write(',');
+        if (row.maxCents() != null) out.write(Integer.toString(row.maxCents()));
+        out.write(',');
+        out.write(row.hash());
+        out.write(',');
+        if (row.imageHash() != null) out.write(Long.toString(row.imageHash()));
+        out.write('\n');
+    }
+
+    // COPY csv: unquoted empty is NULL, everything else is quoted
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /** For each CSV column, its index in {@link Row#fields}, or -1 for columns that are not stored (style). */
+    private static int[] columnMapping(List<String> header) {
+        if (header == null) throw new IllegalArgumentException("CSV file is empty");
+        int[] mapping = new int[header.size()];
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            if (column.equals("image_url")) column = "image_name";
+            mapping[i] = HEADERS.getOrDefault(column, -1);
+            if (mapping[i] >= 0) seen.put(column, i);
+        }
+        for (String required : List.of("name", "type_of_clothing")) {
+            if (!seen.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return mapping;
+    }
+
+    private static CsvReader open(Path file, AtomicLong bytesRead) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (bytesRead != null) {
+            in = new FilterInputStream(in) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) bytesRead.addAndGet(n);
+                    return n;
+                }
+            };
+        }
+        return new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.dto.FacetCounts;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.ClothingFacetIndex;
+import com.example.backend.model.ClothingItem;
+import com.example.backend.repository.ClothingItemRepository;
+
+/**
+ * Owns the in-memory {@link ClothingFacetIndex}.
+ *
+ * Changes made through JPA are applied incrementally once their transaction
+ * commits. Everything else writes Postgres directly: bulk loads
+ * (clothing-script/load_clothes.py), the import, the price backfill and the
+ * image hash sync. So the table's data version (clothing_item_version, bumped
+ * by a trigger on every change) is polled as well, and the index is rebuilt
+ * from scratch when it differs from the version the index was built from.
+ * JPA changes bump it too, which costs one redundant rebuild per poll after
+ * them. A rebuild also evicts ClothingItem from the second-level cache,
+ * since whatever changed behind Hibernate may have changed rows it holds.
+ *
+ * Rebuilds are requested at startup, after imports and by the poll, possibly
+ * at once; they run one at a time, and a poll that finds one running skips.
+ */
+@Service
+public class CatalogIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexService.class);
+
+    private final ClothingItemRepository repo;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private volatile ClothingFacetIndex index = new ClothingFacetIndex();
+    // bumped on every change so derived caches can tell they are stale
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // the table's data version the current index was read at; guarded by rebuildLock
+    private long builtFromDataVersion = -1;
+    // false until the first rebuild, while the index is still empty
+    private volatile boolean built;
+
+    public CatalogIndexService(ClothingItemRepository repo,
+                               ApplicationEventPublisher publisher,
+                               EntityManagerFactory entityManagerFactory) {
+        this.repo = repo;
+        this.publisher = publisher;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<ClothingItemDTO> filter(ClothingItemFilter filter) {
+        return index.query(filter);
+    }
+
+    public List<ClothingItemDTO> cheapest(ClothingItemFilter filter, int limit) {
+        return index.cheapest(filter, limit);
+    }
+
+    public FacetCounts facetCounts(ClothingItemFilter filter) {
+        return index.facetCounts(filter);
+    }
+
+    public List<ScoredItem> topK(ToDoubleFunction<ClothingItemDTO> scorer, int k) {
+        return index.topK(scorer, k);
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /** Whether the index has been loaded from the database yet; until then it is empty. */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /** Every live item, in id order. */
+    public List<ClothingItemDTO> items() {
+        return index.items();
+    }
+
+    public Optional<ClothingItemDTO> item(Long id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.index.refresh-ms:30000}",
+               fixedDelayString = "${catalog.index.refresh-ms:30000}")
+    public void rebuildIfStale() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            if (repo.findDataVersion() != builtFromDataVersion) {
+                rebuildLocked();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long start = System.nanoTime();
+        // read first: a change landing during findAll is picked up again by the next poll
+        long dataVersion = repo.findDataVersion();
+        entityManagerFactory.getCache().evict(ClothingItem.class);
+        ClothingFacetIndex fresh = ClothingFacetIndex.build(repo.findAll());
+        index = fresh;
+        builtFromDataVersion = dataVersion;
+        built = true;
+        publisher.publishEvent(new CatalogChangedEvent(version.incrementAndGet(), null));
+        log.info("Catalog index rebuilt with {} items in {} ms",
+                 fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ClothingItemChangedEvent event) {
+        if (event.removed()) {
+            index.remove(event.item().getId());
+        } else {
+            index.upsert(event.item());
+        }
+        publisher.publishEvent(new CatalogChangedEvent(version.incrementAndGet(), event));
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ColumnarItems;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Keeps the full catalog response pre-serialized and pre-compressed, as
+ * JSON and in the other {@link Format}s clients have asked for.
+ *
+ * The snapshot is regenerated on a background thread whenever the catalog
+ * index moves to a new version and swapped in atomically, so requests never
+ * serialize or touch the database; bursts of changes collapse into a single
+ * regeneration. The ETag is derived from the JSON bytes, so it is stable
+ * across restarts and identical on every instance serving the same data.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    public enum Encoding {
+        IDENTITY(null, ""), GZIP("gzip", "-gz"), BROTLI("br", "-br");
+
+        private final String header;
+        private final String tagSuffix;
+
+        Encoding(String header, String tagSuffix) {
+            this.header = header;
+            this.tagSuffix = tagSuffix;
+        }
+
+        /** Value for the Content-Encoding header, {@code null} for identity. */
+        public String header() { return header; }
+    }
+
+    /** The media types the full catalog is served in. */
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON, ""),
+        COLUMNAR(ColumnarItems.MEDIA_TYPE, "-col"),
+        CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+        private final MediaType mediaType;
+        private final String tagSuffix;
+
+        Format(MediaType mediaType, String tagSuffix) {
+            this.mediaType = mediaType;
+            this.tagSuffix = tagSuffix;
+        }
+
+        public MediaType mediaType() { return mediaType; }
+
+        /** The format the Accept header prefers; JSON when it names none of the others, or is missing. */
+        public static Format negotiate(String accept) {
+            if (accept == null) return JSON;
+            List<MediaType> accepted;
+            try {
+                accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            } catch (InvalidMediaTypeException e) {
+                return JSON;
+            }
+            accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) continue;
+                if (type.isWildcardType() || type.isWildcardSubtype()) return JSON;
+                for (Format f : values()) {
+                    if (f.mediaType.equalsTypeAndSubtype(type)) return f;
+                }
+            }
+            return JSON;
+        }
+    }
+
+    /** One format of the catalog, in every encoding; {@code brotli} is null when Brotli is unavailable. */
+    private record Body(byte[] identity, byte[] gzip, byte[] brotli) {}
+
+    /**
+     * The catalog at one version. The JSON body is built with it; the other
+     * formats on first request, once per snapshot.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final String hash;
+        private final boolean brotli;
+        private final Function<Format, Body> render;
+        private final Map<Format, Body> bodies = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, String hash, Body json, Function<Format, Body> render) {
+            this.version = version;
+            this.hash = hash;
+            this.brotli = json.brotli() != null;
+            this.render = render;
+            bodies.put(Format.JSON, json);
+        }
+
+        public long version() { return version; }
+
+        public String hash() { return hash; }
+
+        public byte[] body(Format format, Encoding encoding) {
+            Body body = bodies.computeIfAbsent(format, render);
+            return switch (encoding) {
+                case IDENTITY -> body.identity();
+                case GZIP -> body.gzip();
+                case BROTLI -> body.brotli();
+            };
+        }
+
+        /** Strong ETag; each format and encoding is a different representation, so it gets its own tag. */
+        public String etag(Format format, Encoding encoding) {
+            return "\"" + hash + format.tagSuffix + encoding.tagSuffix + "\"";
+        }
+
+        /** True when an If-None-Match header names any encoding of this snapshot in {@code format}. */
+        public boolean matches(String ifNoneMatch, Format format) {
+            if (ifNoneMatch == null) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.equals("*")) return true;
+                if (t.startsWith("W/")) t = t.substring(2);
+                for (Encoding e : Encoding.values()) {
+                    if (t.equals(etag(format, e)) && (e != Encoding.BROTLI || brotli)) return true;
+                }
+            }
+            return false;
+        }
+
+        /** Best encoding the client accepts: br, then gzip, then none. */
+        public Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null) return Encoding.IDENTITY;
+            String accepted = acceptEncoding.toLowerCase(Locale.ROOT);
+            if (brotli && accepts(accepted, "br")) return Encoding.BROTLI;
+            if (accepts(accepted, "gzip")) return Encoding.GZIP;
+            return Encoding.IDENTITY;
+        }
+
+        private static boolean accepts(String acceptEncoding, String coding) {
+            for (String part : acceptEncoding.split(",")) {
+                String[] pieces = part.trim().split(";");
+                if (!pieces[0].trim().equals(coding)) continue;
+                // "gzip;q=0" explicitly refuses the coding
+                return pieces.length < 2 || !pieces[1].trim().matches("q=0(\\.0*)?");
+            }
+            return false;
+        }
+    }
+
+    private final CatalogIndexService catalog;
+    private final ObjectMapper mapper;
+    private final ObjectMapper cborMapper;
+    private final int brotliQuality;
+    private final boolean brotliAvailable;
+
+    private final ExecutorService regenerator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "catalog-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean regenerationQueued = new AtomicBoolean();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CatalogSnapshotService(CatalogIndexService catalog,
+                                  ObjectMapper mapper,
+                                  @Value("${catalog.snapshot.brotli-quality:9}") int brotliQuality) {
+        this.catalog = catalog;
+        this.mapper = mapper;
+        // same modules and settings as the JSON mapper
+        this.cborMapper = mapper.copyWith(new CBORFactory());
+        this.brotliQuality = brotliQuality;
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        if (!brotliAvailable) {
+            log.warn("Brotli native library unavailable, catalog snapshot will be served as gzip only");
+        }
+    }
+
+    /**
+     * The latest snapshot, or empty while the catalog index is still loading
+     * at startup. An empty catalog must not be served then: its ETag would
+     * be taken as valid. Only the first call after the index is loaded can
+     * block, while the snapshot is built.
+     */
+    public Optional<Snapshot> current() {
+        Snapshot s = snapshot;
+        return Optional.ofNullable(s != null ? s : regenerate());
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (regenerationQueued.compareAndSet(false, true)) {
+            regenerator.execute(() -> {
+                // cleared first so a change that lands mid-build queues another pass
+                regenerationQueued.set(false);
+                try {
+                    regenerate();
+                } catch (RuntimeException e) {
+                    log.error("Catalog snapshot regeneration failed", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        regenerator.shutdownNow();
+    }
+
+    private Snapshot regenerate() {
+        buildLock.lock();
+        try {
+            long version = catalog.version();
+            Snapshot current = snapshot;
+            if (current != null && current.version() >= version) return current;
+            if (!catalog.isBuilt()) return null;
+
+            List<ClothingItemDTO> items = catalog.items();
+            byte[] json = mapper.writeValueAsBytes(items);
+            Body body = encode(json);
+            Snapshot fresh = new Snapshot(version, hash(json), body, format -> render(version, items, format));
+            snapshot = fresh;
+            log.info("Catalog snapshot v{}: {} items, {} bytes json, {} gzip, {} br",
+                     version, items.size(), json.length, body.gzip().length,
+                     body.brotli() == null ? "-" : body.brotli().length);
+            return fresh;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Body render(long version, List<ClothingItemDTO> items, Format format) {
+        try {
+            byte[] raw = switch (format) {
+                case JSON -> mapper.writeValueAsBytes(items);
+                case COLUMNAR -> mapper.writeValueAsBytes(ColumnarItems.of(items));
+                case CBOR -> cborMapper.writeValueAsBytes(items);
+            };
+            Body body = encode(raw);
+            log.info("Catalog snapshot v{} as {}: {} bytes, {} gzip, {} br", version, format.mediaType(),
+                     raw.length, body.gzip().length, body.brotli() == null ? "-" : body.brotli().length);
+            return body;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Body encode(byte[] raw) {
+        return new Body(raw, gzip(raw), brotliAvailable ? brotli(raw) : null);
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] brotli(byte[] json) {
+        try {
+            return Encoder.compress(json, new Encoder.Parameters().setQuality(brotliQuality));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
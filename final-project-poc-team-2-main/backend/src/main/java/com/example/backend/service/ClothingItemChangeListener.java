@@ -0,0 +1,34 @@
+package com.example.backend.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.model.ClothingItem;
+
+/**
+ * JPA entity listener for {@link ClothingItem}. Hibernate resolves it through
+ * Spring, so it can hand changes over to the application event bus.
+ */
+@Component
+public class ClothingItemChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ClothingItemChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    // no @PostUpdate: ClothingItem is @Immutable, so Hibernate never updates it
+    @PostPersist
+    public void saved(ClothingItem item) {
+        publisher.publishEvent(new ClothingItemChangedEvent(item, false));
+    }
+
+    @PostRemove
+    public void removed(ClothingItem item) {
+        publisher.publishEvent(new ClothingItemChangedEvent(item, true));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.backend.service;
+
+import com.example.backend.model.ClothingItem;
+
+/**
+ * Published whenever a clothing item is inserted, updated or deleted through JPA.
+ * In-memory catalog structures listen for it to stay in sync without a reload.
+ */
+public record ClothingItemChangedEvent(ClothingItem item, boolean removed) {
+}
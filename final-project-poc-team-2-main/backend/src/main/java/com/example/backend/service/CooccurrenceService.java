@@ -0,0 +1,202 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.CooccurrenceIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Owns the {@link CooccurrenceIndex} behind "people who saved this also
+ * saved".
+ *
+ * Wishlist changes are applied incrementally once their transaction commits.
+ * At startup the index is rebuilt from wishlist_item on a background thread:
+ * the table is read in {@code recommendations.cooccurrence.rebuild-threads}
+ * partitions by wishlist id, each streamed from its own cursor into its own
+ * index on its own connection, and the partial indexes are merged. Changes
+ * committed meanwhile are applied to the live index and recorded; they are
+ * replayed onto the new index before it is swapped in, which is safe because
+ * applying a change twice has no effect.
+ *
+ * Metrics: recommendations.cooccurrence.bytes (estimated heap),
+ * recommendations.cooccurrence.wishlists, .entries and .pairs.
+ */
+@Service
+public class CooccurrenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(CooccurrenceService.class);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final CatalogIndexService catalogIndex;
+    private final int partitions;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cooccurrence");
+        t.setDaemon(true);
+        return t;
+    });
+    // guards the swap, so no change is lost between replaying and swapping
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private volatile CooccurrenceIndex index = new CooccurrenceIndex();
+    // changes applied while a rebuild runs; null otherwise
+    private List<WishlistItemsChangedEvent> pending;
+
+    public CooccurrenceService(DataSource dataSource,
+                               PlatformTransactionManager txManager,
+                               CatalogIndexService catalogIndex,
+                               MeterRegistry registry,
+                               @Value("${recommendations.cooccurrence.rebuild-threads:0}") int threads,
+                               @Value("${recommendations.cooccurrence.fetch-size:10000}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.catalogIndex = catalogIndex;
+        // each partition holds a pooled connection for the whole load
+        this.partitions = threads > 0 ? threads : Math.min(4, Runtime.getRuntime().availableProcessors());
+
+        Gauge.builder("recommendations.cooccurrence.bytes", this, s -> s.index.estimatedBytes())
+             .baseUnit("bytes").register(registry);
+        Gauge.builder("recommendations.cooccurrence.wishlists", this, s -> s.index.wishlists()).register(registry);
+        Gauge.builder("recommendations.cooccurrence.entries", this, s -> s.index.entries()).register(registry);
+        Gauge.builder("recommendations.cooccurrence.pairs", this, s -> s.index.pairs()).register(registry);
+    }
+
+    /**
+     * Items most often saved in the same wishlists as item {@code id}, best
+     * first, scored by cosine similarity (0-1).
+     */
+    public List<ScoredItem> alsoSaved(long id, int limit) {
+        List<CooccurrenceIndex.Neighbour> related = index.related(id, limit);
+        List<ScoredItem> result = new ArrayList<>(related.size());
+        for (CooccurrenceIndex.Neighbour n : related) {
+            // items removed from the catalog may linger until the next rebuild
+            catalogIndex.item(n.itemId()).ifPresent(item -> result.add(new ScoredItem(item, n.score())));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistItemsChangedEvent event) {
+        swapLock.lock();
+        try {
+            apply(index, event);
+            if (pending != null) pending.add(event);
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requestRebuild() {
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                swapLock.lock();
+                try {
+                    pending = null;
+                } finally {
+                    swapLock.unlock();
+                }
+                log.error("Wishlist co-occurrence rebuild failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        swapLock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            swapLock.unlock();
+        }
+
+        AtomicInteger n = new AtomicInteger();
+        ExecutorService loaders = Executors.newFixedThreadPool(partitions, r -> {
+            Thread t = new Thread(r, "cooccurrence-load-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        CooccurrenceIndex fresh;
+        try {
+            List<CompletableFuture<CooccurrenceIndex>> parts = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                parts.add(CompletableFuture.supplyAsync(() -> load(partition), loaders));
+            }
+            fresh = parts.get(0).join();
+            for (int p = 1; p < partitions; p++) {
+                fresh.merge(parts.get(p).join());
+            }
+        } finally {
+            loaders.shutdown();
+        }
+
+        int replayed;
+        swapLock.lock();
+        try {
+            replayed = pending.size();
+            pending.forEach(event -> apply(fresh, event));
+            pending = null;
+            index = fresh;
+        } finally {
+            swapLock.unlock();
+        }
+        log.info("Wishlist co-occurrence rebuilt from {} wishlists ({} entries, {} pairs, ~{} MB) "
+                 + "in {} ms using {} partitions; {} changes replayed",
+                 fresh.wishlists(), fresh.entries(), fresh.pairs(), fresh.estimatedBytes() >> 20,
+                 (System.nanoTime() - start) / 1_000_000, partitions, replayed);
+    }
+
+    // Postgres only streams with a fetch size inside a transaction
+    private CooccurrenceIndex load(int partition) {
+        CooccurrenceIndex part = new CooccurrenceIndex();
+        readOnlyTx.executeWithoutResult(status -> jdbc.query(
+            "SELECT wishlist_id, clothing_item_id FROM wishlist_item WHERE mod(wishlist_id, ?) = ?",
+            (RowCallbackHandler) rs -> part.add(rs.getLong(1), rs.getLong(2)),
+            partitions, partition));
+        return part;
+    }
+
+    private static void apply(CooccurrenceIndex target, WishlistItemsChangedEvent event) {
+        for (Long itemId : event.clothingItemIds()) {
+            if (event.removed()) {
+                target.remove(event.wishlistId(), itemId);
+            } else {
+                target.add(event.wishlistId(), itemId);
+            }
+        }
+    }
+}
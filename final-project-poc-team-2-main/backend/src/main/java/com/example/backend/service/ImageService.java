@@ -0,0 +1,327 @@
+package com.example.backend.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds catalog images on disk. {@code ClothingItem.imageUrl} holds a bare
+ * file name; the originals live in the image_run_* folders under
+ * images.root, and names are resolved only through a scan of that tree,
+ * never by joining request input onto a path.
+ *
+ * After each scan, {@link ThumbnailGenerator} runs in the background for
+ * originals that are new or changed since the last run. What it made is
+ * recorded in manifest.tsv next to the thumbnails (name, size, modification
+ * time, content hash, widths, perceptual hash), so a restart only hashes and
+ * decodes files that changed. Until an image has thumbnails its original is
+ * served. The tree is rescanned whenever the catalog is rebuilt, which is
+ * when an import may have brought new images; every scan ends with an
+ * {@link ImagesScannedEvent}.
+ */
+@Service
+public class ImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageService.class);
+
+    private static final String MANIFEST = "manifest.tsv";
+    private static final MediaType WEBP = MediaType.parseMediaType("image/webp");
+    private static final MediaType AVIF = MediaType.parseMediaType("image/avif");
+    private static final Map<String, MediaType> TYPES = Map.of(
+        "jpg", MediaType.IMAGE_JPEG, "jpeg", MediaType.IMAGE_JPEG,
+        "png", MediaType.IMAGE_PNG, "gif", MediaType.IMAGE_GIF,
+        "webp", WEBP, "avif", AVIF);
+
+    /** A file ready to send, with a strong ETag for its exact bytes. */
+    public record ImageFile(Path path, long size, long lastModified, MediaType contentType, String etag) {}
+
+    /**
+     * An original and, once generated, its content hash, thumbnail widths and
+     * perceptual hash ({@code null} when it could not be decoded).
+     */
+    private record Original(Path path, long size, long lastModified, MediaType type,
+                            String hash, int[] widths, Long perceptualHash) {
+
+        boolean sameFile(Original other) {
+            return other != null && size == other.size && lastModified == other.lastModified;
+        }
+
+        Original withThumbnails(String hash, int[] widths, Long perceptualHash) {
+            return new Original(path, size, lastModified, type, hash, widths, perceptualHash);
+        }
+    }
+
+    private final Path root;
+    private final Path thumbnailDir;
+    private final ThumbnailGenerator generator;
+    private final ForkJoinPool pool;
+    private final ApplicationEventPublisher events;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+    // collapses a burst of refresh requests into one pending run
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private volatile Map<String, Original> originals = Map.of();
+
+    public ImageService(@Value("${images.root:../clothing-script/images}") String root,
+                        @Value("${images.thumbnails.dir:../clothing-script/thumbnails}") String thumbnailDir,
+                        @Value("${images.thumbnails.widths:160,320,640}") int[] widths,
+                        @Value("${images.thumbnails.quality:0.8}") float quality,
+                        @Value("${images.thumbnails.parallelism:0}") int parallelism,
+                        ApplicationEventPublisher events) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.thumbnailDir = Path.of(thumbnailDir).toAbsolutePath().normalize();
+        this.generator = new ThumbnailGenerator(this.thumbnailDir, widths, quality);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.events = events;
+        // registers the WebP reader; ImageIO only looks on the classpath it started with
+        ImageIO.scanForPlugins();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /**
+     * The image named {@code name}: the smallest thumbnail at least
+     * {@code width} pixels wide, or the original when {@code width} is
+     * {@code null}, larger than every thumbnail, or none exist yet.
+     */
+    public Optional<ImageFile> find(String name, Integer width) {
+        Original original = originals.get(name);
+        if (original == null) return Optional.empty();
+
+        if (width != null && original.hash() != null) {
+            for (int w : original.widths()) {
+                if (w >= width) {
+                    Optional<ImageFile> thumbnail = file(ThumbnailGenerator.path(thumbnailDir, original.hash(), w),
+                                                         MediaType.IMAGE_JPEG, original.hash() + "-" + w);
+                    if (thumbnail.isPresent()) return thumbnail;
+                    break;
+                }
+            }
+        }
+        String tag = original.hash() != null
+            ? original.hash()
+            : Long.toHexString(original.size()) + "-" + Long.toHexString(original.lastModified());
+        return file(original.path(), original.type(), tag);
+    }
+
+    /** The perceptual hash of the image named {@code name}, once it has been decoded. */
+    public OptionalLong perceptualHash(String name) {
+        Original original = originals.get(name);
+        return original == null || original.perceptualHash() == null
+            ? OptionalLong.empty() : OptionalLong.of(original.perceptualHash());
+    }
+
+    /** Perceptual hash by image name, for every image decoded so far. */
+    public Map<String, Long> perceptualHashes() {
+        Map<String, Long> hashes = new HashMap<>();
+        for (Map.Entry<String, Original> e : originals.entrySet()) {
+            Long hash = e.getValue().perceptualHash();
+            if (hash != null) hashes.put(e.getKey(), hash);
+        }
+        return hashes;
+    }
+
+    // stat again: the file may have been replaced or removed since the scan
+    private static Optional<ImageFile> file(Path path, MediaType type, String tag) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return Optional.empty();
+            return Optional.of(new ImageFile(path, attrs.size(), attrs.lastModifiedTime().toMillis(), type,
+                                             "\"" + tag + "\""));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Could not read {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The type from the file's first bytes, falling back to its extension.
+     * Some files in the image runs are AVIF under a .png name.
+     */
+    static MediaType contentType(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int n;
+        try (InputStream in = Files.newInputStream(file)) {
+            n = in.readNBytes(head, 0, head.length);
+        }
+        // ISO-8859-1 maps each byte to the char of the same value
+        String ascii = new String(head, 0, n, StandardCharsets.ISO_8859_1);
+        if (ascii.startsWith("\u00ff\u00d8\u00ff")) return MediaType.IMAGE_JPEG;
+        if (ascii.startsWith("\u0089PNG")) return MediaType.IMAGE_PNG;
+        if (ascii.startsWith("GIF8")) return MediaType.IMAGE_GIF;
+        if (ascii.startsWith("RIFF") && ascii.startsWith("WEBP", 8)) return WEBP;
+        if (ascii.startsWith("ftypavi", 4)) return AVIF;
+
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String ext = dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return TYPES.getOrDefault(ext, MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    /* ---------- SCAN + THUMBNAILS ---------- */
+
+    // the catalog is also rebuilt once at startup, which triggers the first scan
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRebuild()) requestRefresh();
+    }
+
+    private void requestRefresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    private void refresh() {
+        long start = System.nanoTime();
+        Map<String, Original> scanned;
+        try {
+            scanned = scan();
+        } catch (IOException e) {
+            log.warn("Could not scan images under {}", root, e);
+            return;
+        }
+        Map<String, Original> known = readManifest();
+
+        // carry over what is still valid, and serve originals right away for the rest
+        Map<String, Original> current = new HashMap<>(scanned.size());
+        List<Path> stale = new ArrayList<>();
+        for (Original o : scanned.values()) {
+            String name = o.path().getFileName().toString();
+            Original previous = known.get(name);
+            if (o.sameFile(previous)) {
+                current.put(name, o.withThumbnails(previous.hash(), previous.widths(), previous.perceptualHash()));
+            } else {
+                current.put(name, o);
+                stale.add(o.path());
+            }
+        }
+        originals = Map.copyOf(current);
+        if (stale.isEmpty()) {
+            events.publishEvent(new ImagesScannedEvent(current.size(), 0));
+            return;
+        }
+
+        Map<Path, ThumbnailGenerator.Result> made = generator.generate(stale, pool);
+        for (Map.Entry<Path, ThumbnailGenerator.Result> e : made.entrySet()) {
+            String name = e.getKey().getFileName().toString();
+            Original o = current.get(name);
+            ThumbnailGenerator.Result result = e.getValue();
+            current.put(name, o.withThumbnails(result.hash(), result.widths(), result.perceptualHash()));
+        }
+        originals = Map.copyOf(current);
+        writeManifest(current);
+        log.info("Thumbnails for {} of {} images made in {} ms",
+                 made.size(), current.size(), (System.nanoTime() - start) / 1_000_000);
+        events.publishEvent(new ImagesScannedEvent(current.size(), made.size()));
+    }
+
+    // first file of a given name wins; walk order is sorted so that is stable
+    private Map<String, Original> scan() throws IOException {
+        if (!Files.isDirectory(root)) {
+            log.info("No image directory at {}", root);
+            return Map.of();
+        }
+        Map<String, Original> found = new HashMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path p : files.filter(Files::isRegularFile).sorted().toList()) {
+                String name = p.getFileName().toString();
+                // a tab would break the manifest line
+                if (name.startsWith(".") || name.indexOf('\t') >= 0 || found.containsKey(name)) continue;
+                BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+                found.put(name, new Original(p, attrs.size(), attrs.lastModifiedTime().toMillis(), contentType(p),
+                                        null, null, null));
+            }
+        }
+        return found;
+    }
+
+    private Map<String, Original> readManifest() {
+        Path file = thumbnailDir.resolve(MANIFEST);
+        Map<String, Original> entries = new HashMap<>();
+        if (!Files.exists(file)) return entries;
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                // lines from before perceptual hashes had five fields; those files are redone
+                if (f.length != 6) continue;
+                int[] widths = f[4].isEmpty() ? new int[0]
+                    : Arrays.stream(f[4].split(",")).mapToInt(Integer::parseInt).toArray();
+                Long perceptualHash = f[5].isEmpty() ? null : Long.parseUnsignedLong(f[5], 16);
+                entries.put(f[0], new Original(null, Long.parseLong(f[1]), Long.parseLong(f[2]), null,
+                                               f[3], widths, perceptualHash));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable thumbnail manifest {}", file, e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeManifest(Map<String, Original> entries) {
+        try {
+            Files.createDirectories(thumbnailDir);
+            Path tmp = Files.createTempFile(thumbnailDir, MANIFEST, ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp)) {
+                for (Map.Entry<String, Original> e : entries.entrySet()) {
+                    Original o = e.getValue();
+                    if (o.hash() == null) continue;
+                    out.write(e.getKey() + "\t" + o.size() + "\t" + o.lastModified() + "\t" + o.hash() + "\t"
+                              + Arrays.stream(o.widths()).mapToObj(Integer::toString).collect(Collectors.joining(","))
+                              + "\t" + (o.perceptualHash() == null ? "" : Long.toHexString(o.perceptualHash())));
+                    out.newLine();
+                }
+            }
+            Files.move(tmp, thumbnailDir.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write thumbnail manifest in {}", thumbnailDir, e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.service;
+
+/**
+ * Published by {@link ImageService} at the end of every scan of the image
+ * tree, once {@link ImageService#perceptualHash} reflects it. {@code processed}
+ * is how many originals were new or changed and have just been decoded.
+ */
+public record ImagesScannedEvent(int images, int processed) {}
@@ -0,0 +1,104 @@
+package com.example.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs password hashing (BCrypt, deliberately CPU-heavy) on a dedicated pool
+ * with at most one thread per core and a bounded queue. When the queue is
+ * full, submitting throws {@link RejectedExecutionException} right away so
+ * the caller can answer 503 instead of piling up; request threads never do
+ * the hashing themselves.
+ *
+ * Metrics: auth.password.hash (hashing time, by op), auth.password.queue.wait,
+ * auth.password.queue.depth, auth.password.active and auth.password.rejected.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder encoder,
+                                  MeterRegistry registry,
+                                  @Value("${auth.bcrypt.threads:0}") int threads,
+                                  @Value("${auth.bcrypt.queue-capacity:64}") int queueCapacity) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int size = threads <= 0 ? cores : Math.min(threads, cores);
+        AtomicInteger n = new AtomicInteger();
+        this.encoder = encoder;
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").register(registry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("op", "matches").register(registry);
+        this.queueWait = Timer.builder("auth.password.queue.wait").register(registry);
+        this.rejected = Counter.builder("auth.password.rejected").register(registry);
+        Gauge.builder("auth.password.queue.depth", pool, p -> p.getQueue().size()).register(registry);
+        Gauge.builder("auth.password.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+        log.info("Password hashing pool: {} threads, queue of {}", size, queueCapacity);
+    }
+
+    /** @throws RejectedExecutionException if the pool is saturated */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    /** @throws RejectedExecutionException if the pool is saturated */
+    public CompletableFuture<Boolean> matches(String rawPassword, String hash) {
+        return submit(matchTimer, () -> encoder.matches(rawPassword, hash));
+    }
+
+    /** True when {@code hash} was made with a lower cost factor than the one configured now. */
+    public boolean needsRehash(String hash) {
+        return encoder.upgradeEncoding(hash);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.index.ClothingFacet;
+import com.example.backend.util.ColorNames;
+import com.example.backend.util.PriceRange;
+
+/**
+ * A user's survey answers compiled into soft preferences: for each facet a
+ * weight in (0, 1] per preferred value, plus an optional budget. Items are
+ * scored by how much of the profile they satisfy instead of being dropped
+ * the moment one attribute misses.
+ */
+public record PreferenceProfile(Map<ClothingFacet, Map<String, Double>> preferences,
+                                PriceRange budget) {
+
+    private static final Map<ClothingFacet, Double> FACET_WEIGHTS = new EnumMap<>(Map.of(
+        ClothingFacet.COLOR, 1.0,
+        ClothingFacet.MATERIAL, 1.0,
+        ClothingFacet.PATTERN, 1.0,
+        ClothingFacet.TYPE_OF_CLOTHING, 0.75,
+        ClothingFacet.GENDER, 0.5,
+        ClothingFacet.EVENTS, 0.5
+    ));
+    private static final double BUDGET_WEIGHT = 1.5;
+    // how far outside the budget (in cents) an item may be before it earns nothing
+    private static final int MIN_BUDGET_TOLERANCE = 2000;
+
+    public boolean isEmpty() {
+        return preferences.isEmpty() && budget == null;
+    }
+
+    public double score(ClothingItemDTO item) {
+        double score = 0;
+        for (Map.Entry<ClothingFacet, Map<String, Double>> e : preferences.entrySet()) {
+            ClothingFacet facet = e.getKey();
+            double best = 0;
+            if (facet == ClothingFacet.COLOR) {
+                best = e.getValue().getOrDefault(ColorNames.normalize(item.getColor()), 0.0);
+            } else {
+                for (String value : facet.valuesOf(item)) {
+                    best = Math.max(best, e.getValue().getOrDefault(value, 0.0));
+                }
+            }
+            score += FACET_WEIGHTS.get(facet) * best;
+        }
+        if (budget != null) {
+            score += BUDGET_WEIGHT * budgetFit(item);
+        }
+        return score;
+    }
+
+    /** 1 inside the budget, falling linearly to 0 as the price moves away from it. */
+    private double budgetFit(ClothingItemDTO item) {
+        Integer min = item.getPriceMinCents();
+        if (min == null) return 0;
+        int max = item.getPriceMaxCents() == null ? PriceRange.OPEN_ENDED : item.getPriceMaxCents();
+
+        long gap;
+        if (min > budget.maxCents()) gap = (long) min - budget.maxCents();
+        else if (max < budget.minCents()) gap = (long) budget.minCents() - max;
+        else return 1;
+
+        int tolerance = budget.isOpenEnded()
+            ? Math.max(budget.minCents() / 2, MIN_BUDGET_TOLERANCE)
+            : Math.max(budget.maxCents() - budget.minCents(), MIN_BUDGET_TOLERANCE);
+        return Math.max(0, 1 - (double) gap / tolerance);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.service;
+
+import java.sql.Types;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.model.ClothingItem;
+import com.example.backend.util.PriceRange;
+
+/**
+ * Fills price_min_cents / price_max_cents for rows that were inserted before
+ * the columns existed or by a loader that does not set them. Runs once at
+ * startup, before the catalog index is built.
+ *
+ * Rows are read and written with JDBC, BATCH_SIZE at a time in id order, so
+ * a large unpriced catalog is never held in memory at once. Each batch
+ * resumes after the last id of the one before, which also steps over rows
+ * whose pricing text does not parse and so stay null. ClothingItem is cached
+ * read-only, so its cache region is evicted afterwards.
+ */
+@Service
+public class PriceBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceBackfillService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private record Unpriced(long id, PriceRange range) {}
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PriceBackfillService(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        long afterId = Long.MIN_VALUE;
+        int updated = 0;
+        while (true) {
+            List<Unpriced> batch = jdbc.query("""
+                    SELECT id, estimated_pricing FROM clothing_item
+                    WHERE price_min_cents IS NULL AND estimated_pricing IS NOT NULL AND id > ?
+                    ORDER BY id LIMIT ?""",
+                (rs, n) -> new Unpriced(rs.getLong(1), PriceRange.parse(rs.getString(2))),
+                afterId, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).id();
+            List<Unpriced> parsed = batch.stream().filter(row -> row.range() != null).toList();
+            jdbc.batchUpdate("UPDATE clothing_item SET price_min_cents = ?, price_max_cents = ? WHERE id = ?",
+                             parsed, BATCH_SIZE, (ps, row) -> {
+                // the same mapping as ClothingItem on insert
+                ps.setInt(1, row.range().minCents());
+                ps.setObject(2, row.range().isOpenEnded() ? null : row.range().maxCents(), Types.INTEGER);
+                ps.setLong(3, row.id());
+            });
+            updated += parsed.size();
+        }
+        if (updated > 0) {
+            entityManagerFactory.getCache().evict(ClothingItem.class);
+            log.info("Parsed prices for {} clothing items", updated);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.model.Survey;
+import com.example.backend.repository.SurveyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Survey-driven recommendations ranked over the in-memory catalog.
+ *
+ * A user's profile is compiled when their survey is saved (or on first use
+ * after a restart). Ranked results are cached per user together with the
+ * catalog version they were computed against, so a new survey or any catalog
+ * change makes the next request recompute.
+ *
+ * Both are kept for at most recommendations.cache.max-size users and dropped
+ * once unused for recommendations.cache.expire-after-access, so idle and
+ * deleted accounts do not hold on to their rankings.
+ */
+@Service
+public class RecommendationService {
+
+    /** Results kept per user; requests for fewer are served from the same list. */
+    public static final int MAX_RESULTS = 100;
+
+    private record Cached(PreferenceProfile profile, long catalogVersion, List<ScoredItem> items) {}
+
+    private final CatalogIndexService catalog;
+    private final SurveyRepository surveyRepository;
+    private final SurveyProfileCompiler compiler;
+
+    private final Cache<Long, PreferenceProfile> profiles;
+    private final Cache<Long, Cached> results;
+
+    public RecommendationService(CatalogIndexService catalog,
+                                 SurveyRepository surveyRepository,
+                                 SurveyProfileCompiler compiler,
+                                 @Value("${recommendations.cache.max-size:10000}") long maxSize,
+                                 @Value("${recommendations.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.catalog = catalog;
+        this.surveyRepository = surveyRepository;
+        this.compiler = compiler;
+        this.profiles = cache(maxSize, expireAfterAccess);
+        this.results = cache(maxSize, expireAfterAccess);
+    }
+
+    private static <V> Cache<Long, V> cache(long maxSize, Duration expireAfterAccess) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maxSize);
+        if (!expireAfterAccess.isZero()) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+        return builder.build();
+    }
+
+    /** Recompiles the user's profile and drops their cached ranking. */
+    public void onSurveySaved(Long userId, Survey survey) {
+        profiles.put(userId, compiler.compile(survey.getAnswers()));
+        results.invalidate(userId);
+    }
+
+    /** Forgets everything held for a deleted account. */
+    public void onUserDeleted(Long userId) {
+        profiles.invalidate(userId);
+        results.invalidate(userId);
+    }
+
+    /** Empty when the user has not taken the survey. */
+    public Optional<List<ScoredItem>> recommend(Long userId, int limit) {
+        PreferenceProfile profile = profiles.getIfPresent(userId);
+        if (profile == null) {
+            Optional<Survey> survey = surveyRepository.findByUserId(userId);
+            if (survey.isEmpty()) return Optional.empty();
+            profile = compiler.compile(survey.get().getAnswers());
+            profiles.put(userId, profile);
+        }
+
+        long version = catalog.version();
+        Cached cached = results.getIfPresent(userId);
+        // the profile check also catches a ranking raced in from before a survey update
+        if (cached == null || cached.catalogVersion() != version || cached.profile() != profile) {
+            PreferenceProfile p = profile;
+            cached = new Cached(p, version, p.isEmpty() ? List.of() : catalog.topK(p::score, MAX_RESULTS));
+            results.put(userId, cached);
+        }
+        List<ScoredItem> items = cached.items();
+        return Optional.of(items.subList(0, Math.min(limit, items.size())));
+    }
+}
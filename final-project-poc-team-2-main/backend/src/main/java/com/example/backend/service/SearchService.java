@@ -0,0 +1,51 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.SearchIndex;
+
+/**
+ * Owns the full-text {@link SearchIndex} and keeps it in step with the catalog
+ * index: single-item changes are applied in place, full rebuilds reload it.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final CatalogIndexService catalog;
+    private volatile SearchIndex index = new SearchIndex();
+
+    public SearchService(CatalogIndexService catalog) {
+        this.catalog = catalog;
+    }
+
+    public List<ScoredItem> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRebuild()) {
+            long start = System.nanoTime();
+            SearchIndex fresh = SearchIndex.build(catalog.items());
+            index = fresh;
+            log.info("Search index rebuilt with {} items in {} ms",
+                     fresh.size(), (System.nanoTime() - start) / 1_000_000);
+        } else if (event.change().removed()) {
+            index.remove(event.change().item().getId());
+        } else {
+            index.upsert(event.change().item());
+        }
+    }
+}
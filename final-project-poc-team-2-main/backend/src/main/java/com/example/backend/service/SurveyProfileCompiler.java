@@ -0,0 +1,162 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.example.backend.index.ClothingFacet;
+import com.example.backend.util.PriceRange;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Turns the survey's q1..q16 answers into a {@link PreferenceProfile}.
+ *
+ * The answer → attribute tables are the ones the curated page used to apply
+ * as hard filters (mapSurveyToFilters in CuratedClothingPage.tsx). Here every
+ * question that mentions a value adds to its weight, so a colour picked by
+ * both q5 and q10 counts more than one picked once.
+ */
+@Component
+public class SurveyProfileCompiler {
+
+    private static final Map<String, List<String>> COLORS = Map.of(
+        // q5
+        "neutral", List.of("white", "black", "gray", "beige"),
+        "contrast", List.of("blue", "green", "purple", "red", "yellow", "white", "beige", "black"),
+        "mood", List.of("pink", "purple", "red", "blue", "yellow", "orange", "green"),
+        // q10
+        "cottage", List.of("green", "brown", "beige"),
+        "studio", List.of("red", "purple", "black"),
+        "beach", List.of("blue", "yellow", "white"),
+        "cafe", List.of("orange", "gray", "pink")
+    );
+
+    private static final Map<String, List<String>> MATERIALS = Map.ofEntries(
+        // q2
+        Map.entry("streetwear_poly", List.of("polyester", "faux fur", "nylon", "leather")),
+        Map.entry("casual_denim", List.of("denim", "cotton blend", "knit cotton", "fleece")),
+        Map.entry("minimalist", List.of("linen", "wool blend", "knitted fabric", "suede leather")),
+        // q7
+        Map.entry("active", List.of("polyester", "cotton", "nylon", "spandex")),
+        Map.entry("home", List.of("flannel", "knit fabric", "fleece", "cotton blend")),
+        Map.entry("creating", List.of("denim", "silk", "knitted cotton", "lace")),
+        Map.entry("night", List.of("leather", "suede leather", "wool", "silk")),
+        // q15
+        Map.entry("love", List.of("leather", "faux fur", "lace", "denim with sherpa lining")),
+        Map.entry("tolerate", List.of("cotton", "knit cotton", "polyester", "flannel")),
+        Map.entry("avoid", List.of("linen", "wool blend", "knitted fabric", "suede leather")),
+        Map.entry("ignore", List.of("cotton blend", "denim", "nylon", "gray jersey"))
+    );
+
+    private static final Map<String, List<String>> PATTERNS = Map.ofEntries(
+        // q1
+        Map.entry("casual", List.of("solid", "striped", "ribbed", "knitted", "distressed",
+                                    "solid with subtle texture", "checkered")),
+        Map.entry("formal", List.of("plaid", "windowpane check", "lace", "lace inset", "solid with lace detail",
+                                    "textured knit", "solid with mesh panels")),
+        Map.entry("streetwear", List.of("graphic", "graphic print", "logo print", "color block", "animal print",
+                                        "abstract swirl", "text print", "solid with text")),
+        // q2
+        Map.entry("streetwear_poly", List.of("graphic", "logo print", "color block", "abstract swirl",
+                                             "animal print", "text print", "solid with text", "distressed")),
+        Map.entry("casual_denim", List.of("checkered", "checked", "striped", "ribbed", "knitted",
+                                          "solid with subtle texture", "textured")),
+        Map.entry("minimalist", List.of("solid", "solid with mesh panels", "solid with lace detail",
+                                        "lace inset", "lace", "quilted", "eyelet", "cable knit", "windowpane check")),
+        // q11
+        Map.entry("graphic", List.of("graphic", "graphic print", "logo print", "text print", "abstract",
+                                     "abstract swirl", "color block", "animal print")),
+        Map.entry("solid", List.of("solid", "solid with subtle texture", "solid with lace detail",
+                                   "solid with mesh panels", "solid with text")),
+        Map.entry("pattern", List.of("striped", "checkered", "checked", "plaid", "polka dot", "windowpane check"))
+    );
+
+    private static final Map<String, List<String>> TYPES = Map.of(
+        // q14
+        "bottom", List.of("pants", "jeans", "skirt", "shorts", "trousers"),
+        "top", List.of("shirt", "t-shirt", "top", "blouse", "sweater", "tank top"),
+        "layer", List.of("jacket", "coat", "hoodie", "cardigan", "blazer", "vest")
+    );
+
+    public PreferenceProfile compile(JsonNode answers) {
+        Map<String, List<String>> byQuestion = flatten(answers);
+
+        Map<ClothingFacet, Map<String, Double>> preferences = new EnumMap<>(ClothingFacet.class);
+        addWeights(preferences, ClothingFacet.COLOR, byQuestion, COLORS, "q5", "q10");
+        addWeights(preferences, ClothingFacet.MATERIAL, byQuestion, MATERIALS, "q2", "q7", "q15");
+        addWeights(preferences, ClothingFacet.PATTERN, byQuestion, PATTERNS, "q1", "q2", "q11");
+        addWeights(preferences, ClothingFacet.TYPE_OF_CLOTHING, byQuestion, TYPES, "q14");
+
+        // q16 is the explicit budget; q4 is the closest thing when it was skipped
+        PriceRange budget = first(byQuestion, "q16") != null
+            ? PriceRange.parse(first(byQuestion, "q16"))
+            : PriceRange.parse(first(byQuestion, "q4"));
+        return new PreferenceProfile(preferences, budget);
+    }
+
+    private static void addWeights(Map<ClothingFacet, Map<String, Double>> preferences,
+                                   ClothingFacet facet,
+                                   Map<String, List<String>> byQuestion,
+                                   Map<String, List<String>> mapping,
+                                   String... questions) {
+        Map<String, Double> weights = new HashMap<>();
+        for (String q : questions) {
+            for (String answer : byQuestion.getOrDefault(q, List.of())) {
+                // an answer with no mapping is taken literally, as the frontend did
+                for (String value : mapping.getOrDefault(answer, List.of(answer))) {
+                    weights.merge(value, 1.0, Double::sum);
+                }
+            }
+        }
+        if (weights.isEmpty()) return;
+
+        double max = weights.values().stream().mapToDouble(Double::doubleValue).max().orElse(1);
+        weights.replaceAll((value, w) -> w / max);
+        preferences.put(facet, weights);
+    }
+
+    /**
+     * Accepts both shapes the frontend has sent: a plain {"q1": "casual", ...}
+     * object and the [{"question": "q1", "answer": "casual"}, ...] list that
+     * Survey.tsx posts. Answers may themselves be arrays.
+     */
+    private static Map<String, List<String>> flatten(JsonNode answers) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        if (answers == null) return result;
+
+        if (answers.isArray()) {
+            for (JsonNode entry : answers) {
+                collect(result, entry.path("question").asText(""), entry.get("answer"));
+            }
+        } else {
+            answers.fields().forEachRemaining(e -> collect(result, e.getKey(), e.getValue()));
+        }
+        return result;
+    }
+
+    private static void collect(Map<String, List<String>> result, String question, JsonNode answer) {
+        if (question.isEmpty() || answer == null || answer.isNull()) return;
+        List<String> values = result.computeIfAbsent(question, q -> new ArrayList<>());
+        if (answer.isArray()) {
+            answer.forEach(a -> addValue(values, a.asText()));
+        } else {
+            addValue(values, answer.asText());
+        }
+    }
+
+    private static void addValue(List<String> values, String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (!v.isEmpty()) values.add(v);
+    }
+
+    private static String first(Map<String, List<String>> byQuestion, String question) {
+        List<String> values = byQuestion.get(question);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.index.DecayingCounters;
+
+/**
+ * "Trending now": clothing items ranked by how often they were saved to a
+ * wishlist lately, each save's weight halving every
+ * {@code trending.half-life}.
+ *
+ * Saves are counted in memory in {@link DecayingCounters}, without locks, as
+ * their transactions commit. A top-{@code trending.size} list is recomputed
+ * every {@code trending.refresh-ms} and swapped in whole, so requests only
+ * read a field. Every {@code trending.checkpoint-ms}, and at shutdown, the
+ * scores are written to trending_score and reloaded from there at startup,
+ * along with any saves made after it. Without a checkpoint the scores are
+ * seeded from wishlist_item.added_at.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    // below this a score is not worth keeping: one save, about 6.6 half-lives ago
+    private static final double MIN_SCORE = 0.01;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final CatalogIndexService catalogIndex;
+    private final Duration halfLife;
+    private final int size;
+    private final DecayingCounters counters;
+    private volatile List<ScoredItem> top = List.of();
+
+    public TrendingService(DataSource dataSource,
+                           PlatformTransactionManager txManager,
+                           CatalogIndexService catalogIndex,
+                           @Value("${trending.half-life:24h}") Duration halfLife,
+                           @Value("${trending.size:100}") int size) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.tx = new TransactionTemplate(txManager);
+        this.catalogIndex = catalogIndex;
+        this.halfLife = halfLife;
+        this.size = size;
+        this.counters = new DecayingCounters(halfLife, System.currentTimeMillis());
+    }
+
+    /** The {@code limit} items trending most, highest score first, as of the last refresh. */
+    public List<ScoredItem> trending(int limit) {
+        List<ScoredItem> current = top;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWishlistChanged(WishlistItemsChangedEvent event) {
+        if (event.removed()) return;
+        long now = System.currentTimeMillis();
+        for (Long itemId : event.clothingItemIds()) {
+            counters.add(itemId, 1, now);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        int[] rows = new int[1];
+        long[] asOf = { Long.MIN_VALUE };
+        jdbc.query("SELECT clothing_item_id, score, as_of FROM trending_score", rs -> {
+            long at = rs.getTimestamp(3).getTime();
+            counters.add(rs.getLong(1), rs.getDouble(2), at);
+            asOf[0] = Math.max(asOf[0], at);
+            rows[0]++;
+        });
+        String source;
+        if (rows[0] > 0) {
+            // saves committed after the checkpoint, lost if the last run did not shut down cleanly
+            int[] replayed = new int[1];
+            jdbc.query("SELECT clothing_item_id, added_at FROM wishlist_item WHERE added_at > ?",
+                       rs -> {
+                           counters.add(rs.getLong(1), 1, rs.getTimestamp(2).getTime());
+                           replayed[0]++;
+                       },
+                       new Timestamp(asOf[0]));
+            source = "checkpoint and " + replayed[0] + " later saves";
+        } else {
+            source = "wishlist_item";
+            // the same decay, summed in the database: 0.5 ^ (age / half-life)
+            jdbc.query("SELECT clothing_item_id, sum(power(0.5, extract(epoch FROM ? - added_at) * 1000 / ?))"
+                       + " FROM wishlist_item WHERE added_at IS NOT NULL GROUP BY clothing_item_id",
+                       rs -> {
+                           counters.add(rs.getLong(1), rs.getDouble(2), now);
+                           rows[0]++;
+                       },
+                       new Timestamp(now), (double) halfLife.toMillis());
+        }
+        refresh();
+        log.info("Trending scores restored for {} items from {}", rows[0], source);
+    }
+
+    // the first catalog load may land after restore(), which then found no items to show
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRebuild()) refresh();
+    }
+
+    @Scheduled(initialDelayString = "${trending.refresh-ms:10000}", fixedDelayString = "${trending.refresh-ms:10000}")
+    public void refresh() {
+        List<DecayingCounters.Scored> best = counters.top(size, System.currentTimeMillis());
+        List<ScoredItem> items = new ArrayList<>(best.size());
+        for (DecayingCounters.Scored s : best) {
+            // removed items keep their score until it decays away
+            catalogIndex.item(s.key()).ifPresent(item -> items.add(new ScoredItem(item, s.score())));
+        }
+        top = List.copyOf(items);
+    }
+
+    @Scheduled(initialDelayString = "${trending.checkpoint-ms:60000}", fixedDelayString = "${trending.checkpoint-ms:60000}")
+    public void checkpoint() {
+        long now = System.currentTimeMillis();
+        counters.rebase(now, MIN_SCORE);
+        List<Long> ids = new ArrayList<>(counters.size());
+        List<Double> scores = new ArrayList<>(counters.size());
+        counters.forEach(now, (id, score) -> {
+            if (score >= MIN_SCORE) {
+                ids.add(id);
+                scores.add(score);
+            }
+        });
+        tx.executeWithoutResult(status -> {
+            // one statement each however many items there are
+            jdbc.update("DELETE FROM trending_score");
+            jdbc.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO trending_score (clothing_item_id, score, as_of)"
+                    + " SELECT id, score, ? FROM unnest(?::bigint[], ?::float8[]) AS v(id, score)");
+                ps.setTimestamp(1, new Timestamp(now));
+                ps.setArray(2, con.createArrayOf("bigint", ids.toArray()));
+                ps.setArray(3, con.createArrayOf("float8", scores.toArray()));
+                return ps;
+            });
+        });
+        log.debug("Trending scores checkpointed for {} items", ids.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.warn("Could not checkpoint trending scores at shutdown", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.backend.service;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.SimilarItem;
+import com.example.backend.index.HammingIndex;
+import com.example.backend.model.ClothingItem;
+
+/**
+ * Finds catalog items whose pictures look alike, by the Hamming distance
+ * between the perceptual hashes of their images.
+ *
+ * {@link ImageService} hashes every image it can decode. Those hashes are
+ * copied onto clothing_item.image_hash in one statement whenever the images
+ * are rescanned or the catalog changes, which also covers rows imported
+ * before their image was first seen. The (id, hash) pairs are then read back
+ * into a {@link HammingIndex} that is swapped in atomically, so a lookup never
+ * touches the database. Like the catalog snapshot, the work runs on a
+ * background thread and bursts of triggers collapse into one run.
+ */
+@Service
+public class VisualSimilarityService {
+
+    private static final Logger log = LoggerFactory.getLogger(VisualSimilarityService.class);
+
+    /** The closest item found for a hash, and its distance. */
+    public record Match(long id, int distance) {}
+
+    // ascending distance, then id, so results are stable
+    private static final Comparator<Match> CLOSEST_FIRST =
+        Comparator.comparingInt(Match::distance).thenComparingLong(Match::id);
+
+    /** What a search runs against: the index, and each item's hash by id for looking up the query. */
+    private record Snapshot(HammingIndex index, long[] ids, long[] hashes) {
+
+        static final Snapshot EMPTY = new Snapshot(new HammingIndex(), new long[0], new long[0]);
+
+        Long hashOf(long id) {
+            int i = Arrays.binarySearch(ids, id);
+            return i < 0 ? null : hashes[i];
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final ImageService images;
+    private final CatalogIndexService catalogIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExecutorService syncer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "visual-similarity");
+        t.setDaemon(true);
+        return t;
+    });
+    // collapses a burst of sync requests into one pending run
+    private final AtomicBoolean syncQueued = new AtomicBoolean();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public VisualSimilarityService(DataSource dataSource,
+                                   ImageService images,
+                                   CatalogIndexService catalogIndex,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.images = images;
+        this.catalogIndex = catalogIndex;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncer.shutdownNow();
+    }
+
+    /**
+     * Items whose image is within {@code maxDistance} bits of item
+     * {@code id}'s, closest first, not including the item itself. Empty
+     * when the item's image has no hash.
+     */
+    public List<SimilarItem> similar(long id, int maxDistance, int limit) {
+        Snapshot current = snapshot;
+        Long hash = current.hashOf(id);
+        if (hash == null) return List.of();
+
+        List<Match> matches = new ArrayList<>();
+        current.index().search(hash, maxDistance, (other, h, d) -> {
+            if (other != id) matches.add(new Match(other, d));
+        });
+        matches.sort(CLOSEST_FIRST);
+
+        List<SimilarItem> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (Match m : matches) {
+            if (result.size() == limit) break;
+            // the index can trail the catalog by a moment; skip items removed since
+            catalogIndex.item(m.id()).ifPresent(item -> result.add(new SimilarItem(item, m.distance())));
+        }
+        return result;
+    }
+
+    /** The catalog item whose image is closest to {@code hash}, if any is within {@code radius} bits. */
+    public Optional<Match> nearest(long hash, int radius) {
+        Match[] best = new Match[1];
+        snapshot.index().search(hash, radius, (id, h, d) -> {
+            Match m = new Match(id, d);
+            if (best[0] == null || CLOSEST_FIRST.compare(m, best[0]) < 0) best[0] = m;
+        });
+        return Optional.ofNullable(best[0]);
+    }
+
+    /* ---------- SYNC ---------- */
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        requestSync();
+    }
+
+    @EventListener
+    public void onImagesScanned(ImagesScannedEvent event) {
+        requestSync();
+    }
+
+    private void requestSync() {
+        if (syncQueued.compareAndSet(false, true)) {
+            syncer.execute(() -> {
+                syncQueued.set(false);
+                try {
+                    sync();
+                } catch (RuntimeException e) {
+                    log.warn("Could not refresh image hashes", e);
+                }
+            });
+        }
+    }
+
+    private void sync() {
+        long start = System.nanoTime();
+        int updated = storeHashes(images.perceptualHashes());
+        if (updated > 0) {
+            // the cached entities carry the old column value
+            entityManagerFactory.getCache().evict(ClothingItem.class);
+        }
+
+        List<long[]> rows = jdbc.query(
+            "SELECT id, image_hash FROM clothing_item WHERE image_hash IS NOT NULL ORDER BY id",
+            (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) });
+        HammingIndex index = new HammingIndex();
+        long[] ids = new long[rows.size()];
+        long[] hashes = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = rows.get(i)[0];
+            hashes[i] = rows.get(i)[1];
+            index.add(hashes[i], ids[i]);
+        }
+        snapshot = new Snapshot(index, ids, hashes);
+        log.info("Image hash index rebuilt with {} items ({} rows updated) in {} ms",
+                 index.size(), updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // one statement however many images there are; rows already right are not touched
+    private int storeHashes(Map<String, Long> byName) {
+        if (byName.isEmpty()) return 0;
+        String[] names = byName.keySet().toArray(String[]::new);
+        Long[] hashes = Arrays.stream(names).map(byName::get).toArray(Long[]::new);
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                "UPDATE clothing_item c SET image_hash = v.hash"
+                + " FROM unnest(?::text[], ?::bigint[]) AS v(name, hash)"
+                + " WHERE c.image_url = v.name AND c.image_hash IS DISTINCT FROM v.hash");
+            ps.setArray(1, con.createArrayOf("text", names));
+            ps.setArray(2, con.createArrayOf("bigint", hashes));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.model.WishlistItem;
+
+/**
+ * JPA entity listener for {@link WishlistItem}, covering single adds and
+ * removals as well as items removed along with their wishlist. Bulk
+ * statements bypass it; their callers publish the event themselves.
+ */
+@Component
+public class WishlistItemChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public WishlistItemChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void saved(WishlistItem item) {
+        publish(item, false);
+    }
+
+    @PostRemove
+    public void removed(WishlistItem item) {
+        publish(item, true);
+    }
+
+    // only the ids are read, so lazy references are not initialised
+    private void publish(WishlistItem item, boolean removed) {
+        publisher.publishEvent(new WishlistItemsChangedEvent(
+            item.getWishlist().getId(), List.of(item.getClothingItem().getId()), removed));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+import java.util.Collection;
+
+/**
+ * Published when clothing items are added to or removed from a wishlist,
+ * one item at a time through JPA or in bulk. Bulk changes name only the
+ * items actually added or removed; a single add or removal that raced
+ * another may still be reported twice, so listeners must treat an event for
+ * an item already in that state as a no-op.
+ */
+public record WishlistItemsChangedEvent(long wishlistId, Collection<Long> clothingItemIds, boolean removed) {
+}
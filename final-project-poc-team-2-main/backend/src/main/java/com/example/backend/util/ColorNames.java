@@ -0,0 +1,68 @@
+package com.example.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The clothing script writes colours either as names ("red") or as hex codes
+ * ("#E31C23"), depending on the prompt run. This maps both onto the small
+ * palette of names the survey and filters talk about.
+ */
+public final class ColorNames {
+
+    private static final Map<String, int[]> PALETTE = new LinkedHashMap<>();
+    static {
+        PALETTE.put("white",  new int[] {255, 255, 255});
+        PALETTE.put("black",  new int[] {0, 0, 0});
+        PALETTE.put("gray",   new int[] {128, 128, 128});
+        PALETTE.put("beige",  new int[] {222, 204, 170});
+        PALETTE.put("blue",   new int[] {40, 80, 200});
+        PALETTE.put("orange", new int[] {255, 140, 0});
+        PALETTE.put("brown",  new int[] {120, 72, 40});
+        PALETTE.put("green",  new int[] {40, 140, 60});
+        PALETTE.put("pink",   new int[] {250, 170, 200});
+        PALETTE.put("purple", new int[] {128, 50, 150});
+        PALETTE.put("red",    new int[] {210, 30, 40});
+        PALETTE.put("yellow", new int[] {250, 220, 50});
+    }
+
+    private ColorNames() {}
+
+    /** Lower-cased colour name; hex codes are snapped to the nearest palette entry. */
+    public static String normalize(String color) {
+        if (color == null) return "";
+        String c = color.trim().toLowerCase(Locale.ROOT);
+        if (c.startsWith("#") && (c.length() == 7 || c.length() == 4)) {
+            try {
+                return nearest(c);
+            } catch (NumberFormatException e) {
+                return c;
+            }
+        }
+        return c.equals("grey") ? "gray" : c;
+    }
+
+    private static String nearest(String hex) {
+        if (hex.length() == 4) {
+            hex = "#" + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2) + hex.charAt(3) + hex.charAt(3);
+        }
+        int rgb = Integer.parseInt(hex.substring(1), 16);
+        int r = (rgb >> 16) & 0xFF, g = (rgb >> 8) & 0xFF, b = rgb & 0xFF;
+
+        String best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Map.Entry<String, int[]> e : PALETTE.entrySet()) {
+            int[] p = e.getValue();
+            // "redmean" weighting: a cheap approximation of perceived difference
+            double rMean = (r + p[0]) / 2.0;
+            double dr = r - p[0], dg = g - p[1], db = b - p[2];
+            double distance = (2 + rMean / 256) * dr * dr + 4 * dg * dg + (2 + (255 - rMean) / 256) * db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = e.getKey();
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content fingerprint of a catalog row: the first 128 bits of a SHA-256 over
+ * its trimmed text fields, hex encoded. Two rows that differ only in
+ * surrounding whitespace hash the same; any other normalisation is the
+ * caller's. The CSV import and clothing-script/load_clothes.py both
+ * lower-case gender before hashing, so rows loaded either way dedupe
+ * together.
+ */
+public final class ContentHash {
+
+    /** Length of the hex string. */
+    public static final int LENGTH = 32;
+
+    private static final char SEPARATOR = '\u001f';
+
+    private ContentHash() {}
+
+    /** Fields are hashed in the order given; {@code null} counts as empty. */
+    public static String of(String... fields) {
+        StringBuilder sb = new StringBuilder(256);
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            if (fields[i] != null) sb.append(fields[i].trim());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, LENGTH / 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
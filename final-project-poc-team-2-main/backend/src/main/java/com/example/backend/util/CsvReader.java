@@ -0,0 +1,97 @@
+package com.example.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: comma separated, fields optionally wrapped in
+ * double quotes, {@code ""} for a literal quote, and line breaks allowed
+ * inside quoted fields. Reads one record at a time from its own buffer, so
+ * memory use does not depend on the file size.
+ */
+public final class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final char[] buf = new char[64 * 1024];
+    private int pos;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private final StringBuilder field = new StringBuilder(128);
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /** The next record, or {@code null} at end of input. Blank lines are skipped. */
+    public List<String> next() throws IOException {
+        int c;
+        // skip blank lines between records
+        while ((c = read()) == '\r' || c == '\n') {
+            if (c == '\n') line++;
+        }
+        if (c < 0) return null;
+
+        recordLine = line;
+        List<String> record = new ArrayList<>(16);
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (; ; c = read()) {
+            if (quoted) {
+                if (c < 0) throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                        continue;
+                    }
+                    quoted = false;
+                    c = peek;
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                    continue;
+                }
+            }
+            if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = wasQuoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c < 0) {
+                record.add(field.toString());
+                if (c == '\n') line++;
+                return record;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /** Line number the last record returned by {@link #next()} started on. */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos++];
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.backend.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The user a request was authenticated as, taken from the bearer token by
+ * {@link com.example.backend.config.JwtAuthenticationFilter}. Needs no
+ * database access.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {}
+
+    /** The authenticated user's id, or {@code null} for an anonymous request. */
+    public static Long id() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof Long id ? id : null;
+    }
+
+    public static boolean is(Long userId) {
+        Long id = id();
+        return id != null && id.equals(userId);
+    }
+}
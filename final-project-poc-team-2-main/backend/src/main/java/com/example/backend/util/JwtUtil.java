@@ -1,6 +1,7 @@
-
 package com.example.backend.util;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,13 @@ import com.example.backend.model.User;
 @Component
 public class JwtUtil {
 
+    /** What a valid token asserts: whose it is, whether they are an admin, and until when. */
+    public record Verified(Long userId, boolean admin, long expiresAtMillis) {
+        public boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -21,17 +29,33 @@ public class JwtUtil {
     if (user.getId() == null) {
         throw new IllegalArgumentException("User ID is null. Ensure the user is saved and the ID is generated.");
     }
-    System.out.println("Generating token for user ID: " + user.getId());
-    System.out.println("Secret: " + secret);
-    System.out.println("Expiration: " + expiration);
-    
+
     return Jwts.builder()
                .setSubject(user.getId().toString())
                .claim("email", user.getEmail())
+               .claim("admin", user.isAdmin())
                .setIssuedAt(new Date())
                .setExpiration(new Date(System.currentTimeMillis() + expiration))
                .signWith(SignatureAlgorithm.HS512, secret)
                .compact();
 }
 
+    /**
+     * Checks the signature and expiry of a token issued by {@link #generateToken}.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Verified verify(String token) {
+        Claims claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token has no subject or expiry");
+        }
+        try {
+            boolean admin = Boolean.TRUE.equals(claims.get("admin", Boolean.class));
+            return new Verified(Long.valueOf(claims.getSubject()), admin, claims.getExpiration().getTime());
+        } catch (NumberFormatException e) {
+            throw new JwtException("Token subject is not a user id");
+        }
+    }
+
 }
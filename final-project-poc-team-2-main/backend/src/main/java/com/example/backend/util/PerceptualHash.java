@@ -0,0 +1,71 @@
+package com.example.backend.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * 64-bit difference hash (dHash) of an image. The image is flattened onto
+ * white, shrunk to 9x8 and turned to grey. Each bit then says whether a
+ * pixel is brighter than its right-hand neighbour. Re-encoding, resizing and
+ * small colour or crop changes flip few bits, so the Hamming distance
+ * between two hashes measures how alike the pictures look: up to about 10
+ * is usually the same picture.
+ */
+public final class PerceptualHash {
+
+    public static final int BITS = 64;
+
+    private static final int W = 9;
+    private static final int H = 8;
+
+    private PerceptualHash() {}
+
+    public static long of(BufferedImage image) {
+        // halve first so the final 9x8 draw averages neighbours instead of sampling single pixels
+        BufferedImage current = image;
+        int w = image.getWidth(), h = image.getHeight();
+        while (w / 2 >= W * 4 && h / 2 >= H * 4) {
+            w /= 2;
+            h /= 2;
+            current = draw(current, w, h);
+        }
+        BufferedImage small = draw(current, W, H);
+
+        long hash = 0;
+        for (int y = 0; y < H; y++) {
+            int left = luma(small.getRGB(0, y));
+            for (int x = 1; x < W; x++) {
+                int right = luma(small.getRGB(x, y));
+                hash = (hash << 1) | (left > right ? 1 : 0);
+                left = right;
+            }
+        }
+        return hash;
+    }
+
+    /** Number of differing bits, 0 to 64. */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static int luma(int rgb) {
+        int r = (rgb >> 16) & 0xff, g = (rgb >> 8) & 0xff, b = rgb & 0xff;
+        return (299 * r + 587 * g + 114 * b) / 1000;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.drawImage(image, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+}
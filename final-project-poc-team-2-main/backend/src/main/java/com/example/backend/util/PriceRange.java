@@ -0,0 +1,46 @@
+package com.example.backend.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Numeric form of the free-form {@code estimated_pricing} strings produced by
+ * the clothing script, e.g. "$40", "$40-60", "$15 - $30" or "$120+".
+ * An open-ended range ("$120+") has {@link #OPEN_ENDED} as its maximum.
+ * Amounts too large for an int of cents are capped at {@link #MAX_CENTS},
+ * just below it, so they still read as a price rather than as "and up".
+ */
+public record PriceRange(int minCents, int maxCents) {
+
+    public static final int OPEN_ENDED = Integer.MAX_VALUE;
+    public static final int MAX_CENTS = OPEN_ENDED - 1;
+
+    private static final Pattern AMOUNT = Pattern.compile("(\\d+(?:\\.\\d{1,2})?)");
+
+    /** Returns {@code null} when the string contains no amount at all. */
+    public static PriceRange parse(String raw) {
+        if (raw == null) return null;
+
+        // thousands separators ("$1,200") would otherwise split one amount in two
+        Matcher m = AMOUNT.matcher(raw.replace(",", ""));
+        if (!m.find()) return null;
+        int first = toCents(m.group(1));
+
+        if (m.find()) {
+            int second = toCents(m.group(1));
+            return new PriceRange(Math.min(first, second), Math.max(first, second));
+        }
+        if (raw.trim().endsWith("+")) {
+            return new PriceRange(first, OPEN_ENDED);
+        }
+        return new PriceRange(first, first);
+    }
+
+    public boolean isOpenEnded() {
+        return maxCents == OPEN_ENDED;
+    }
+
+    private static int toCents(String amount) {
+        return (int) Math.min(Math.round(Double.parseDouble(amount) * 100), MAX_CENTS);
+    }
+}
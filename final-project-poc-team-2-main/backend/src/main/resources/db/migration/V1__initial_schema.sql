@@ -0,0 +1,60 @@
+-- The schema as Hibernate generated it before migrations took over. A
+-- database that Hibernate already created is baselined at this version
+-- (spring.flyway.baseline-on-migrate) and starts from V2.
+
+CREATE SEQUENCE clothing_item_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE wishlist_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE wishlist_item_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id       bigint NOT NULL PRIMARY KEY,
+    email    varchar(255) CONSTRAINT ux_users_email UNIQUE,
+    password varchar(255)
+);
+
+CREATE TABLE clothing_item (
+    id                bigint NOT NULL PRIMARY KEY,
+    name              varchar(255),
+    description       text,
+    color             varchar(255),
+    pattern           varchar(255),
+    material          varchar(255),
+    estimated_pricing varchar(255),
+    gender            varchar(255),
+    events            varchar(255),
+    type_of_clothing  varchar(255),
+    image_url         varchar(255),
+    price_min_cents   integer,
+    price_max_cents   integer,
+    content_hash      varchar(32) CONSTRAINT ux_clothing_item_content_hash UNIQUE,
+    image_hash        bigint
+);
+CREATE INDEX idx_clothing_item_price_min ON clothing_item (price_min_cents);
+CREATE INDEX idx_clothing_item_price_max ON clothing_item (price_max_cents);
+
+CREATE TABLE wishlist (
+    id      bigint NOT NULL PRIMARY KEY,
+    name    varchar(255),
+    user_id bigint NOT NULL CONSTRAINT fk_wishlist_user REFERENCES users
+);
+
+CREATE TABLE wishlist_item (
+    id               bigint NOT NULL PRIMARY KEY,
+    wishlist_id      bigint NOT NULL CONSTRAINT fk_wishlist_item_wishlist REFERENCES wishlist,
+    clothing_item_id bigint NOT NULL CONSTRAINT fk_wishlist_item_clothing_item REFERENCES clothing_item,
+    added_at         timestamp(6) with time zone,
+    CONSTRAINT ux_wishlist_item_wishlist_clothing_item UNIQUE (wishlist_id, clothing_item_id)
+);
+
+CREATE TABLE survey (
+    id      bigserial NOT NULL PRIMARY KEY,
+    user_id bigint NOT NULL CONSTRAINT ux_survey_user UNIQUE CONSTRAINT fk_survey_user REFERENCES users,
+    answers jsonb
+);
+
+CREATE TABLE trending_score (
+    clothing_item_id bigint NOT NULL PRIMARY KEY,
+    score            double precision NOT NULL,
+    as_of            timestamp(6) with time zone NOT NULL
+);
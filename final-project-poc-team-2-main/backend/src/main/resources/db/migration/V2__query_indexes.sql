@@ -0,0 +1,16 @@
+-- Indexes for the lookups the repositories make. Already covered by
+-- constraints, so not repeated here:
+--   users (email)              findByEmail, by ux_users_email
+--   survey (user_id)           SurveyRepository.findByUserId, by its unique constraint
+--   wishlist_item (wishlist_id, ...)  findByWishlistId and friends, by the
+--                              unique (wishlist_id, clothing_item_id), which leads with it
+
+-- WishlistRepository.findByUserId, and the ownership checks on every wishlist request
+CREATE INDEX IF NOT EXISTS idx_wishlist_user_id ON wishlist (user_id);
+
+-- the foreign key check when a clothing item is deleted, which otherwise scans every wishlist
+CREATE INDEX IF NOT EXISTS idx_wishlist_item_clothing_item_id ON wishlist_item (clothing_item_id);
+
+-- containment queries on survey answers (answers @> '{"q1": "casual"}');
+-- jsonb_path_ops is smaller and faster than the default operator class for @>
+CREATE INDEX IF NOT EXISTS idx_survey_answers ON survey USING gin (answers jsonb_path_ops);
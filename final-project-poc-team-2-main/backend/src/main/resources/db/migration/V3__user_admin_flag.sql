@@ -0,0 +1,8 @@
+-- Administrators may use the operator endpoints SecurityConfig reserves for
+-- them, such as the bulk catalog import. No endpoint grants the flag; set it
+-- in SQL:
+--   UPDATE users SET admin = true WHERE email = '...';
+-- It is read at login and carried in the token, so it takes effect at the
+-- user's next login once their cached entry has expired
+-- (cache.region.user.expire-after-write).
+ALTER TABLE users ADD COLUMN admin boolean NOT NULL DEFAULT false;
@@ -0,0 +1,36 @@
+-- A counter bumped by every statement that changes clothing_item rows,
+-- whoever runs it: JPA, the import, the price backfill, the image hash
+-- sync, the CSV loader or a hand-written UPDATE. CatalogIndexService polls
+-- it to decide whether its in-memory copy is stale, which row count and
+-- highest id alone cannot tell for updates in place.
+--
+-- The single row is updated inside the writing transaction, so the new
+-- value becomes visible exactly when the change does, and concurrent
+-- writers queue on its row lock instead of racing. Statements that match
+-- no rows leave it alone, so a no-op sync does not trigger a rebuild.
+CREATE TABLE clothing_item_version (
+    version bigint NOT NULL
+);
+INSERT INTO clothing_item_version VALUES (0);
+
+CREATE FUNCTION bump_clothing_item_version() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' OR EXISTS (SELECT 1 FROM changed) THEN
+        UPDATE clothing_item_version SET version = version + 1;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- a trigger with transition tables handles one event, hence one per event
+CREATE TRIGGER clothing_item_version_insert AFTER INSERT ON clothing_item
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_clothing_item_version();
+CREATE TRIGGER clothing_item_version_update AFTER UPDATE ON clothing_item
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_clothing_item_version();
+CREATE TRIGGER clothing_item_version_delete AFTER DELETE ON clothing_item
+    REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_clothing_item_version();
+CREATE TRIGGER clothing_item_version_truncate AFTER TRUNCATE ON clothing_item
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_clothing_item_version();
@@ -0,0 +1,14 @@
+-- TRUNCATE has no transition table, and plpgsql plans the whole condition
+-- of V4's IF at once, so "changed" failed to resolve and every TRUNCATE of
+-- clothing_item raised an error. The table is only looked at for the row
+-- events now.
+CREATE OR REPLACE FUNCTION bump_clothing_item_version() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'TRUNCATE' THEN
+        UPDATE clothing_item_version SET version = version + 1;
+    ELSIF EXISTS (SELECT 1 FROM changed) THEN
+        UPDATE clothing_item_version SET version = version + 1;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,42 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * One embedded Postgres per test JVM, started by the first context that
+ * needs it and stopped by its own shutdown hook when the JVM exits. The
+ * binaries come from a Maven artifact, so no database or container has to
+ * be installed. Flyway migrates it like any other database.
+ */
+public final class TestDatabase implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static EmbeddedPostgres instance;
+
+    private static synchronized EmbeddedPostgres postgres() {
+        if (instance == null) {
+            try {
+                instance = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        EmbeddedPostgres postgres = postgres();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("testDatabase", Map.of(
+            "spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"),
+            "spring.datasource.username", "postgres",
+            "spring.datasource.password", "postgres")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend;
+
+import com.example.backend.model.ClothingItem;
+
+/**
+ * Catalog rows for tests, filled in the way the loader fills them, with
+ * the price columns derived as on insert.
+ */
+public final class TestItems {
+
+    private TestItems() {}
+
+    public static ClothingItem item(long id, String name, String gender, String color, String material,
+                                    String type, String events, String pricing) {
+        ClothingItem item = new ClothingItem();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("A " + color + " " + material + " " + type + ".");
+        item.setGender(gender);
+        item.setColor(color);
+        item.setPattern("solid");
+        item.setMaterial(material);
+        item.setTypeOfClothing(type);
+        item.setEvents(events);
+        item.setEstimatedPricing(pricing);
+        item.setImageUrl("https://example.com/images/" + id + ".jpg");
+        item.normalizePrice();
+        return item;
+    }
+}
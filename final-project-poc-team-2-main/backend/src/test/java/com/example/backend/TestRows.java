@@ -0,0 +1,74 @@
+package com.example.backend;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.backend.util.ContentHash;
+import com.example.backend.util.PriceRange;
+
+/**
+ * Rows written straight into the {@link TestDatabase}, bypassing JPA the way
+ * the loaders do. Ids come from the entities' sequences, one value each,
+ * which never overlaps a block Hibernate has reserved.
+ */
+public final class TestRows {
+
+    private final JdbcTemplate jdbc;
+
+    public TestRows(DataSource dataSource) {
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    /** Empties every table a test may have written to. */
+    public void clear() {
+        jdbc.execute("TRUNCATE wishlist_item, wishlist, survey, trending_score, clothing_item, users");
+    }
+
+    public long user(String email) {
+        long id = next("users_seq");
+        jdbc.update("INSERT INTO users (id, email, password) VALUES (?, ?, 'unused')", id, email);
+        return id;
+    }
+
+    public long item(String name, String color, String gender, String pricing) {
+        long id = next("clothing_item_seq");
+        PriceRange price = PriceRange.parse(pricing);
+        jdbc.update("INSERT INTO clothing_item (id, name, description, color, pattern, material, estimated_pricing,"
+                    + " gender, events, type_of_clothing, image_url, price_min_cents, price_max_cents, content_hash)"
+                    + " VALUES (?, ?, ?, ?, 'solid', 'cotton', ?, ?, 'casual', 'shirt', ?, ?, ?, ?)",
+                    id, name, "A " + color + " shirt.", color, pricing, gender, name + ".jpg",
+                    price == null ? null : price.minCents(),
+                    price == null || price.isOpenEnded() ? null : price.maxCents(),
+                    ContentHash.of(name, color, gender, pricing));
+        return id;
+    }
+
+    public long wishlist(long userId, String name) {
+        long id = next("wishlist_seq");
+        jdbc.update("INSERT INTO wishlist (id, name, user_id) VALUES (?, ?, ?)", id, name, userId);
+        return id;
+    }
+
+    public long wishlistItem(long wishlistId, long itemId, Instant addedAt) {
+        long id = next("wishlist_item_seq");
+        jdbc.update("INSERT INTO wishlist_item (id, wishlist_id, clothing_item_id, added_at) VALUES (?, ?, ?, ?)",
+                    id, wishlistId, itemId, Timestamp.from(addedAt));
+        return id;
+    }
+
+    public long count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private long next(String sequence) {
+        return jdbc.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+import com.example.backend.repository.WishlistRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * sql.monitor.fail-over-budget, on in the test profile: a request that runs
+ * one statement per row fails at the statement over the budget, and its
+ * count is still recorded under the handler that ran it.
+ */
+@DatabaseTest
+@Import(QueryBudgetTest.NPlusOne.class)
+class QueryBudgetTest {
+
+    /** Loads each wishlist's items lazily, one statement per wishlist. */
+    @TestConfiguration
+    @RestController
+    static class NPlusOne {
+
+        private final WishlistRepository wishlists;
+
+        NPlusOne(WishlistRepository wishlists) {
+            this.wishlists = wishlists;
+        }
+
+        @GetMapping("/test/users/{userId}/item-counts")
+        List<Integer> itemCounts(@PathVariable Long userId) {
+            return wishlists.findAll().stream()
+                .filter(w -> w.getUser().getId().equals(userId))
+                .map(w -> w.getWishlistItems().size())
+                .toList();
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+    private long ann;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        ann = rows.user("ann@example.com");
+        long item = rows.item("Tee", "white", "unisex", "$15");
+        for (int i = 0; i < 3; i++) {
+            rows.wishlistItem(rows.wishlist(ann, "List " + i), item, Instant.now());
+        }
+    }
+
+    @Test
+    void aRequestWithinTheBudgetIsRecordedUnderItsHandler() throws Exception {
+        DistributionSummary summary = queries("NPlusOne.itemCounts");
+        long count = summary.count();
+        double total = summary.totalAmount();
+
+        mvc.perform(get("/test/users/" + ann + "/item-counts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3));
+
+        // the wishlists, then one statement for each one's items
+        assertThat(summary.count()).isEqualTo(count + 1);
+        assertThat(summary.totalAmount() - total).isEqualTo(4);
+    }
+
+    @Test
+    void anNPlusOneOverTheBudgetFailsTheRequest() throws Exception {
+        long item = rows.item("Jeans", "blue", "male", "$40");
+        for (int i = 3; i < 12; i++) {
+            rows.wishlistItem(rows.wishlist(ann, "List " + i), item, Instant.now());
+        }
+        DistributionSummary summary = queries("NPlusOne.itemCounts");
+        long count = summary.count();
+        double total = summary.totalAmount();
+
+        assertThatThrownBy(() -> mvc.perform(get("/test/users/" + ann + "/item-counts")))
+            .rootCause()
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessageContaining("GET /test/users/" + ann + "/item-counts ran more than 10 SQL statements")
+            .hasMessageContaining("wishlist_item");
+
+        // counted up to the statement that failed
+        assertThat(summary.count()).isEqualTo(count + 1);
+        assertThat(summary.totalAmount() - total).isEqualTo(11);
+    }
+
+    private DistributionSummary queries(String handler) {
+        return registry.summary("http.server.requests.queries", "handler", handler);
+    }
+}
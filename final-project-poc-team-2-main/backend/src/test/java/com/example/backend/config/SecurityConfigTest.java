@@ -0,0 +1,157 @@
+package com.example.backend.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.controller.CatalogImportController;
+import com.example.backend.controller.WishlistController;
+import com.example.backend.dto.CatalogImportProgress;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.repository.WishlistRepository;
+import com.example.backend.service.CatalogImportService;
+import com.example.backend.util.JwtUtil;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * The authorization rules of {@link SecurityConfig}, with real JWTs and the
+ * services behind the controllers mocked.
+ */
+@WebMvcTest({ CatalogImportController.class, WishlistController.class })
+@Import({ SecurityConfig.class, JwtUtil.class })
+@TestPropertySource(properties = { "jwt.secret=test-secret", "jwt.expiration=3600000" })
+class SecurityConfigTest {
+
+    private static final CatalogImportProgress JOB = new CatalogImportProgress(
+        "job-1", "DONE", 100, 2, 2, 0, 0, 0, 0, Instant.EPOCH, Instant.EPOCH, List.of(), List.of(), null);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CatalogImportService importService;
+    @MockBean
+    private WishlistRepository wishlistRepo;
+    @MockBean
+    private UserRepository userRepo;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(importService.progress("job-1")).willReturn(Optional.of(JOB));
+        given(importService.submit(any())).willReturn(JOB);
+        given(userRepo.existsById(7L)).willReturn(true);
+        given(wishlistRepo.findByUserId(7L)).willReturn(List.of());
+    }
+
+    @Test
+    void wishlistsAreOnlyVisibleToTheirOwner() throws Exception {
+        mvc.perform(get("/users/7/wishlists").header(HttpHeaders.AUTHORIZATION, bearer(7L, false)))
+            .andExpect(status().isOk());
+        mvc.perform(get("/users/7/wishlists").header(HttpHeaders.AUTHORIZATION, bearer(8L, false)))
+            .andExpect(status().isForbidden());
+        // the admin role does not open other users' data
+        mvc.perform(get("/users/7/wishlists").header(HttpHeaders.AUTHORIZATION, bearer(1L, true)))
+            .andExpect(status().isForbidden());
+        mvc.perform(get("/users/7/wishlists"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void badTokensLeaveTheRequestAnonymous() throws Exception {
+        String forged = Jwts.builder()
+            .setSubject("7")
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(SignatureAlgorithm.HS512, "another-secret")
+            .compact();
+        String expired = Jwts.builder()
+            .setSubject("7")
+            .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+            .signWith(SignatureAlgorithm.HS512, "test-secret")
+            .compact();
+
+        for (String header : new String[] { "Bearer " + forged, "Bearer " + expired, "Bearer not-a-jwt", "Bearer " }) {
+            mvc.perform(get("/users/7/wishlists").header(HttpHeaders.AUTHORIZATION, header))
+                .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    void aCachedTokenStillNamesItsOwnUser() throws Exception {
+        String own = bearer(7L, false);
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/users/7/wishlists").header(HttpHeaders.AUTHORIZATION, own))
+                .andExpect(status().isOk());
+            mvc.perform(get("/users/8/wishlists").header(HttpHeaders.AUTHORIZATION, own))
+                .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void catalogImportNeedsAnAdmin() throws Exception {
+        mvc.perform(get("/api/clothing-items/import/job-1"))
+            .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/clothing-items/import/job-1").header(HttpHeaders.AUTHORIZATION, bearer(7L, false)))
+            .andExpect(status().isForbidden());
+        mvc.perform(get("/api/clothing-items/import/job-1").header(HttpHeaders.AUTHORIZATION, bearer(1L, true)))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void onlyAnAdminCanUploadACatalog() throws Exception {
+        mvc.perform(post("/api/clothing-items/import").contentType("text/csv").content("name\n")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(7L, false)))
+            .andExpect(status().isForbidden());
+        mvc.perform(post("/api/clothing-items/import").contentType("text/csv").content("name\n")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(1L, true)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/api/clothing-items/import/job-1"));
+    }
+
+    // the slice has no actuator endpoints, so a request that gets past
+    // security ends in 404
+    @Test
+    void actuatorIsForAdminsExceptHealth() throws Exception {
+        mvc.perform(get("/actuator/metrics"))
+            .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer(7L, false)))
+            .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/metrics/hikaricp.connections").header(HttpHeaders.AUTHORIZATION, bearer(1L, true)))
+            .andExpect(status().isNotFound());
+
+        mvc.perform(get("/actuator/health"))
+            .andExpect(status().isNotFound());
+        mvc.perform(get("/actuator/health/liveness"))
+            .andExpect(status().isNotFound());
+    }
+
+    private String bearer(long userId, boolean admin) {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("user" + userId + "@example.com");
+        user.setAdmin(admin);
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
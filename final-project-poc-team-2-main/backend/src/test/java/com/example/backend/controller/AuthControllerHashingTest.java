@@ -0,0 +1,136 @@
+package com.example.backend.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.backend.config.SecurityConfig;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.PasswordHashingService;
+import com.example.backend.service.RecommendationService;
+import com.example.backend.util.JwtUtil;
+
+/**
+ * Register and login around the hashing pool, which is mocked: 503 when it
+ * is saturated, and the rehash a login triggers. Continuations run on the
+ * calling thread.
+ */
+@WebMvcTest(AuthController.class)
+@Import({ SecurityConfig.class, JwtUtil.class, AuthControllerHashingTest.DirectExecutor.class })
+@TestPropertySource(properties = { "jwt.secret=test-secret", "jwt.expiration=3600000" })
+class AuthControllerHashingTest {
+
+    @TestConfiguration
+    static class DirectExecutor {
+        @Bean
+        Executor applicationTaskExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private UserRepository users;
+    @MockBean
+    private PasswordHashingService hashing;
+    @MockBean
+    private RecommendationService recommendations;
+
+    private final User ann = new User();
+
+    @BeforeEach
+    void setUp() {
+        ann.setId(7L);
+        ann.setEmail("ann@example.com");
+        ann.setPassword("$2a$04$old");
+        given(users.findByEmail("ann@example.com")).willReturn(Optional.of(ann));
+        given(users.findByEmail("new@example.com")).willReturn(Optional.empty());
+    }
+
+    @Test
+    void aSaturatedPoolAnswers503WithRetryAfter() throws Exception {
+        given(hashing.matches(anyString(), anyString())).willThrow(new RejectedExecutionException());
+        given(hashing.encode(anyString())).willThrow(new RejectedExecutionException());
+
+        call("/auth/login", "ann@example.com")
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        call("/auth/register", "new@example.com")
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        then(users).should(never()).saveAndFlush(any());
+    }
+
+    @Test
+    void aLoginRehashesAnOutdatedHashIfItIsStillTheStoredOne() throws Exception {
+        given(hashing.matches("secret", "$2a$04$old")).willReturn(CompletableFuture.completedFuture(true));
+        given(hashing.needsRehash("$2a$04$old")).willReturn(true);
+        given(hashing.encode("secret")).willReturn(CompletableFuture.completedFuture("$2a$10$new"));
+
+        call("/auth/login", "ann@example.com")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").isString());
+
+        // compare-and-set on the hash that was checked, not a blind overwrite
+        then(users).should().updatePasswordHash(7L, "$2a$04$old", "$2a$10$new");
+    }
+
+    @Test
+    void aLoginStillSucceedsWhenThePoolHasNoRoomToRehash() throws Exception {
+        given(hashing.matches("secret", "$2a$04$old")).willReturn(CompletableFuture.completedFuture(true));
+        given(hashing.needsRehash("$2a$04$old")).willReturn(true);
+        given(hashing.encode("secret")).willThrow(new RejectedExecutionException());
+
+        call("/auth/login", "ann@example.com").andExpect(status().isOk());
+
+        then(users).should(never()).updatePasswordHash(any(), any(), any());
+    }
+
+    @Test
+    void anUpToDateHashIsLeftAlone() throws Exception {
+        given(hashing.matches("secret", "$2a$04$old")).willReturn(CompletableFuture.completedFuture(true));
+        given(hashing.needsRehash("$2a$04$old")).willReturn(false);
+
+        call("/auth/login", "ann@example.com").andExpect(status().isOk());
+
+        then(hashing).should(never()).encode(anyString());
+    }
+
+    private ResultActions call(String path, String email) throws Exception {
+        ResultActions started = mvc.perform(post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\": \"" + email + "\", \"password\": \"secret\"}"));
+        started.andExpect(request().asyncStarted());
+        return mvc.perform(asyncDispatch(started.andReturn()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+import com.example.backend.model.User;
+import com.example.backend.util.JwtUtil;
+
+@DatabaseTest
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+    private long ann, bob;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        ann = rows.user("ann@example.com");
+        bob = rows.user("bob@example.com");
+    }
+
+    @Test
+    void anAccountIsDeletedWithItsOwnToken() throws Exception {
+        deleteAccount(ann, "ann@example.com")
+            .andExpect(status().isOk());
+
+        assertThat(rows.jdbc().queryForList("SELECT id FROM users", Long.class)).containsExactly(bob);
+    }
+
+    @Test
+    void otherEmailsAreRefusedAlikeWhetherRegisteredOrNot() throws Exception {
+        String registered = deleteAccount(ann, "bob@example.com")
+            .andExpect(status().isForbidden())
+            .andReturn().getResponse().getContentAsString();
+        deleteAccount(ann, "nobody@example.com")
+            .andExpect(status().isForbidden())
+            .andExpect(content().string(registered));
+        deleteAccount(ann, null)
+            .andExpect(status().isForbidden())
+            .andExpect(content().string(registered));
+
+        assertThat(rows.count("users")).isEqualTo(2);
+    }
+
+    @Test
+    void aTokenForADeletedAccountDeletesNothing() throws Exception {
+        deleteAccount(ann, "ann@example.com").andExpect(status().isOk());
+
+        deleteAccount(ann, "ann@example.com").andExpect(status().isForbidden());
+        deleteAccount(ann, "bob@example.com").andExpect(status().isForbidden());
+        assertThat(rows.count("users")).isEqualTo(1);
+    }
+
+    @Test
+    void deletingNeedsAToken() throws Exception {
+        mvc.perform(delete("/auth/delete").contentType(MediaType.APPLICATION_JSON)
+                                          .content("{\"email\": \"ann@example.com\"}"))
+            .andExpect(status().isUnauthorized());
+
+        assertThat(rows.count("users")).isEqualTo(2);
+    }
+
+    private ResultActions deleteAccount(long userId, String email) throws Exception {
+        return mvc.perform(delete("/auth/delete")
+                               .header(HttpHeaders.AUTHORIZATION, bearer(userId))
+                               .contentType(MediaType.APPLICATION_JSON)
+                               .content(email == null ? "{}" : "{\"email\": \"" + email + "\"}"));
+    }
+
+    private String bearer(long userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("user" + userId + "@example.com");
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
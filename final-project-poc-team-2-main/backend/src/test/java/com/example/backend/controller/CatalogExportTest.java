@@ -0,0 +1,113 @@
+package com.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** GET /api/clothing-items/export streamed from the database. */
+@DatabaseTest
+class CatalogExportTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+    private long red, blue, tee;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        red = rows.item("Red Hoodie", "red", "female", "$20-$40");
+        blue = rows.item("Blue Jeans", "blue", "male", "$60+");
+        tee = rows.item("Plain Tee", "white", "unisex", "varies");
+    }
+
+    @Test
+    void jsonIsOneArrayInIdOrder() throws Exception {
+        MvcResult result = export("json");
+
+        mvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].id").value(red))
+            .andExpect(jsonPath("$[0].priceMaxCents").value(4000))
+            .andExpect(jsonPath("$[1].priceMaxCents").value(nullValue()))
+            .andExpect(jsonPath("$[2].typeOfClothing").value("shirt"));
+    }
+
+    @Test
+    void ndjsonIsOneObjectPerLine() throws Exception {
+        MvcResult result = export("NDJSON");
+
+        MvcResult done = mvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn();
+
+        String body = done.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n").doesNotStartWith("[");
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        List<Long> ids = lines.stream().map(this::id).toList();
+        assertThat(ids).containsExactly(red, blue, tee);
+    }
+
+    @Test
+    void anEmptyCatalogIsAnEmptyArray() throws Exception {
+        rows.clear();
+
+        mvc.perform(asyncDispatch(export("json")))
+            .andExpect(status().isOk())
+            .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void unknownFormatsAreRejected() throws Exception {
+        mvc.perform(get("/api/clothing-items/export").param("format", "csv"))
+            .andExpect(status().isBadRequest())
+            .andExpect(request().asyncNotStarted());
+    }
+
+    private MvcResult export(String format) throws Exception {
+        return mvc.perform(get("/api/clothing-items/export").param("format", format))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private long id(String line) {
+        try {
+            JsonNode row = mapper.readTree(line);
+            return row.get("id").asLong();
+        } catch (Exception e) {
+            throw new AssertionError("not a JSON object: " + line, e);
+        }
+    }
+}
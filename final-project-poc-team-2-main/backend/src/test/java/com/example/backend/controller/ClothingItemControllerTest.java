@@ -0,0 +1,308 @@
+package com.example.backend.controller;
+
+import static com.example.backend.TestItems.item;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.backend.config.SecurityConfig;
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ColumnarItems;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.repository.ClothingItemRepository;
+import com.example.backend.service.AttributeSimilarityService;
+import com.example.backend.service.CatalogChangedEvent;
+import com.example.backend.service.CatalogExportService;
+import com.example.backend.service.CatalogIndexService;
+import com.example.backend.service.CatalogSnapshotService;
+import com.example.backend.service.CooccurrenceService;
+import com.example.backend.service.SearchService;
+import com.example.backend.service.TrendingService;
+import com.example.backend.service.VisualSimilarityService;
+import com.example.backend.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * GET /api/clothing-items through the real snapshot service, with the
+ * catalog index mocked underneath it, and the formats it negotiates. The
+ * service keeps its snapshot once built, so every test gets a fresh one.
+ */
+@WebMvcTest(ClothingItemController.class)
+@Import({ CatalogSnapshotService.class, SecurityConfig.class, JwtUtil.class })
+@TestPropertySource(properties = { "jwt.secret=test-secret", "jwt.expiration=3600000" })
+@DirtiesContext(classMode = ClassMode.BEFORE_EACH_TEST_METHOD)
+class ClothingItemControllerTest {
+
+    private static final List<ClothingItemDTO> CATALOG = List.of(
+        item(1, "Red Hoodie", "female", "red", "cotton", "hoodie", "casual", "$20-$40"),
+        item(2, "Blue Jeans", "male", "blue", "denim", "jeans", "casual", "$60-$90"));
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CatalogSnapshotService snapshots;
+
+    @MockBean
+    private CatalogIndexService catalogIndex;
+    @MockBean
+    private ClothingItemRepository repo;
+    @MockBean
+    private CatalogExportService exporter;
+    @MockBean
+    private SearchService search;
+    @MockBean
+    private VisualSimilarityService visualSimilarity;
+    @MockBean
+    private AttributeSimilarityService attributeSimilarity;
+    @MockBean
+    private CooccurrenceService cooccurrence;
+    @MockBean
+    private TrendingService trending;
+
+    @BeforeEach
+    void setUp() {
+        given(catalogIndex.isBuilt()).willReturn(true);
+        given(catalogIndex.version()).willReturn(1L);
+        given(catalogIndex.items()).willReturn(CATALOG);
+    }
+
+    @Test
+    void servesTheCatalogAsJsonWithAnETag() throws Exception {
+        mvc.perform(get("/api/clothing-items"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"[0-9a-f]{32}\"")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].name").value("Red Hoodie"))
+            .andExpect(jsonPath("$[1].priceMinCents").value(6000));
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModifiedWithoutABody() throws Exception {
+        String etag = etagOf(mvc.perform(get("/api/clothing-items")).andReturn());
+
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+            .andExpect(status().isNotModified());
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void gzipIsATagOfItsOwnButRevalidatesAgainstAnyEncoding() throws Exception {
+        MvcResult plain = mvc.perform(get("/api/clothing-items")).andReturn();
+        MvcResult gzipped = mvc.perform(get("/api/clothing-items").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        assertThat(etagOf(gzipped)).isNotEqualTo(etagOf(plain));
+        assertThat(gunzip(gzipped.getResponse().getContentAsByteArray()))
+            .isEqualTo(plain.getResponse().getContentAsByteArray());
+
+        mvc.perform(get("/api/clothing-items")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etagOf(plain)))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etagOf(gzipped)));
+    }
+
+    @Test
+    void aNewCatalogVersionChangesTheETag() throws Exception {
+        String before = etagOf(mvc.perform(get("/api/clothing-items")).andReturn());
+
+        given(catalogIndex.version()).willReturn(2L);
+        given(catalogIndex.items()).willReturn(CATALOG.subList(0, 1));
+        snapshots.onCatalogChanged(new CatalogChangedEvent(2L, null));
+        awaitSnapshotVersion(2L);
+
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void answersServiceUnavailableUntilTheIndexIsBuilt() throws Exception {
+        given(catalogIndex.isBuilt()).willReturn(false);
+
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void cborIsServedWhenAsked() throws Exception {
+        MvcResult result = mvc.perform(get("/api/clothing-items").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+        JsonNode items = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).get("name").asText()).isEqualTo("Red Hoodie");
+        assertThat(items.get(1).get("priceMinCents").asInt()).isEqualTo(6000);
+    }
+
+    @Test
+    void columnarListsEachFieldOnceAndDictionaryEncodesRepeats() throws Exception {
+        mvc.perform(get("/api/clothing-items").accept(ColumnarItems.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ColumnarItems.MEDIA_TYPE))
+            .andExpect(jsonPath("$.count").value(2))
+            .andExpect(jsonPath("$.columns.id[0]").value(1))
+            .andExpect(jsonPath("$.columns.name[1]").value("Blue Jeans"))
+            .andExpect(jsonPath("$.dictionaries.color[0]").value("red"))
+            .andExpect(jsonPath("$.dictionaries.color[1]").value("blue"))
+            .andExpect(jsonPath("$.columns.color[1]").value(1))
+            // both items are casual: one dictionary entry, used twice
+            .andExpect(jsonPath("$.dictionaries.events.length()").value(1))
+            .andExpect(jsonPath("$.columns.events[1]").value(0));
+    }
+
+    @Test
+    void acceptIsReadByQualityAndWildcardsMeanJson() throws Exception {
+        assertServedAs("*/*", MediaType.APPLICATION_JSON);
+        assertServedAs("text/html, */*;q=0.8", MediaType.APPLICATION_JSON);
+        assertServedAs("application/cbor;q=0.5, application/json", MediaType.APPLICATION_JSON);
+        assertServedAs("application/json;q=0.1, application/cbor", MediaType.APPLICATION_CBOR);
+        assertServedAs("application/cbor;q=0, " + ColumnarItems.MEDIA_TYPE_VALUE + ";q=0.2", ColumnarItems.MEDIA_TYPE);
+        assertServedAs("not a media type", MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void eachFormatHasItsOwnETag() throws Exception {
+        String json = etagOf(mvc.perform(get("/api/clothing-items")).andReturn());
+        String cbor = etagOf(mvc.perform(get("/api/clothing-items").accept(MediaType.APPLICATION_CBOR)).andReturn());
+        String columnar = etagOf(mvc.perform(get("/api/clothing-items").accept(ColumnarItems.MEDIA_TYPE)).andReturn());
+
+        assertThat(List.of(json, cbor, columnar)).doesNotHaveDuplicates();
+        mvc.perform(get("/api/clothing-items").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mvc.perform(get("/api/clothing-items").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cbor))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void otherItemEndpointsNegotiateThroughTheConverters() throws Exception {
+        given(trending.trending(20)).willReturn(List.of(new ScoredItem(CATALOG.get(1), 2.5)));
+
+        mvc.perform(get("/api/clothing-items/trending").accept(ColumnarItems.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ColumnarItems.MEDIA_TYPE))
+            .andExpect(jsonPath("$.score[0]").value(2.5))
+            .andExpect(jsonPath("$.items.columns.name[0]").value("Blue Jeans"));
+        mvc.perform(get("/api/clothing-items/trending").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        // suggestions are not items, so there is no columnar form of them
+        mvc.perform(get("/api/clothing-items/suggest").param("prefix", "j").accept(ColumnarItems.MEDIA_TYPE))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void aFullPageCarriesTheCursorToTheNext() throws Exception {
+        given(repo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(2))).willReturn(CATALOG);
+        given(repo.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.ofSize(2))).willReturn(List.of());
+
+        mvc.perform(get("/api/clothing-items/page").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.nextCursor").value(2));
+        mvc.perform(get("/api/clothing-items/page").param("after", "2").param("size", "2"))
+            .andExpect(jsonPath("$.items.length()").value(0))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void aShortPageIsTheLast() throws Exception {
+        given(repo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(100))).willReturn(CATALOG);
+
+        mvc.perform(get("/api/clothing-items/page"))
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void pageSizeIsClampedToOneThroughFiveHundred() throws Exception {
+        given(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willReturn(List.of());
+
+        mvc.perform(get("/api/clothing-items/page").param("size", "0")).andExpect(status().isOk());
+        mvc.perform(get("/api/clothing-items/page").param("size", "-5")).andExpect(status().isOk());
+        mvc.perform(get("/api/clothing-items/page").param("size", "100000")).andExpect(status().isOk());
+
+        then(repo).should(times(2)).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(1));
+        then(repo).should().findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(500));
+    }
+
+    @Test
+    void exportRejectsAnUnknownFormat() throws Exception {
+        mvc.perform(get("/api/clothing-items/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+        then(exporter).shouldHaveNoInteractions();
+    }
+
+    private void assertServedAs(String accept, MediaType expected) throws Exception {
+        mvc.perform(get("/api/clothing-items").header(HttpHeaders.ACCEPT, accept))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(expected));
+    }
+
+    // the snapshot is rebuilt on a background thread
+    private void awaitSnapshotVersion(long version) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (snapshots.current().orElseThrow().version() < version) {
+            assertThat(System.currentTimeMillis()).as("snapshot v%d built", version).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static String etagOf(MvcResult result) {
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
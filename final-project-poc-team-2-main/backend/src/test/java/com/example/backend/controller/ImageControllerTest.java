@@ -0,0 +1,211 @@
+package com.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.SecurityConfig;
+import com.example.backend.service.CatalogChangedEvent;
+import com.example.backend.service.ImageService;
+import com.example.backend.util.JwtUtil;
+
+/**
+ * GET and HEAD /api/images/{name} through the real ImageService, over an
+ * image root in a temporary directory: conditional requests, byte ranges
+ * and the type sniffed from each file's first bytes.
+ */
+@WebMvcTest(ImageController.class)
+@Import({ ImageService.class, SecurityConfig.class, JwtUtil.class })
+@TestPropertySource(properties = { "jwt.secret=test-secret", "jwt.expiration=3600000" })
+class ImageControllerTest {
+
+    private static final Instant MODIFIED = Instant.parse("2024-05-01T10:00:00Z");
+    private static final byte[] PHOTO = new byte[1000];
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void imageRoot(DynamicPropertyRegistry registry) {
+        registry.add("images.root", () -> dir.resolve("images").toString());
+        registry.add("images.thumbnails.dir", () -> dir.resolve("thumbnails").toString());
+    }
+
+    @BeforeAll
+    static void writeImages() throws IOException {
+        // starts like a JPEG, but does not decode as one
+        new Random(18).nextBytes(PHOTO);
+        PHOTO[0] = (byte) 0xff;
+        PHOTO[1] = (byte) 0xd8;
+        PHOTO[2] = (byte) 0xff;
+        write("photo.jpg", PHOTO);
+        // an ISO BMFF "ftyp" box with the AVIF brand, under a .png name
+        write("avif.png", new byte[] { 0, 0, 0, 0x1c, 'f', 't', 'y', 'p', 'a', 'v', 'i', 'f', 0, 0, 0, 0 });
+        // no known signature, so the extension decides
+        write("plain.gif", "not really a gif".getBytes());
+        write("notes.txt", "hello".getBytes());
+    }
+
+    private static void write(String name, byte[] bytes) throws IOException {
+        Path file = Files.createDirectories(dir.resolve("images")).resolve(name);
+        Files.write(file, bytes);
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+    }
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ImageService images;
+
+    private String etag;
+
+    // the catalog's first rebuild starts the scan in the application; here there is no catalog
+    @BeforeEach
+    void scan() throws Exception {
+        images.onCatalogChanged(new CatalogChangedEvent(1, null));
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (images.find("photo.jpg", null).isEmpty() || !Files.exists(dir.resolve("thumbnails/manifest.tsv"))) {
+            assertThat(Instant.now()).as("images scanned").isBefore(deadline);
+            Thread.sleep(20);
+        }
+        etag = images.find("photo.jpg", null).orElseThrow().etag();
+    }
+
+    @Test
+    void theWholeFileWithItsValidators() throws Exception {
+        mvc.perform(get("/api/images/photo.jpg"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFIED.toEpochMilli()))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 1000))
+            .andExpect(content().contentType("image/jpeg"))
+            .andExpect(content().bytes(PHOTO));
+
+        mvc.perform(get("/api/images/missing.jpg")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void headHasTheHeadersButNoBody() throws Exception {
+        mvc.perform(head("/api/images/photo.jpg"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 1000))
+            .andExpect(content().contentType("image/jpeg"))
+            .andExpect(content().bytes(new byte[0]));
+
+        mvc.perform(head("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=0-9"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void ifNoneMatchAcceptsListsWeakTagsAndAStar() throws Exception {
+        for (String ifNoneMatch : new String[] { etag, "\"other\", " + etag, "W/" + etag, "*" }) {
+            mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        }
+        mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"other\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(PHOTO));
+    }
+
+    @Test
+    void aSingleRangeIsPartialContent() throws Exception {
+        mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=100-199"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+            .andExpect(content().bytes(Arrays.copyOfRange(PHOTO, 100, 200)));
+
+        // a suffix, and an end past the file, are cut to the file
+        mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=-10"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 990-999/1000"))
+            .andExpect(content().bytes(Arrays.copyOfRange(PHOTO, 990, 1000)));
+        mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=995-5000"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 995-999/1000"))
+            .andExpect(content().bytes(Arrays.copyOfRange(PHOTO, 995, 1000)));
+    }
+
+    @Test
+    void aRangeStartingPastTheEndIsNotSatisfiable() throws Exception {
+        mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=1000-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void severalOrMalformedRangesGetTheWholeFile() throws Exception {
+        for (String range : new String[] { "bytes=0-9,20-29", "bytes=abc", "items=0-9" }) {
+            mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, range))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(PHOTO));
+        }
+    }
+
+    @Test
+    void ifRangeByEtagOrDateServesTheRangeOnlyForTheSameFile() throws Exception {
+        String modified = DateTimeFormatter.RFC_1123_DATE_TIME.format(MODIFIED.atOffset(ZoneOffset.UTC));
+        String earlier = DateTimeFormatter.RFC_1123_DATE_TIME.format(MODIFIED.minusSeconds(1).atOffset(ZoneOffset.UTC));
+
+        for (String same : new String[] { etag, modified }) {
+            mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=0-9")
+                                                   .header(HttpHeaders.IF_RANGE, same))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOf(PHOTO, 10)));
+        }
+        // a weak tag never matches for If-Range
+        for (String changed : new String[] { "\"other\"", "W/" + etag, earlier, "not a date" }) {
+            mvc.perform(get("/api/images/photo.jpg").header(HttpHeaders.RANGE, "bytes=0-9")
+                                                   .header(HttpHeaders.IF_RANGE, changed))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PHOTO));
+        }
+    }
+
+    @Test
+    void theTypeComesFromTheFirstBytesBeforeTheExtension() throws Exception {
+        mvc.perform(head("/api/images/avif.png"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/avif"));
+        mvc.perform(head("/api/images/plain.gif"))
+            .andExpect(content().contentType("image/gif"));
+        mvc.perform(head("/api/images/notes.txt"))
+            .andExpect(content().contentType("application/octet-stream"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.controller;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+import com.example.backend.model.User;
+import com.example.backend.util.JwtUtil;
+
+/** GET /users/{userId}/wishlists/{id}/detail, paged by wishlist item id. */
+@DatabaseTest
+class WishlistDetailTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+    private long ann, bob, wishlist;
+    private long[] entries;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        ann = rows.user("ann@example.com");
+        bob = rows.user("bob@example.com");
+        wishlist = rows.wishlist(ann, "Summer");
+        String[] names = { "Tee", "Jeans", "Coat" };
+        entries = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            long item = rows.item(names[i], "black", "unisex", "$" + (10 * (i + 1)));
+            entries[i] = rows.wishlistItem(wishlist, item, Instant.now());
+        }
+    }
+
+    @Test
+    void pagesFollowTheCursor() throws Exception {
+        detail(ann, wishlist, 0, 2)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(wishlist))
+            .andExpect(jsonPath("$.name").value("Summer"))
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].id").value(entries[0]))
+            .andExpect(jsonPath("$.items[0].clothingItem.name").value("Tee"))
+            .andExpect(jsonPath("$.items[0].clothingItem.priceMinCents").value(1000))
+            .andExpect(jsonPath("$.items[1].clothingItem.name").value("Jeans"))
+            .andExpect(jsonPath("$.nextCursor").value(entries[1]));
+
+        detail(ann, wishlist, entries[1], 2)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(entries[2]))
+            .andExpect(jsonPath("$.items[0].clothingItem.name").value("Coat"))
+            .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void aPageOfExactlySizeItemsIsFollowedByAnEmptyOne() throws Exception {
+        // a full page cannot tell whether more follow, so it hands out a cursor
+        detail(ann, wishlist, 0, 3)
+            .andExpect(jsonPath("$.items.length()").value(3))
+            .andExpect(jsonPath("$.nextCursor").value(entries[2]));
+
+        detail(ann, wishlist, entries[2], 3)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Summer"))
+            .andExpect(jsonPath("$.items.length()").value(0))
+            .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void anEmptyWishlistHasNoItemsAndNoCursor() throws Exception {
+        long empty = rows.wishlist(ann, "Winter");
+
+        detail(ann, empty, 0, 50)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(empty))
+            .andExpect(jsonPath("$.items").isArray())
+            .andExpect(jsonPath("$.items.length()").value(0))
+            .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void anotherUsersWishlistIsNotFound() throws Exception {
+        rows.wishlist(bob, "Winter");
+
+        // bob's own path, ann's wishlist: the ownership check is in the query
+        detail(bob, wishlist, 0, 50).andExpect(status().isNotFound());
+        detail(ann, wishlist + 1000, 0, 50).andExpect(status().isNotFound());
+    }
+
+    private ResultActions detail(long userId, long wishlistId, long after, int size) throws Exception {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("user" + userId + "@example.com");
+        return mvc.perform(get("/users/" + userId + "/wishlists/" + wishlistId + "/detail")
+                               .param("after", String.valueOf(after))
+                               .param("size", String.valueOf(size))
+                               .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user)));
+    }
+}
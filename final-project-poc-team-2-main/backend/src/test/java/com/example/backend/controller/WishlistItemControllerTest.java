@@ -0,0 +1,163 @@
+package com.example.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+import com.example.backend.model.User;
+import com.example.backend.service.WishlistItemsChangedEvent;
+import com.example.backend.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** The bulk add and remove endpoints, against the database. */
+@DatabaseTest
+@RecordApplicationEvents
+class WishlistItemControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private ApplicationEvents events;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+    private long ann, bob, wishlist, tee, jeans, coat;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        ann = rows.user("ann@example.com");
+        bob = rows.user("bob@example.com");
+        wishlist = rows.wishlist(ann, "Summer");
+        tee = rows.item("Tee", "white", "unisex", "$15");
+        jeans = rows.item("Jeans", "blue", "male", "$40-$60");
+        coat = rows.item("Coat", "black", "female", "$120+");
+    }
+
+    @Test
+    void addingAgainChangesNothing() throws Exception {
+        add(ann, wishlist, List.of(tee, jeans, tee))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requested").value(2))
+            .andExpect(jsonPath("$.changed").value(2));
+        add(ann, wishlist, List.of(tee, jeans))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requested").value(2))
+            .andExpect(jsonPath("$.changed").value(0));
+
+        assertThat(rows.count("wishlist_item")).isEqualTo(2);
+        // one event, for the two items the first request added
+        assertThat(changes()).singleElement().satisfies(e -> {
+            assertThat(e.wishlistId()).isEqualTo(wishlist);
+            assertThat(e.clothingItemIds()).containsExactlyInAnyOrder(tee, jeans);
+            assertThat(e.removed()).isFalse();
+        });
+    }
+
+    @Test
+    void unknownItemsRejectTheWholeRequest() throws Exception {
+        long missing = coat + 1000;
+
+        add(ann, wishlist, List.of(tee, missing))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.changed").value(0))
+            .andExpect(jsonPath("$.unknownIds.length()").value(1))
+            .andExpect(jsonPath("$.unknownIds[0]").value(missing));
+
+        assertThat(rows.count("wishlist_item")).isZero();
+        assertThat(changes()).isEmpty();
+    }
+
+    @Test
+    void atMostAThousandItemsAtOnce() throws Exception {
+        List<Long> tooMany = LongStream.rangeClosed(1, 1001).boxed().toList();
+
+        add(ann, wishlist, tooMany).andExpect(status().isBadRequest());
+        remove(ann, wishlist, tooMany).andExpect(status().isBadRequest());
+        add(ann, wishlist, List.of()).andExpect(status().isBadRequest());
+        assertThat(changes()).isEmpty();
+    }
+
+    @Test
+    void anotherUsersWishlistIsNotFound() throws Exception {
+        long bobs = rows.wishlist(bob, "Winter");
+        rows.wishlistItem(bobs, coat, Instant.now());
+
+        // ann's token, bob's wishlist under ann's path
+        add(ann, bobs, List.of(tee)).andExpect(status().isNotFound());
+        remove(ann, bobs, List.of(coat)).andExpect(status().isNotFound());
+
+        assertThat(rows.count("wishlist_item")).isEqualTo(1);
+        assertThat(changes()).isEmpty();
+    }
+
+    @Test
+    void onlyItemsThatWereThereAreReportedRemoved() throws Exception {
+        rows.wishlistItem(wishlist, tee, Instant.now());
+        rows.wishlistItem(wishlist, jeans, Instant.now());
+
+        remove(ann, wishlist, List.of(tee, coat, coat + 1000))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.requested").value(3))
+            .andExpect(jsonPath("$.changed").value(1));
+        remove(ann, wishlist, List.of(tee, coat))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changed").value(0));
+
+        assertThat(rows.count("wishlist_item")).isEqualTo(1);
+        assertThat(changes()).containsExactly(new WishlistItemsChangedEvent(wishlist, List.of(tee), true));
+    }
+
+    private ResultActions add(long userId, long wishlistId, List<Long> ids) throws Exception {
+        return bulk(post(path(wishlistId, userId)), userId, ids);
+    }
+
+    private ResultActions remove(long userId, long wishlistId, List<Long> ids) throws Exception {
+        return bulk(delete(path(wishlistId, userId)), userId, ids);
+    }
+
+    private ResultActions bulk(MockHttpServletRequestBuilder request, long userId, List<Long> ids) throws Exception {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("user" + userId + "@example.com");
+        return mvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(user))
+                                  .contentType(MediaType.APPLICATION_JSON)
+                                  .content(mapper.writeValueAsString(Map.of("clothingItemIds", ids))));
+    }
+
+    private static String path(long wishlistId, long userId) {
+        return "/users/" + userId + "/wishlists/" + wishlistId + "/items/bulk";
+    }
+
+    private List<WishlistItemsChangedEvent> changes() {
+        return events.stream(WishlistItemsChangedEvent.class).toList();
+    }
+}
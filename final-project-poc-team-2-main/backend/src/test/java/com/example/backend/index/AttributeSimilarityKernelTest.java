@@ -0,0 +1,103 @@
+package com.example.backend.index;
+
+import static com.example.backend.TestItems.item;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.model.ClothingItem;
+
+/**
+ * The Vector API kernel must give the scalar score for every pair, including
+ * items with missing attributes and the tail past the last full vector.
+ */
+class AttributeSimilarityKernelTest {
+
+    private static final String[] GENDERS = { "male", "female", "unisex", null };
+    private static final String[] COLORS = { "red", "Navy", "blue", "black", "green", "", null };
+    private static final String[] PATTERNS = { "solid", "striped", "floral", null };
+    private static final String[] MATERIALS = { "cotton", "denim", "wool", "silk", null };
+    private static final String[] TYPES = { "t-shirt", "jeans", "dress", "jacket", "hoodie", null };
+    private static final String[] EVENTS = { "casual", "party", "formal", "outdoor", "everyday wear" };
+    private static final String[] PRICES = { "$10", "$20-$40", "$45-$60", "$80-$120", "$150+", "$300+", "varies", null };
+
+    private final Random random = new Random(20);
+    private final List<ClothingItem> items = new ArrayList<>();
+
+    // a prime count, so the last block never fills a whole vector
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 211; id++) {
+            ClothingItem item = item(id, "Item " + id, pick(GENDERS), pick(COLORS), pick(MATERIALS), pick(TYPES),
+                                     events(), pick(PRICES));
+            item.setPattern(pick(PATTERNS));
+            items.add(item);
+        }
+    }
+
+    @Test
+    void kernelGivesTheScalarScore() {
+        assumeTrue(AttributeSimilarityIndex.VECTOR_API_AVAILABLE);
+        AttributeSimilarityIndex index = AttributeSimilarityIndex.build(items, true);
+
+        float[] out = new float[index.size()];
+        for (int q = 0; q < index.size(); q++) {
+            AttributeSimilarityKernel.score(index, q, 0, index.size(), out);
+            for (int pos = 0; pos < index.size(); pos++) {
+                assertThat(out[pos]).as("score(%d, %d)", q, pos).isEqualTo(index.score(q, pos));
+            }
+        }
+    }
+
+    @Test
+    void kernelScoresAnyWindow() {
+        assumeTrue(AttributeSimilarityIndex.VECTOR_API_AVAILABLE);
+        AttributeSimilarityIndex index = AttributeSimilarityIndex.build(items, true);
+
+        float[] out = new float[index.size()];
+        for (int[] window : new int[][] { { 0, 1 }, { 3, 17 }, { 5, 64 }, { 100, 111 }, { 200, 11 } }) {
+            int from = window[0], n = window[1];
+            AttributeSimilarityKernel.score(index, 42, from, n, out);
+            for (int i = 0; i < n; i++) {
+                assertThat(out[i]).isEqualTo(index.score(42, from + i));
+            }
+        }
+    }
+
+    @Test
+    void vectorizedAndScalarIndexesAgree() {
+        assumeTrue(AttributeSimilarityIndex.VECTOR_API_AVAILABLE);
+        AttributeSimilarityIndex vectorized = AttributeSimilarityIndex.build(items, true);
+        AttributeSimilarityIndex scalar = AttributeSimilarityIndex.build(items, false);
+        assertThat(vectorized.isVectorized()).isTrue();
+        assertThat(scalar.isVectorized()).isFalse();
+
+        for (long id = 1; id <= items.size(); id++) {
+            List<ScoredItem> expected = scalar.similar(id, 10);
+            assertThat(vectorized.similar(id, 10)).isEqualTo(expected);
+            assertThat(expected).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+            assertThat(expected).extracting(s -> s.item().getId()).doesNotContain(id);
+        }
+    }
+
+    private String events() {
+        StringBuilder events = new StringBuilder();
+        for (String event : EVENTS) {
+            if (random.nextInt(3) == 0) {
+                events.append(events.isEmpty() ? "" : ", ").append(event);
+            }
+        }
+        return events.toString();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
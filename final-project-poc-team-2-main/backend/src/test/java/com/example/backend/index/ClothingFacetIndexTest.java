@@ -0,0 +1,178 @@
+package com.example.backend.index;
+
+import static com.example.backend.TestItems.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.dto.FacetCounts;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.model.ClothingItem;
+
+class ClothingFacetIndexTest {
+
+    private ClothingFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = ClothingFacetIndex.build(List.of(
+            item(1, "Red Hoodie", "female", "red", "cotton", "hoodie", "casual, outdoor", "$20-$40"),
+            item(2, "Blue Jeans", "male", "blue", "denim", "jeans", "casual", "$60-$90"),
+            item(3, "Red Dress", "female", "Red", "silk", "dress", "formal, party", "$120+"),
+            item(4, "Black Coat", "unisex", "black", "wool", "coat", "formal", "$80-$120"),
+            item(5, "Blue Hoodie", "female", "blue", "cotton", "hoodie", "everyday wear", "$15-$25")));
+    }
+
+    @Test
+    void noFilterReturnsEveryItemInCatalogOrder() {
+        assertThat(ids(index.query(filter(null, null, null, null, null)))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(ids(index.query(null))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void valuesOfOneFacetAreOredAndFacetsAreAnded() {
+        assertThat(ids(index.query(filter(null, List.of("red", "black"), null, null, null))))
+            .containsExactly(1L, 3L, 4L);
+        assertThat(ids(index.query(filter(List.of("female"), List.of("red", "blue"), List.of("cotton"), null, null))))
+            .containsExactly(1L, 5L);
+        assertThat(index.query(filter(List.of("male"), List.of("red"), null, null, null))).isEmpty();
+    }
+
+    @Test
+    void valuesAreMatchedIgnoringCaseAndSurroundingSpace() {
+        assertThat(ids(index.query(filter(null, List.of("  RED "), null, null, null)))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void anItemMatchesEachOfItsCommaSeparatedEvents() {
+        assertThat(ids(index.query(filter(null, null, null, null, List.of("party"))))).containsExactly(3L);
+        assertThat(ids(index.query(filter(null, null, null, null, List.of("formal"))))).containsExactly(3L, 4L);
+        assertThat(ids(index.query(filter(null, null, null, null, List.of("everyday wear"))))).containsExactly(5L);
+    }
+
+    @Test
+    void unknownValueMatchesNothing() {
+        assertThat(index.query(filter(null, List.of("purple"), null, null, null))).isEmpty();
+    }
+
+    @Test
+    void upsertReplacesTheIndexedValues() {
+        ClothingItem recoloured = item(1, "Green Hoodie", "female", "green", "cotton", "hoodie", "casual", "$20-$40");
+        index.upsert(recoloured);
+
+        assertThat(ids(index.query(filter(null, List.of("red"), null, null, null)))).containsExactly(3L);
+        assertThat(ids(index.query(filter(null, List.of("green"), null, null, null)))).containsExactly(1L);
+        assertThat(index.get(1L).getName()).isEqualTo("Green Hoodie");
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void removedItemNoLongerMatches() {
+        index.remove(3L);
+
+        assertThat(ids(index.query(filter(null, List.of("red"), null, null, null)))).containsExactly(1L);
+        assertThat(index.get(3L)).isNull();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(ids(index.items())).containsExactly(1L, 2L, 4L, 5L);
+    }
+
+    @Test
+    void facetCountsWithoutFilterCountEveryValue() {
+        FacetCounts counts = index.facetCounts(null);
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.facets().keySet())
+            .containsExactly("gender", "color", "material", "pattern", "typeOfClothing", "events");
+        assertThat(counts.facets().get("gender")).containsExactly(
+            Map.entry("female", 3), Map.entry("male", 1), Map.entry("unisex", 1));
+        assertThat(counts.facets().get("events")).containsExactly(
+            Map.entry("casual", 2), Map.entry("formal", 2), Map.entry("everyday wear", 1),
+            Map.entry("outdoor", 1), Map.entry("party", 1));
+    }
+
+    @Test
+    void eachFacetIsCountedWithoutItsOwnSelection() {
+        FacetCounts counts = index.facetCounts(filter(List.of("female"), List.of("red"), null, null, null));
+
+        assertThat(counts.total()).isEqualTo(2);
+        // every gender among the red items, so another one can still be picked
+        assertThat(counts.facets().get("gender")).containsExactly(Map.entry("female", 2));
+        // every colour among the female items
+        assertThat(counts.facets().get("color")).containsExactly(Map.entry("red", 2), Map.entry("blue", 1));
+        // the other facets see both selections
+        assertThat(counts.facets().get("material")).containsExactly(Map.entry("cotton", 1), Map.entry("silk", 1));
+    }
+
+    @Test
+    void facetCountsOmitZeroesAndAgreeWithQuery() {
+        ClothingItemFilter filter = filter(null, List.of("blue"), null, null, null);
+        FacetCounts counts = index.facetCounts(filter);
+
+        assertThat(counts.total()).isEqualTo(index.query(filter).size());
+        assertThat(counts.facets().get("typeOfClothing")).containsExactly(Map.entry("hoodie", 1), Map.entry("jeans", 1));
+        assertThat(counts.facets().get("material")).doesNotContainKey("wool");
+
+        int pickedCotton = index.query(filter(null, List.of("blue"), List.of("cotton"), null, null)).size();
+        assertThat(counts.facets().get("material").get("cotton")).isEqualTo(pickedCotton);
+    }
+
+    @Test
+    void facetCountsApplyThePriceFilterToEveryFacet() {
+        ClothingItemFilter filter = new ClothingItemFilter(null, null, null, null, null, null, 50, null);
+        FacetCounts counts = index.facetCounts(filter);
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.facets().get("color")).containsExactly(
+            Map.entry("black", 1), Map.entry("blue", 1), Map.entry("red", 1));
+    }
+
+    @Test
+    void facetCountsFollowRemoval() {
+        index.remove(1L);
+
+        FacetCounts counts = index.facetCounts(null);
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.facets().get("events")).doesNotContainKey("outdoor");
+        assertThat(counts.facets().get("color")).containsEntry("red", 1);
+    }
+
+    @Test
+    void topKReturnsTheBestScoresFirstWithTiesToTheLowerId() {
+        // hoodies 3, everything else female 2, the rest 1
+        List<ScoredItem> top = index.topK(item -> "hoodie".equals(item.getTypeOfClothing()) ? 3
+                                                  : "female".equals(item.getGender()) ? 2 : 1, 3);
+
+        assertThat(top).extracting(s -> s.item().getId()).containsExactly(1L, 5L, 3L);
+        assertThat(top).extracting(ScoredItem::score).containsExactly(3.0, 3.0, 2.0);
+    }
+
+    @Test
+    void topKSkipsItemsScoringNothing() {
+        List<ScoredItem> top = index.topK(item -> "blue".equals(item.getColor()) ? 1 : 0, 10);
+
+        assertThat(top).extracting(s -> s.item().getId()).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void topKLeavesOutRemovedItems() {
+        index.remove(1L);
+
+        assertThat(index.topK(item -> item.getId(), 10)).extracting(s -> s.item().getId())
+            .containsExactly(5L, 4L, 3L, 2L);
+    }
+
+    private static ClothingItemFilter filter(List<String> gender, List<String> color, List<String> material,
+                                             List<String> type, List<String> events) {
+        return new ClothingItemFilter(gender, color, material, null, type, events, null, null);
+    }
+
+    private static List<Long> ids(List<? extends ClothingItemDTO> items) {
+        return items.stream().map(ClothingItemDTO::getId).toList();
+    }
+}
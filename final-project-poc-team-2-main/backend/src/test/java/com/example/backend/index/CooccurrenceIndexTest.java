@@ -0,0 +1,191 @@
+package com.example.backend.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.index.CooccurrenceIndex.Neighbour;
+
+class CooccurrenceIndexTest {
+
+    private final Random random = new Random(21);
+
+    @Test
+    void addAndRemoveAreIdempotent() {
+        CooccurrenceIndex index = new CooccurrenceIndex();
+
+        assertThat(index.add(1, 10)).isTrue();
+        assertThat(index.add(1, 20)).isTrue();
+        assertThat(index.add(1, 10)).isFalse();
+        assertThat(index.entries()).isEqualTo(2);
+        assertThat(index.related(10, 5)).containsExactly(new Neighbour(20, 1, 1f));
+
+        assertThat(index.remove(1, 10)).isTrue();
+        assertThat(index.remove(1, 10)).isFalse();
+        assertThat(index.remove(1, 99)).isFalse();
+        assertThat(index.remove(2, 20)).isFalse();
+        assertThat(index.related(10, 5)).isEmpty();
+        assertThat(index.related(20, 5)).isEmpty();
+        assertThat(index.entries()).isEqualTo(1);
+        assertThat(index.pairs()).isZero();
+
+        // the emptied wishlist is gone and its slot can be reused
+        assertThat(index.remove(1, 20)).isTrue();
+        assertThat(index.wishlists()).isZero();
+        assertThat(index.add(3, 10)).isTrue();
+        assertThat(index.add(3, 20)).isTrue();
+        assertThat(index.wishlists()).isEqualTo(1);
+        assertThat(index.pairs()).isEqualTo(1);
+    }
+
+    @Test
+    void relatedIsRankedByCosine() {
+        CooccurrenceIndex index = new CooccurrenceIndex();
+        // 10 is in four wishlists; 20 in two of them and nowhere else, 30 in
+        // three of them and three more
+        for (long w = 1; w <= 4; w++) index.add(w, 10);
+        index.add(1, 20);
+        index.add(2, 20);
+        for (long w = 1; w <= 3; w++) index.add(w, 30);
+        for (long w = 5; w <= 7; w++) index.add(w, 30);
+
+        List<Neighbour> related = index.related(10, 5);
+
+        assertThat(related).extracting(Neighbour::itemId).containsExactly(20L, 30L);
+        assertThat(related).extracting(Neighbour::together).containsExactly(2, 3);
+        assertThat(related.get(0).score()).isCloseTo((float) (2 / Math.sqrt(4 * 2)), within(1e-6f));
+        assertThat(related.get(1).score()).isCloseTo((float) (3 / Math.sqrt(4 * 6)), within(1e-6f));
+        assertThat(index.related(10, 1)).hasSize(1);
+        assertThat(index.related(99, 5)).isEmpty();
+    }
+
+    @Test
+    void equalScoresGoToTheItemIndexedFirst() {
+        CooccurrenceIndex index = new CooccurrenceIndex();
+        index.add(1, 30);
+        index.add(1, 10);
+        index.add(1, 20);
+
+        assertThat(index.related(10, 5)).extracting(Neighbour::itemId).containsExactly(30L, 20L);
+    }
+
+    @Test
+    void countsMatchABruteForceModel() {
+        CooccurrenceIndex index = new CooccurrenceIndex();
+        Map<Long, Set<Long>> model = new LinkedHashMap<>();
+        for (int step = 0; step < 5_000; step++) {
+            long wishlist = 1 + random.nextInt(60);
+            long item = 1 + random.nextInt(40);
+            Set<Long> held = model.computeIfAbsent(wishlist, w -> new HashSet<>());
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(wishlist, item)).isEqualTo(held.remove(item));
+            } else {
+                assertThat(index.add(wishlist, item)).isEqualTo(held.add(item));
+            }
+        }
+
+        assertThat(index.wishlists()).isEqualTo(model.values().stream().filter(s -> !s.isEmpty()).count());
+        assertThat(index.entries()).isEqualTo(model.values().stream().mapToLong(Set::size).sum());
+        assertThat(index.pairs()).isEqualTo(distinctPairs(model));
+        for (long item = 1; item <= 40; item++) {
+            for (Neighbour n : index.related(item, 40)) {
+                assertThat(n.together()).isEqualTo(together(model, item, n.itemId()));
+                assertThat(n.score()).isCloseTo(cosine(model, item, n.itemId()), within(1e-6f));
+            }
+        }
+    }
+
+    @Test
+    void mergingDisjointIndexesEqualsReplayingIntoOne() {
+        List<long[]> first = randomEntries(1, 31);
+        List<long[]> second = randomEntries(31, 61);
+
+        CooccurrenceIndex merged = build(first).merge(build(second));
+        List<long[]> everything = new ArrayList<>(first);
+        everything.addAll(second);
+        CooccurrenceIndex replayed = build(everything);
+
+        assertThat(merged.wishlists()).isEqualTo(replayed.wishlists());
+        assertThat(merged.entries()).isEqualTo(replayed.entries());
+        assertThat(merged.pairs()).isEqualTo(replayed.pairs());
+        for (long item = 1; item <= 40; item++) {
+            assertThat(merged.related(item, 40)).as("item %d", item).isEqualTo(replayed.related(item, 40));
+        }
+
+        // and the merged index keeps working like any other
+        assertThat(merged.remove(first.get(0)[0], first.get(0)[1])).isTrue();
+        assertThat(replayed.remove(first.get(0)[0], first.get(0)[1])).isTrue();
+        assertThat(merged.pairs()).isEqualTo(replayed.pairs());
+    }
+
+    @Test
+    void mergingASharedWishlistFailsWithoutChangingAnything() {
+        CooccurrenceIndex index = build(randomEntries(1, 11));
+        CooccurrenceIndex other = new CooccurrenceIndex();
+        other.add(20, 1);
+        other.add(20, 2);
+        other.add(5, 3);
+        long pairs = index.pairs();
+        long entries = index.entries();
+        List<Neighbour> related = index.related(1, 40);
+
+        assertThatThrownBy(() -> index.merge(other))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("wishlist 5");
+        assertThat(index.pairs()).isEqualTo(pairs);
+        assertThat(index.entries()).isEqualTo(entries);
+        assertThat(index.related(1, 40)).isEqualTo(related);
+    }
+
+    // (wishlist, item) entries over wishlists [from, to) and items [1, 40]; ids are never 0
+    private List<long[]> randomEntries(int from, int to) {
+        List<long[]> entries = new ArrayList<>();
+        for (long w = from; w < to; w++) {
+            int size = 1 + random.nextInt(8);
+            for (int i = 0; i < size; i++) {
+                entries.add(new long[] { w, 1 + random.nextInt(40) });
+            }
+        }
+        return entries;
+    }
+
+    private static CooccurrenceIndex build(List<long[]> entries) {
+        CooccurrenceIndex index = new CooccurrenceIndex();
+        for (long[] e : entries) {
+            index.add(e[0], e[1]);
+        }
+        return index;
+    }
+
+    private static long distinctPairs(Map<Long, Set<Long>> model) {
+        Set<List<Long>> pairs = new HashSet<>();
+        for (Set<Long> items : model.values()) {
+            for (long a : items) {
+                for (long b : items) {
+                    if (a < b) pairs.add(List.of(a, b));
+                }
+            }
+        }
+        return pairs.size();
+    }
+
+    private static int together(Map<Long, Set<Long>> model, long a, long b) {
+        return (int) model.values().stream().filter(s -> s.contains(a) && s.contains(b)).count();
+    }
+
+    private static float cosine(Map<Long, Set<Long>> model, long a, long b) {
+        long savesA = model.values().stream().filter(s -> s.contains(a)).count();
+        long savesB = model.values().stream().filter(s -> s.contains(b)).count();
+        return (float) (together(model, a, b) / Math.sqrt((double) savesA * savesB));
+    }
+}
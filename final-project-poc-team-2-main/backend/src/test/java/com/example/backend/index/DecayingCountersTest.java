@@ -0,0 +1,95 @@
+package com.example.backend.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.index.DecayingCounters.Scored;
+
+class DecayingCountersTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final DecayingCounters counters = new DecayingCounters(Duration.ofHours(1), T0);
+
+    @Test
+    void aScoreHalvesEveryHalfLife() {
+        counters.add(1, 8, T0);
+
+        assertThat(scores(T0)).containsEntry(1L, 8.0);
+        assertThat(scores(T0 + HOUR).get(1L)).isCloseTo(4, within(1e-9));
+        assertThat(scores(T0 + 3 * HOUR).get(1L)).isCloseTo(1, within(1e-9));
+        assertThat(scores(T0 + HOUR / 2).get(1L)).isCloseTo(8 / Math.sqrt(2), within(1e-9));
+    }
+
+    @Test
+    void laterEventsWeighMore() {
+        counters.add(1, 1, T0);
+        counters.add(2, 1, T0 + 2 * HOUR);
+        counters.add(2, 1, T0 + 2 * HOUR);
+        counters.add(3, 1, T0 + 4 * HOUR);
+
+        Map<Long, Double> now = scores(T0 + 4 * HOUR);
+        assertThat(now.get(1L)).isCloseTo(1.0 / 16, within(1e-9));
+        assertThat(now.get(2L)).isCloseTo(2.0 / 4, within(1e-9));
+        assertThat(now.get(3L)).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void topIsHighestFirstWithTiesToTheLowerKey() {
+        counters.add(30, 2, T0);
+        counters.add(20, 2, T0);
+        counters.add(10, 1, T0);
+        counters.add(40, 3, T0 - HOUR);   // 1.5 now
+
+        assertThat(counters.top(10, T0)).extracting(Scored::key).containsExactly(20L, 30L, 40L, 10L);
+        assertThat(counters.top(2, T0)).extracting(Scored::key).containsExactly(20L, 30L);
+        assertThat(counters.top(1, T0 + HOUR).get(0).score()).isCloseTo(1, within(1e-6));
+        assertThat(counters.top(0, T0)).isEmpty();
+        assertThat(new DecayingCounters(Duration.ofHours(1), T0).top(5, T0)).isEmpty();
+    }
+
+    @Test
+    void rebaseWaitsUntilItIsDue() {
+        counters.add(1, 1, T0);
+        long due = T0 + DecayingCounters.REBASE_AFTER_HALF_LIVES * HOUR;
+
+        assertThat(counters.rebase(due - 1, 0)).isFalse();
+        assertThat(counters.rebase(due, 0)).isTrue();
+        assertThat(counters.rebase(due + HOUR, 0)).isFalse();
+        assertThat(counters.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rebaseKeepsScoresAndDropsFadedKeys() {
+        long due = T0 + DecayingCounters.REBASE_AFTER_HALF_LIVES * HOUR;
+        counters.add(1, 1, T0);                 // 2^-32 at the rebase
+        counters.add(2, 5, due - HOUR);         // 2.5
+        counters.add(3, 1, due);                // 1
+        Map<Long, Double> before = scores(due + HOUR);
+
+        assertThat(counters.rebase(due, 1e-6)).isTrue();
+
+        assertThat(counters.size()).isEqualTo(2);
+        Map<Long, Double> after = scores(due + HOUR);
+        assertThat(after).doesNotContainKey(1L);
+        assertThat(after.get(2L)).isCloseTo(before.get(2L), within(1e-9));
+        assertThat(after.get(3L)).isCloseTo(before.get(3L), within(1e-9));
+
+        // adds after the rebase decay the same way
+        counters.add(3, 1, due + HOUR);
+        assertThat(scores(due + 2 * HOUR).get(3L)).isCloseTo(0.25 + 0.5, within(1e-9));
+    }
+
+    private Map<Long, Double> scores(long nowMillis) {
+        Map<Long, Double> scores = new HashMap<>();
+        counters.forEach(nowMillis, scores::put);
+        return scores;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.backend.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HammingIndexTest {
+
+    private final Random random = new Random(19);
+    private final List<Long> hashes = new ArrayList<>();
+    private final HammingIndex index = new HammingIndex();
+
+    // unrelated hashes, plus clusters of near copies of a few of them
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2_000; i++) {
+            hashes.add(random.nextLong());
+        }
+        for (int i = 0; i < 50; i++) {
+            long base = hashes.get(i);
+            for (int flips = 1; flips <= 24; flips++) {
+                hashes.add(flip(base, flips));
+            }
+        }
+        for (int pos = 0; pos < hashes.size(); pos++) {
+            index.add(hashes.get(pos), pos);
+        }
+    }
+
+    @Test
+    void searchFindsExactlyWhatAScanFinds() {
+        for (int radius : new int[] { 0, 1, 3, 4, 7, 10, 15, 20 }) {
+            for (int q = 0; q < 60; q++) {
+                long query = q < 50 ? hashes.get(q) : random.nextLong();
+                assertThat(search(query, radius)).as("radius %d, query %d", radius, q)
+                    .isEqualTo(scan(query, radius));
+            }
+        }
+    }
+
+    @Test
+    void nearCopiesAreFoundAtTheirDistance() {
+        long base = hashes.get(0);
+        Map<Long, Integer> found = search(base, 10);
+
+        assertThat(found).containsEntry(0L, 0);
+        for (int flips = 1; flips <= 10; flips++) {
+            assertThat(found).containsEntry(2_000L + flips - 1, flips);
+        }
+        assertThat(found).doesNotContainKey(2_000L + 10);
+    }
+
+    @Test
+    void equalHashesAreAllVisited() {
+        HammingIndex twins = new HammingIndex();
+        twins.add(0xCAFEL, 1);
+        twins.add(0xCAFEL, 2);
+        twins.add(0xCAFFL, 3);
+
+        assertThat(search(twins, 0xCAFEL, 0)).containsOnly(Map.entry(1L, 0), Map.entry(2L, 0));
+        assertThat(search(twins, 0xCAFEL, 1)).hasSize(3);
+        assertThat(twins.size()).isEqualTo(3);
+    }
+
+    @Test
+    void theWholeRangeAndTheEdges() {
+        assertThat(search(0L, 64)).hasSize(hashes.size());
+        assertThat(search(0L, -1)).isEmpty();
+        assertThat(search(new HammingIndex(), 0L, 64)).isEmpty();
+    }
+
+    private Map<Long, Integer> search(long query, int radius) {
+        return search(index, query, radius);
+    }
+
+    // fails on a value visited twice
+    private static Map<Long, Integer> search(HammingIndex index, long query, int radius) {
+        Map<Long, Integer> found = new HashMap<>();
+        index.search(query, radius, (value, hash, distance) -> {
+            assertThat(distance).isEqualTo(Long.bitCount(query ^ hash));
+            assertThat(found.put(value, distance)).as("value %d visited twice", value).isNull();
+        });
+        return found;
+    }
+
+    private Map<Long, Integer> scan(long query, int radius) {
+        Map<Long, Integer> found = new HashMap<>();
+        for (int pos = 0; pos < hashes.size(); pos++) {
+            int distance = Long.bitCount(query ^ hashes.get(pos));
+            if (distance <= radius) {
+                found.put((long) pos, distance);
+            }
+        }
+        return found;
+    }
+
+    private long flip(long hash, int bits) {
+        long flipped = hash;
+        while (Long.bitCount(flipped ^ hash) < bits) {
+            flipped ^= 1L << random.nextInt(64);
+        }
+        return flipped;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.backend.index;
+
+import static com.example.backend.TestItems.item;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.example.backend.dto.ClothingItemDTO;
+import com.example.backend.dto.ClothingItemFilter;
+import com.example.backend.util.PriceRange;
+
+class PriceIndexTest {
+
+    private static final int OPEN = PriceRange.OPEN_ENDED;
+
+    @Test
+    void overlappingIncludesRangesTouchingEitherBound() {
+        // positions:        0     1      2     3     4
+        int[] mins = {     1000, 2000,  4000, 6000,   -1 };
+        int[] maxs = {     2000, 4000,  OPEN, 9000, OPEN };
+        PriceIndex prices = PriceIndex.build(mins, maxs, RoaringBitmap.bitmapOf(0, 1, 2, 3, 4));
+
+        assertThat(prices.overlapping(2000, 2000).toArray()).containsExactly(0, 1);
+        assertThat(prices.overlapping(4500, 5000).toArray()).containsExactly(2);
+        assertThat(prices.overlapping(0, 999).toArray()).isEmpty();
+        assertThat(prices.overlapping(100_000, OPEN).toArray()).containsExactly(2);
+        // position 4 has no price and never matches
+        assertThat(prices.overlapping(0, OPEN).toArray()).containsExactly(0, 1, 2, 3);
+        assertThat(prices.size()).isEqualTo(4);
+    }
+
+    @Test
+    void deadPositionsAreLeftOut() {
+        int[] mins = { 1000, 1000, 1000 };
+        int[] maxs = { 2000, 2000, 2000 };
+        PriceIndex prices = PriceIndex.build(mins, maxs, RoaringBitmap.bitmapOf(0, 2));
+
+        assertThat(prices.overlapping(0, OPEN).toArray()).containsExactly(0, 2);
+        assertThat(prices.cheapest(RoaringBitmap.bitmapOf(0, 1, 2), 10)).containsExactly(0, 2);
+    }
+
+    @Test
+    void cheapestOrdersByMinimumPriceThenPosition() {
+        int[] mins = { 5000, 1000, 3000, 1000, -1, 2000 };
+        int[] maxs = { 6000, OPEN, 3000, 1500, -1, 2500 };
+        PriceIndex prices = PriceIndex.build(mins, maxs, RoaringBitmap.bitmapOf(0, 1, 2, 3, 4, 5));
+
+        assertThat(prices.cheapest(RoaringBitmap.bitmapOf(0, 1, 2, 3, 4, 5), 3)).containsExactly(1, 3, 5);
+        assertThat(prices.cheapest(RoaringBitmap.bitmapOf(0, 2, 4), 10)).containsExactly(2, 0);
+        assertThat(prices.cheapest(new RoaringBitmap(), 10)).isEmpty();
+    }
+
+    @Test
+    void emptyIndexMatchesNothing() {
+        PriceIndex prices = PriceIndex.build(new int[0], new int[0], new RoaringBitmap());
+
+        assertThat(prices.overlapping(0, OPEN).isEmpty()).isTrue();
+        assertThat(prices.cheapest(RoaringBitmap.bitmapOf(1, 2), 5)).isEmpty();
+    }
+
+    // Few distinct prices put most boundaries on a cut, many put them between
+    // cuts; both paths must agree with a scan.
+    @Test
+    void overlappingAndCheapestAgreeWithAScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(round < 50 ? 20 : 3000);
+            int distinct = 1 + random.nextInt(round % 2 == 0 ? 12 : 50_000);
+            int[] mins = new int[n];
+            int[] maxs = new int[n];
+            RoaringBitmap live = new RoaringBitmap();
+            for (int i = 0; i < n; i++) {
+                if (random.nextInt(10) == 0) {
+                    mins[i] = -1;
+                    maxs[i] = OPEN;
+                } else {
+                    mins[i] = random.nextInt(distinct) * 100;
+                    maxs[i] = random.nextInt(8) == 0 ? OPEN : mins[i] + random.nextInt(distinct) * 100;
+                }
+                if (random.nextInt(20) != 0) live.add(i);
+            }
+            PriceIndex prices = PriceIndex.build(mins, maxs, live);
+
+            for (int q = 0; q < 10; q++) {
+                int from = random.nextInt(distinct * 100 + 200);
+                int to = random.nextBoolean() ? OPEN : from + random.nextInt(distinct * 100 + 1);
+                RoaringBitmap expected = new RoaringBitmap();
+                live.forEach((int i) -> {
+                    if (mins[i] >= 0 && mins[i] <= to && maxs[i] >= from) expected.add(i);
+                });
+                assertThat(prices.overlapping(from, to)).isEqualTo(expected);
+
+                RoaringBitmap candidates = new RoaringBitmap();
+                for (int i = 0; i < n; i++) {
+                    if (random.nextInt(q + 2) == 0) candidates.add(i);
+                }
+                int limit = 1 + random.nextInt(50);
+                List<Integer> byPrice = new ArrayList<>();
+                live.forEach((int i) -> {
+                    if (mins[i] >= 0 && candidates.contains(i)) byPrice.add(i);
+                });
+                byPrice.sort(Comparator.<Integer>comparingInt(i -> mins[i]).thenComparingInt(i -> i));
+                int[] cheapest = byPrice.subList(0, Math.min(limit, byPrice.size()))
+                                        .stream().mapToInt(Integer::intValue).toArray();
+                assertThat(prices.cheapest(candidates, limit)).containsExactly(cheapest);
+            }
+        }
+    }
+
+    @Test
+    void catalogPriceFilterIsInWholeDollarsAndOverlapsRanges() {
+        ClothingFacetIndex index = ClothingFacetIndex.build(List.of(
+            item(1, "Tee", "unisex", "white", "cotton", "t-shirt", "casual", "$15-$25"),
+            item(2, "Jeans", "male", "blue", "denim", "jeans", "casual", "$40"),
+            item(3, "Coat", "female", "black", "wool", "coat", "formal", "$120+"),
+            item(4, "Dress", "female", "red", "silk", "dress", "party", "$60-$90"),
+            item(5, "Scarf", "female", "red", "silk", "scarf", "party", "ask in store")));
+
+        assertThat(ids(index.query(price(20, 40)))).containsExactly(1L, 2L);
+        assertThat(ids(index.query(price(100, null)))).containsExactly(3L);
+        assertThat(ids(index.query(price(null, 15)))).containsExactly(1L);
+        // far past the int range of cents, as good as open-ended
+        assertThat(ids(index.query(price(0, Integer.MAX_VALUE)))).containsExactly(1L, 2L, 3L, 4L);
+
+        assertThat(ids(index.cheapest(price(null, null), 3))).containsExactly(1L, 2L, 4L);
+        assertThat(ids(index.cheapest(new ClothingItemFilter(List.of("female"), null, null, null, null, null, null, null), 10)))
+            .containsExactly(4L, 3L);
+    }
+
+    @Test
+    void catalogPriceFilterFollowsUpdates() {
+        ClothingFacetIndex index = ClothingFacetIndex.build(List.of(
+            item(1, "Tee", "unisex", "white", "cotton", "t-shirt", "casual", "$15-$25"),
+            item(2, "Jeans", "male", "blue", "denim", "jeans", "casual", "$40")));
+        assertThat(ids(index.query(price(30, 50)))).containsExactly(2L);
+
+        index.upsert(item(1, "Tee", "unisex", "white", "cotton", "t-shirt", "casual", "$35"));
+        index.remove(2L);
+
+        assertThat(ids(index.query(price(30, 50)))).containsExactly(1L);
+        assertThat(ids(index.cheapest(price(null, null), 5))).containsExactly(1L);
+    }
+
+    private static ClothingItemFilter price(Integer min, Integer max) {
+        return new ClothingItemFilter(null, null, null, null, null, null, min, max);
+    }
+
+    private static List<Long> ids(List<? extends ClothingItemDTO> items) {
+        return items.stream().map(ClothingItemDTO::getId).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.backend.index;
+
+import static com.example.backend.TestItems.item;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.model.ClothingItem;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = SearchIndex.build(List.of(
+            item(1, "Red Hoodie", "female", "red", "cotton", "hoodie", "casual", "$20-$40"),
+            item(2, "Blue Jeans", "male", "blue", "denim", "jeans", "casual", "$60-$90"),
+            item(3, "Black Leather Jacket", "unisex", "black", "leather", "jacket", "party", "$120+"),
+            item(4, "Red Dress", "female", "red", "silk", "dress", "formal", "$80-$120"),
+            item(5, "Blue Hoodie", "female", "blue", "cotton", "hoodie", "everyday wear", "$15-$25"),
+            item(6, "Green Rain Jacket", "unisex", "green", "polyester", "jacket", "outdoor", "$60-$90")));
+    }
+
+    @Test
+    void documentsMatchingMoreQueryTermsRankFirst() {
+        List<ScoredItem> hits = index.search("red hoodie", 10);
+
+        assertThat(ids(hits)).hasSize(3).startsWith(1L).contains(4L, 5L);
+        assertThat(hits).isSortedAccordingTo((a, b) -> Double.compare(b.score(), a.score()));
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        // "leather" is in one document, "jacket" in two
+        assertThat(ids(index.search("leather jacket", 10))).containsExactly(3L, 6L);
+        assertThat(index.search("leather", 1).get(0).score())
+            .isGreaterThan(index.search("jacket", 1).get(0).score());
+    }
+
+    @Test
+    void aNameHitOutweighsADescriptionHit() {
+        ClothingItem named = item(10, "Wool Scarf", "unisex", "grey", "acrylic", "scarf", "casual", "$20");
+        ClothingItem described = item(11, "Grey Scarf", "unisex", "grey", "acrylic", "scarf", "casual", "$20");
+        described.setDescription("Knitted, with a wool trim.");
+        SearchIndex scarves = SearchIndex.build(List.of(described, named));
+
+        assertThat(ids(scarves.search("wool", 10))).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void equalScoresKeepCatalogOrder() {
+        assertThat(ids(index.search("casual", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void pluralsAndStopwordsAreIgnored() {
+        assertThat(ids(index.search("the hoodies", 10))).containsExactly(1L, 5L);
+        assertThat(index.search("the and of", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void oneTypoIsMatchedAtADiscount() {
+        List<ScoredItem> exact = index.search("hoodie", 10);
+        List<ScoredItem> typo = index.search("hoddie", 10);
+
+        assertThat(ids(typo)).isEqualTo(ids(exact));
+        for (int i = 0; i < exact.size(); i++) {
+            assertThat(typo.get(i).score()).isCloseTo(exact.get(i).score() / 2, within(1e-6));
+        }
+        // a swap of two adjacent letters is one edit too
+        assertThat(ids(index.search("jakcet", 10))).containsExactly(3L, 6L);
+        assertThat(ids(index.search("blak lether jaket", 10))).startsWith(3L);
+    }
+
+    @Test
+    void shortWordsAndTwoTyposAreNotFuzzyMatched() {
+        assertThat(index.search("rde", 10)).isEmpty();
+        assertThat(index.search("hdodei", 10)).isEmpty();
+    }
+
+    @Test
+    void limitCapsTheResults() {
+        assertThat(index.search("jacket", 1)).hasSize(1);
+        assertThat(index.search("jacket", 0)).isEmpty();
+    }
+
+    @Test
+    void removedAndReplacedDocumentsStopMatching() {
+        index.remove(3L);
+        index.upsert(item(1, "Red Sweater", "female", "red", "wool", "sweater", "casual", "$20-$40"));
+
+        assertThat(ids(index.search("leather", 10))).isEmpty();
+        assertThat(ids(index.search("hoodie", 10))).containsExactly(5L);
+        assertThat(ids(index.search("sweater", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    // queries share pooled score buffers, which must come back clean and
+    // must not be reused once the index has outgrown them
+    @Test
+    void repeatedQueriesAgreeAcrossInserts() {
+        List<ScoredItem> first = index.search("red hoodie", 10);
+        index.search("blue jacket", 10);
+        assertThat(index.search("red hoodie", 10)).isEqualTo(first);
+
+        for (long id = 100; id < 300; id++) {
+            index.upsert(item(id, "Plain Tee " + id, "unisex", "white", "cotton", "t-shirt", "casual", "$10"));
+        }
+        assertThat(ids(index.search("red hoodie", 3))).isEqualTo(ids(first));
+        assertThat(index.search("tee", 500)).hasSize(200);
+        assertThat(index.search("tee", 500).get(199).item().getId()).isEqualTo(299L);
+    }
+
+    @Test
+    void suggestCompletesTheWordBeingTypedMostCommonFirst() {
+        // completions are vocabulary terms, so plurals come back stemmed
+        assertThat(index.suggest("j", 10)).containsExactly("jacket", "jean");
+        assertThat(index.suggest("J", 1)).containsExactly("jacket");
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(index.suggest(" ", 10)).isEmpty();
+
+        index.remove(2L);
+        assertThat(index.suggest("j", 10)).containsExactly("jacket");
+    }
+
+    private static List<Long> ids(List<ScoredItem> hits) {
+        return hits.stream().map(s -> s.item().getId()).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TermTrieTest {
+
+    private TermTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TermTrie();
+        add("jacket", 3);
+        add("jeans", 2);
+        add("jersey", 2);
+        add("jumper", 1);
+        add("hoodie", 4);
+        add("hood", 1);
+    }
+
+    @Test
+    void completeRanksByDocumentCountThenAlphabetically() {
+        assertThat(trie.complete("j", 10)).containsExactly("jacket", "jeans", "jersey", "jumper");
+        assertThat(trie.complete("je", 10)).containsExactly("jeans", "jersey");
+        assertThat(trie.complete("j", 2)).containsExactly("jacket", "jeans");
+        assertThat(trie.complete("hood", 10)).containsExactly("hoodie", "hood");
+    }
+
+    @Test
+    void completeOfAnUnknownPrefixIsEmpty() {
+        assertThat(trie.complete("x", 10)).isEmpty();
+        assertThat(trie.complete("jackets", 10)).isEmpty();
+        assertThat(trie.complete("j", 0)).isEmpty();
+    }
+
+    @Test
+    void aTermDisappearsWithItsLastDocument() {
+        trie.decrement("jumper");
+        trie.decrement("jeans");
+
+        assertThat(trie.contains("jumper")).isFalse();
+        assertThat(trie.contains("jeans")).isTrue();
+        assertThat(trie.complete("j", 10)).containsExactly("jacket", "jersey", "jeans");
+        assertThat(trie.withinEdits("jumper", 1)).isEmpty();
+
+        // more decrements than increments leave it at zero
+        trie.decrement("jumper");
+        trie.increment("jumper");
+        assertThat(trie.contains("jumper")).isTrue();
+    }
+
+    @Test
+    void prefixesOfTermsAreNotTerms() {
+        assertThat(trie.contains("jack")).isFalse();
+        assertThat(trie.contains("hood")).isTrue();
+    }
+
+    @Test
+    void withinEditsFindsEachKindOfEdit() {
+        assertThat(trie.withinEdits("jacket", 1)).containsExactly(new TermTrie.Match("jacket", 0));
+        assertThat(trie.withinEdits("jackat", 1)).containsExactly(new TermTrie.Match("jacket", 1));  // substitution
+        assertThat(trie.withinEdits("jacet", 1)).containsExactly(new TermTrie.Match("jacket", 1));   // deletion
+        assertThat(trie.withinEdits("jacckett", 1)).isEmpty();                                       // two insertions
+        assertThat(trie.withinEdits("jackett", 1)).containsExactly(new TermTrie.Match("jacket", 1)); // insertion
+        assertThat(trie.withinEdits("jakcet", 1)).containsExactly(new TermTrie.Match("jacket", 1));  // adjacent swap
+    }
+
+    @Test
+    void withinEditsReturnsEveryNeighbourInRange() {
+        assertThat(trie.withinEdits("hoodi", 1))
+            .containsExactlyInAnyOrder(new TermTrie.Match("hoodie", 1), new TermTrie.Match("hood", 1));
+        assertThat(trie.withinEdits("jeasy", 2))
+            .containsExactlyInAnyOrder(new TermTrie.Match("jeans", 2), new TermTrie.Match("jersey", 2));
+        assertThat(trie.withinEdits("coat", 1)).isEmpty();
+    }
+
+    private void add(String term, int documents) {
+        for (int i = 0; i < documents; i++) {
+            trie.increment(term);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.backend.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void drainReturnsTheBestFirst() {
+        TopK top = new TopK(3);
+        top.offer(0, 1f);
+        top.offer(1, 5f);
+        top.offer(2, 3f);
+        top.offer(3, 4f);
+        top.offer(4, 0.5f);
+
+        float[] scores = new float[top.size()];
+        assertThat(top.drain(scores)).containsExactly(1, 3, 2);
+        assertThat(scores).containsExactly(5f, 4f, 3f);
+        assertThat(top.size()).isZero();
+    }
+
+    @Test
+    void lowerPositionsWinTies() {
+        TopK top = new TopK(2);
+        top.offer(9, 2f);
+        top.offer(4, 2f);
+        top.offer(7, 2f);
+        top.offer(1, 1f);
+
+        assertThat(top.drain(new float[2])).containsExactly(4, 7);
+    }
+
+    @Test
+    void fewerOffersThanK() {
+        TopK top = new TopK(5);
+        top.offer(3, 1f);
+        top.offer(2, 1f);
+
+        assertThat(top.drain(new float[top.size()])).containsExactly(2, 3);
+        assertThat(new TopK(5).drain(new float[0])).isEmpty();
+    }
+
+    @Test
+    void mergingPartsEqualsOfferingEverything() {
+        Random random = new Random(5);
+        // few distinct scores, so ties are common
+        float[] scores = new float[1_000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(50);
+        }
+
+        TopK all = new TopK(25);
+        TopK[] parts = { new TopK(25), new TopK(25), new TopK(25) };
+        for (int pos = 0; pos < scores.length; pos++) {
+            all.offer(pos, scores[pos]);
+            parts[random.nextInt(parts.length)].offer(pos, scores[pos]);
+        }
+        TopK merged = parts[2].merge(parts[0]).merge(parts[1]);
+
+        int[] expected = IntStream.range(0, scores.length).boxed()
+            .sorted(Comparator.<Integer>comparingDouble(pos -> -scores[pos]).thenComparing(pos -> pos))
+            .limit(25)
+            .mapToInt(Integer::intValue)
+            .toArray();
+        assertThat(merged.size()).isEqualTo(25);
+        assertThat(merged.drain(new float[25])).containsExactly(expected);
+        assertThat(all.drain(new float[25])).containsExactly(expected);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+
+@DatabaseTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+    }
+
+    @Test
+    void aRehashOnlyReplacesTheHashItWasMadeFrom() {
+        long ann = rows.user("ann@example.com");
+        rows.jdbc().update("UPDATE users SET password = 'old' WHERE id = ?", ann);
+
+        assertThat(users.updatePasswordHash(ann, "old", "rehashed")).isEqualTo(1);
+        assertThat(password(ann)).isEqualTo("rehashed");
+
+        // a password changed meanwhile (or a second rehash) is not overwritten
+        rows.jdbc().update("UPDATE users SET password = 'changed' WHERE id = ?", ann);
+        assertThat(users.updatePasswordHash(ann, "rehashed", "stale")).isZero();
+        assertThat(password(ann)).isEqualTo("changed");
+    }
+
+    private String password(long userId) {
+        return rows.jdbc().queryForObject("SELECT password FROM users WHERE id = ?", String.class, userId);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestItems;
+import com.example.backend.TestRows;
+import com.example.backend.dto.CatalogImportProgress;
+import com.example.backend.model.ClothingItem;
+import com.example.backend.repository.ClothingItemRepository;
+import com.example.backend.util.ContentHash;
+
+@DatabaseTest
+class CatalogImportServiceTest {
+
+    private static final String HEADER =
+        "name,description,color,pattern,material,estimated_pricing,gender,events,type_of_clothing,image_url,style\n";
+
+    @Autowired
+    private CatalogImportService importer;
+    @Autowired
+    private ClothingItemRepository repo;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRows rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+    }
+
+    @Test
+    void invalidRowsAreRejectedAndTheRestLoaded() throws Exception {
+        String longText = "x".repeat(256);
+        CatalogImportProgress done = run(HEADER
+            + "Jeans,Blue jeans.,blue,solid,denim,$40-$60,MALE,casual,jeans,jeans.jpg,street\n"
+            + ",No name.,red,solid,cotton,$10,female,casual,shirt,a.jpg,\n"
+            + "Skirt,No type.,red,solid,cotton,$10,female,casual,,b.jpg,\n"
+            + "Robe,Odd gender.,red,solid,silk,$10,robot,casual,robe,c.jpg,\n"
+            + "Scarf,Long colour.," + longText + ",solid,wool,$10,unisex,casual,scarf,d.jpg,\n"
+            + "Coat," + longText + ",black,solid,wool,$120+,,formal,coat,e.jpg,\n"
+            + "Short,row\n");
+
+        assertThat(done.state()).isEqualTo("DONE");
+        assertThat(done.rowsRead()).isEqualTo(7);
+        assertThat(done.inserted()).isEqualTo(2);
+        assertThat(done.rejected()).isEqualTo(5);
+        assertThat(done.errors()).containsExactly(
+            "line 3: name and type_of_clothing are required",
+            "line 4: name and type_of_clothing are required",
+            "line 5: unknown gender 'robot'",
+            "line 6: a field is longer than 255 characters",
+            "line 8: expected 11 fields, found 2");
+
+        // stored as validated: gender lower-cased, empty fields null, prices parsed
+        assertThat(rows.jdbc().queryForMap("SELECT gender, price_min_cents, price_max_cents FROM clothing_item"
+                                           + " WHERE name = 'Jeans'"))
+            .containsEntry("gender", "male")
+            .containsEntry("price_min_cents", 4000)
+            .containsEntry("price_max_cents", 6000);
+        assertThat(rows.jdbc().queryForMap("SELECT gender, price_min_cents, price_max_cents FROM clothing_item"
+                                           + " WHERE name = 'Coat'"))
+            .containsEntry("gender", null)
+            .containsEntry("price_min_cents", 12000)
+            .containsEntry("price_max_cents", null);
+    }
+
+    @Test
+    void aHeaderWithoutRequiredColumnsIsRefusedUpFront() {
+        assertThatThrownBy(() -> importer.submit(csv("name,color\nTee,red\n")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("type_of_clothing");
+        assertThatThrownBy(() -> importer.submit(csv("")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rowsDifferingInWhitespaceOrGenderCaseAreDuplicates() throws Exception {
+        CatalogImportProgress done = run(HEADER
+            + "Tee,A tee.,white,solid,cotton,$15,unisex,casual,shirt,tee.jpg,\n"
+            + " Tee ,A tee.,white,solid,cotton,$15,Unisex,casual,shirt,tee.jpg,other style\n");
+
+        assertThat(done.inserted()).isEqualTo(1);
+        assertThat(done.duplicates()).isEqualTo(1);
+        assertThat(rows.count("clothing_item")).isEqualTo(1);
+    }
+
+    @Test
+    void rowsFromTheScriptAndTheAppAreDuplicates() throws Exception {
+        // what load_clothes.py writes for a row read with gender " Female "
+        rows.jdbc().update(
+            "INSERT INTO clothing_item (id, name, description, color, pattern, material, estimated_pricing,"
+            + " gender, events, type_of_clothing, image_url, content_hash)"
+            + " VALUES (nextval('clothing_item_seq'), 'Red Hoodie', 'A warm red hoodie.', 'red', 'solid', 'cotton',"
+            + " '$20-$40', 'female', 'casual', 'hoodie', 'red-hoodie.jpg', ?)",
+            ContentHash.of("Red Hoodie", "A warm red hoodie.", "red", "solid", "cotton", "$20-$40",
+                           "female", "casual", "hoodie", "red-hoodie.jpg"));
+        // and what saving the entity writes
+        ClothingItem saved = TestItems.item(0, "Green Coat", "male", "green", "wool", "coat", "formal", "$80-$120");
+        saved.setId(null);
+        repo.saveAndFlush(saved);
+
+        CatalogImportProgress done = run(HEADER
+            + "Red Hoodie,A warm red hoodie.,red,solid,cotton,$20-$40,Female,casual,hoodie,red-hoodie.jpg,\n"
+            + "Green Coat," + saved.getDescription() + ",green,solid,wool,$80-$120,MALE,formal,coat,"
+            + saved.getImageUrl() + ",\n");
+
+        assertThat(done.inserted()).isZero();
+        assertThat(done.duplicates()).isEqualTo(2);
+        assertThat(rows.count("clothing_item")).isEqualTo(2);
+    }
+
+    private CatalogImportProgress run(String csv) throws Exception {
+        String id = importer.submit(csv(csv)).id();
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+        while (Instant.now().isBefore(deadline)) {
+            CatalogImportProgress p = importer.progress(id).orElseThrow();
+            if (p.state().equals("DONE") || p.state().equals("FAILED")) return p;
+            Thread.sleep(20);
+        }
+        throw new AssertionError("import " + id + " did not finish");
+    }
+
+    private static ByteArrayInputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // one thread and a queue of one; every hash waits for the test to release it
+    private final PasswordHashingService hashing = new PasswordHashingService(new BCryptPasswordEncoder(4) {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }, registry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hashing.shutdown();
+    }
+
+    @Test
+    void aSaturatedPoolRejectsAtOnce() throws Exception {
+        CompletableFuture<String> running = hashing.encode("one");
+        CompletableFuture<String> queued = hashing.encode("two");
+
+        assertThatThrownBy(() -> hashing.encode("three")).isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> hashing.matches("three", "$2a$04$x")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(registry.counter("auth.password.rejected").count()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        // room again once the queue drains
+        assertThat(hashing.encode("four").get(10, TimeUnit.SECONDS)).startsWith("$2a$04$");
+    }
+
+    @Test
+    void onlyHashesOfALowerCostNeedARehash() {
+        PasswordHashingService stronger = new PasswordHashingService(new BCryptPasswordEncoder(5),
+                                                                     registry, 1, 1);
+        try {
+            assertThat(stronger.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(stronger.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+            assertThat(stronger.needsRehash(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+        } finally {
+            stronger.shutdown();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.TestItems;
+import com.example.backend.dto.ScoredItem;
+import com.example.backend.model.Survey;
+import com.example.backend.repository.SurveyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RecommendationServiceTest {
+
+    private final CatalogIndexService catalog = mock(CatalogIndexService.class);
+    private final SurveyRepository surveys = mock(SurveyRepository.class);
+    private final RecommendationService service = new RecommendationService(
+        catalog, surveys, new SurveyProfileCompiler(), 100, Duration.ofHours(1));
+
+    private final List<ScoredItem> ranked = List.of(
+        new ScoredItem(TestItems.item(1, "Red Tee", "unisex", "red", "cotton", "shirt", "casual", "$10-$20"), 1.0),
+        new ScoredItem(TestItems.item(2, "Blue Tee", "unisex", "blue", "cotton", "shirt", "casual", "$10-$20"), 0.5));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(surveys.findByUserId(7L)).willReturn(Optional.of(survey("{\"q5\": \"mood\"}")));
+        given(catalog.version()).willReturn(1L);
+        given(catalog.topK(any(), eq(RecommendationService.MAX_RESULTS))).willReturn(ranked);
+    }
+
+    @Test
+    void rankingsAreCachedPerUser() {
+        assertThat(service.recommend(7L, 10)).contains(ranked);
+        assertThat(service.recommend(7L, 1)).contains(ranked.subList(0, 1));
+
+        then(surveys).should(times(1)).findByUserId(7L);
+        then(catalog).should(times(1)).topK(any(), eq(RecommendationService.MAX_RESULTS));
+    }
+
+    @Test
+    void aUserWithoutASurveyHasNoRecommendations() {
+        given(surveys.findByUserId(8L)).willReturn(Optional.empty());
+
+        assertThat(service.recommend(8L, 10)).isEmpty();
+        then(catalog).should(times(0)).topK(any(), eq(RecommendationService.MAX_RESULTS));
+    }
+
+    @Test
+    void aNewSurveyRecomputesWithTheNewProfile() throws Exception {
+        service.recommend(7L, 10);
+
+        // nothing left to like: the new profile ranks nothing without asking the catalog
+        service.onSurveySaved(7L, survey("{}"));
+        assertThat(service.recommend(7L, 10)).contains(List.of());
+
+        service.onSurveySaved(7L, survey("{\"q5\": \"neutral\"}"));
+        assertThat(service.recommend(7L, 10)).contains(ranked);
+
+        then(surveys).should(times(1)).findByUserId(7L);
+        then(catalog).should(times(2)).topK(any(), eq(RecommendationService.MAX_RESULTS));
+    }
+
+    @Test
+    void aCatalogChangeRecomputes() {
+        service.recommend(7L, 10);
+        given(catalog.version()).willReturn(2L);
+        service.recommend(7L, 10);
+        service.recommend(7L, 10);
+
+        then(surveys).should(times(1)).findByUserId(7L);
+        then(catalog).should(times(2)).topK(any(), eq(RecommendationService.MAX_RESULTS));
+    }
+
+    @Test
+    void aDeletedUserIsForgotten() {
+        service.recommend(7L, 10);
+        service.onUserDeleted(7L);
+        given(surveys.findByUserId(7L)).willReturn(Optional.empty());
+
+        assertThat(service.recommend(7L, 10)).isEmpty();
+        then(catalog).should(times(1)).topK(any(), eq(RecommendationService.MAX_RESULTS));
+    }
+
+    private static Survey survey(String answers) throws Exception {
+        Survey survey = new Survey();
+        survey.setAnswers(new ObjectMapper().readTree(answers));
+        return survey;
+    }
+}
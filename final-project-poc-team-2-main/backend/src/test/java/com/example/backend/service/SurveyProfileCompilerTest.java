@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.index.ClothingFacet;
+import com.example.backend.util.PriceRange;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SurveyProfileCompilerTest {
+
+    private final SurveyProfileCompiler compiler = new SurveyProfileCompiler();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void valuesNamedByMoreQuestionsWeighMore() throws Exception {
+        // white is both neutral (q5) and beach (q10); the rest are named once
+        PreferenceProfile profile = compiler.compile(json("{\"q5\": \"neutral\", \"q10\": \"beach\"}"));
+
+        assertThat(profile.preferences().get(ClothingFacet.COLOR)).containsOnly(
+            entry("white", 1.0), entry("black", 0.5), entry("gray", 0.5), entry("beige", 0.5),
+            entry("blue", 0.5), entry("yellow", 0.5));
+        assertThat(profile.preferences()).containsOnlyKeys(ClothingFacet.COLOR);
+        assertThat(profile.budget()).isNull();
+    }
+
+    @Test
+    void eachQuestionFeedsItsOwnFacet() throws Exception {
+        PreferenceProfile profile = compiler.compile(json(
+            "{\"q2\": \"casual_denim\", \"q7\": \"home\", \"q11\": \"pattern\", \"q14\": \"bottom\"}"));
+
+        // cotton blend and fleece are in both q2 and q7
+        assertThat(profile.preferences().get(ClothingFacet.MATERIAL)).containsOnly(
+            entry("denim", 0.5), entry("cotton blend", 1.0), entry("knit cotton", 0.5), entry("fleece", 1.0),
+            entry("flannel", 0.5), entry("knit fabric", 0.5));
+        // q2 counts for patterns too; checkered, checked and striped are also in q11
+        assertThat(profile.preferences().get(ClothingFacet.PATTERN)).contains(
+            entry("checkered", 1.0), entry("checked", 1.0), entry("striped", 1.0),
+            entry("ribbed", 0.5), entry("plaid", 0.5), entry("polka dot", 0.5));
+        assertThat(profile.preferences().get(ClothingFacet.TYPE_OF_CLOTHING)).containsOnly(
+            entry("pants", 1.0), entry("jeans", 1.0), entry("skirt", 1.0), entry("shorts", 1.0),
+            entry("trousers", 1.0));
+        assertThat(profile.preferences()).doesNotContainKey(ClothingFacet.COLOR);
+    }
+
+    @Test
+    void theListShapeAndArrayAnswersAreAccepted() throws Exception {
+        PreferenceProfile profile = compiler.compile(json(
+            "[{\"question\": \"q14\", \"answer\": [\"Top\", \" LAYER \"]},"
+            + " {\"question\": \"q5\", \"answer\": \"teal\"},"
+            + " {\"question\": \"\", \"answer\": \"ignored\"},"
+            + " {\"question\": \"q11\", \"answer\": null}]"));
+
+        assertThat(profile.preferences().get(ClothingFacet.TYPE_OF_CLOTHING))
+            .containsKeys("shirt", "blouse", "jacket", "hoodie")
+            .hasSize(12)
+            .allSatisfy((type, weight) -> assertThat(weight).isEqualTo(1.0));
+        // an answer with no mapping is taken literally
+        assertThat(profile.preferences().get(ClothingFacet.COLOR)).containsOnly(entry("teal", 1.0));
+        assertThat(profile.preferences()).doesNotContainKey(ClothingFacet.PATTERN);
+    }
+
+    @Test
+    void theBudgetIsQ16OrElseQ4() throws Exception {
+        assertThat(compiler.compile(json("{\"q4\": \"$10-$20\", \"q16\": \"$50-$100\"}")).budget())
+            .isEqualTo(new PriceRange(5000, 10000));
+        assertThat(compiler.compile(json("{\"q4\": \"$10-$20\"}")).budget())
+            .isEqualTo(new PriceRange(1000, 2000));
+        assertThat(compiler.compile(json("{\"q4\": \"whatever\"}")).budget()).isNull();
+    }
+
+    @Test
+    void noAnswersIsAnEmptyProfile() throws Exception {
+        assertThat(compiler.compile(null).isEmpty()).isTrue();
+        assertThat(compiler.compile(json("{}")).isEmpty()).isTrue();
+        assertThat(compiler.compile(json("{\"q3\": \"  \"}")).isEmpty()).isTrue();
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.DatabaseTest;
+import com.example.backend.TestRows;
+
+/**
+ * Restoring the trending scores at startup, read back through a checkpoint.
+ * Each test restores into a fresh service, since the context's own one has
+ * already restored.
+ */
+@DatabaseTest
+class TrendingServiceTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(24);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private TestRows rows;
+    private long wishlist, tee, jeans;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(dataSource);
+        rows.clear();
+        wishlist = rows.wishlist(rows.user("ann@example.com"), "Summer");
+        tee = rows.item("Tee", "white", "unisex", "$15");
+        jeans = rows.item("Jeans", "blue", "male", "$40");
+    }
+
+    @Test
+    void savesAfterTheCheckpointAreCountedExactlyOnce() {
+        Instant asOf = Instant.now().minus(Duration.ofHours(1));
+        rows.jdbc().update("INSERT INTO trending_score (clothing_item_id, score, as_of) VALUES (?, 2, ?)",
+                           tee, Timestamp.from(asOf));
+        // already in the checkpoint's score
+        rows.wishlistItem(wishlist, tee, asOf.minus(Duration.ofMinutes(10)));
+        long other = rows.wishlist(rows.user("bob@example.com"), "Winter");
+        rows.wishlistItem(other, tee, asOf.plus(Duration.ofMinutes(10)));
+        rows.wishlistItem(other, jeans, asOf.plus(Duration.ofMinutes(20)));
+
+        Map<Long, Double> scores = restoreAndCheckpoint();
+
+        assertThat(scores).containsOnlyKeys(tee, jeans);
+        assertThat(scores.get(tee)).isCloseTo(2 * decay(Duration.ofMinutes(60)) + decay(Duration.ofMinutes(50)),
+                                              within(0.001));
+        assertThat(scores.get(jeans)).isCloseTo(decay(Duration.ofMinutes(40)), within(0.001));
+    }
+
+    @Test
+    void withoutACheckpointEverySaveIsCounted() {
+        Instant now = Instant.now();
+        rows.wishlistItem(wishlist, tee, now.minus(HALF_LIFE));
+        rows.wishlistItem(rows.wishlist(rows.user("bob@example.com"), "Winter"), tee, now);
+
+        Map<Long, Double> scores = restoreAndCheckpoint();
+
+        assertThat(scores).containsOnlyKeys(tee);
+        assertThat(scores.get(tee)).isCloseTo(1.5, within(0.001));
+    }
+
+    private Map<Long, Double> restoreAndCheckpoint() {
+        TrendingService trending = new TrendingService(dataSource, txManager, mock(CatalogIndexService.class),
+                                                       HALF_LIFE, 100);
+        trending.restore();
+        trending.checkpoint();
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map<String, Object> row : rows.jdbc().queryForList("SELECT clothing_item_id, score FROM trending_score")) {
+            scores.put((Long) row.get("clothing_item_id"), (Double) row.get("score"));
+        }
+        return scores;
+    }
+
+    private static double decay(Duration age) {
+        return Math.pow(0.5, (double) age.toMillis() / HALF_LIFE.toMillis());
+    }
+}
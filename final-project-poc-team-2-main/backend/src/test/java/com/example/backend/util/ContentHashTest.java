@@ -0,0 +1,31 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ContentHashTest {
+
+    @Test
+    void matchesTheScriptsHash() {
+        // content_hash(...) in clothing-script/load_clothes.py, for the row the
+        // script reads with gender " Female "
+        assertThat(ContentHash.of("Red Hoodie", "A warm red hoodie.", "red", "solid", "cotton", "$20-$40",
+                                  "female", "casual", "hoodie", "red-hoodie.jpg"))
+            .isEqualTo("361be0a9a0b86b0de1719dbf03be0b11");
+        assertThat(ContentHash.of("a", null, " b ")).isEqualTo("3aa8909cac0696919c2cc255ee0dbcc6");
+    }
+
+    @Test
+    void onlySurroundingWhitespaceIsIgnored() {
+        String hash = ContentHash.of("Red Hoodie", "red");
+
+        assertThat(hash).hasSize(ContentHash.LENGTH).matches("[0-9a-f]+");
+        assertThat(ContentHash.of(" Red Hoodie\t", "red\n")).isEqualTo(hash);
+        assertThat(ContentHash.of("Red  Hoodie", "red")).isNotEqualTo(hash);
+        assertThat(ContentHash.of("Red Hoodie", "Red")).isNotEqualTo(hash);
+        // fields are separated, not concatenated
+        assertThat(ContentHash.of("Red Hoodi", "ered")).isNotEqualTo(hash);
+        assertThat(ContentHash.of(null, "x")).isEqualTo(ContentHash.of("", "x"));
+    }
+}
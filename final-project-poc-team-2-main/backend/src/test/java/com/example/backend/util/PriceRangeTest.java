@@ -0,0 +1,44 @@
+package com.example.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PriceRangeTest {
+
+    @Test
+    void parsesTheShapesTheScriptWrites() {
+        assertThat(PriceRange.parse("$40")).isEqualTo(new PriceRange(4000, 4000));
+        assertThat(PriceRange.parse("$40-60")).isEqualTo(new PriceRange(4000, 6000));
+        assertThat(PriceRange.parse("$30 - $15")).isEqualTo(new PriceRange(1500, 3000));
+        assertThat(PriceRange.parse("$19.99")).isEqualTo(new PriceRange(1999, 1999));
+        assertThat(PriceRange.parse("$1,200")).isEqualTo(new PriceRange(120000, 120000));
+        assertThat(PriceRange.parse("$120+").isOpenEnded()).isTrue();
+        assertThat(PriceRange.parse("$120+").minCents()).isEqualTo(12000);
+    }
+
+    @Test
+    void noAmountIsNoPrice() {
+        assertThat(PriceRange.parse(null)).isNull();
+        assertThat(PriceRange.parse("varies")).isNull();
+        assertThat(PriceRange.parse("")).isNull();
+    }
+
+    @Test
+    void amountsPastAnIntOfCentsSaturateBelowOpenEnded() {
+        // the largest amount that fits exactly, and the first that does not
+        assertThat(PriceRange.parse("$21474836.46")).isEqualTo(new PriceRange(PriceRange.MAX_CENTS, PriceRange.MAX_CENTS));
+        assertThat(PriceRange.parse("$21474836.45").minCents()).isEqualTo(PriceRange.MAX_CENTS - 1);
+        assertThat(PriceRange.parse("$21474836.48").minCents()).isEqualTo(PriceRange.MAX_CENTS);
+
+        PriceRange huge = PriceRange.parse("$30000000");
+        assertThat(huge.minCents()).isEqualTo(PriceRange.MAX_CENTS);
+        assertThat(huge.isOpenEnded()).isFalse();
+        assertThat(PriceRange.parse("$99999999999999999999999").minCents()).isEqualTo(PriceRange.MAX_CENTS);
+
+        assertThat(PriceRange.parse("$10-$30000000")).isEqualTo(new PriceRange(1000, PriceRange.MAX_CENTS));
+        PriceRange hugeAndUp = PriceRange.parse("$30000000+");
+        assertThat(hugeAndUp.minCents()).isEqualTo(PriceRange.MAX_CENTS);
+        assertThat(hugeAndUp.isOpenEnded()).isTrue();
+    }
+}
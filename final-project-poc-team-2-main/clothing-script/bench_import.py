@@ -0,0 +1,92 @@
+#!/usr/bin/env python3
+"""
+Benchmark for the backend's bulk import (POST /api/clothing-items/import).
+
+Generates a CSV of N rows in the clothing_analysis format by cycling through
+the rows in migration-files/ with a numbered name (so every row is new
+content), uploads it, polls the job until it finishes and prints rows/sec.
+The same file is then uploaded a second time to time the all-duplicates path.
+
+The rows stay in the database, and the backend rebuilds its in-memory catalog
+after the import, so give it heap to match (about -Xmx4g for 1M rows).
+Run it against a scratch database.
+
+The import is admin-only: log in as a user with users.admin set and pass the
+token in ADMIN_TOKEN.
+
+usage: ADMIN_TOKEN=... bench_import.py [rows=1000000] [base_url=http://localhost:8080]
+"""
+
+import csv
+import glob
+import json
+import os
+import sys
+import tempfile
+import time
+import urllib.request
+
+FIELDS = ["image_name", "style", "color", "pattern", "material", "estimated_pricing",
+          "gender", "events", "type_of_clothing", "name", "description"]
+
+
+def generate(path: str, rows: int) -> None:
+    seed = []
+    for f in sorted(glob.glob(os.path.join(os.path.dirname(__file__), "migration-files", "*.csv"))):
+        with open(f, newline="", encoding="utf-8") as fh:
+            seed.extend(csv.DictReader(fh))
+    with open(path, "w", newline="", encoding="utf-8") as out:
+        writer = csv.DictWriter(out, fieldnames=FIELDS, extrasaction="ignore")
+        writer.writeheader()
+        for i in range(rows):
+            row = dict(seed[i % len(seed)])
+            row["name"] = f"{row['name']} #{i}"
+            writer.writerow(row)
+
+
+def upload(base_url: str, path: str, token: str) -> dict:
+    size = os.path.getsize(path)
+    auth = {"Authorization": f"Bearer {token}"}
+    with open(path, "rb") as body:
+        req = urllib.request.Request(f"{base_url}/api/clothing-items/import", data=body, method="POST",
+                                     headers={"Content-Type": "text/csv", "Content-Length": str(size), **auth})
+        with urllib.request.urlopen(req) as resp:
+            job = json.load(resp)
+    while job["state"] in ("QUEUED", "RUNNING"):
+        time.sleep(0.5)
+        req = urllib.request.Request(f"{base_url}/api/clothing-items/import/{job['id']}", headers=auth)
+        with urllib.request.urlopen(req) as resp:
+            job = json.load(resp)
+        print(f"\r  {job['percent']:3d}%  {job['rowsRead']:>9} rows  {job['rowsPerSecond']:>7} rows/s",
+              end="", flush=True)
+    print()
+    return job
+
+
+def main(rows: int, base_url: str) -> None:
+    token = os.environ.get("ADMIN_TOKEN")
+    if not token:
+        sys.exit("Set ADMIN_TOKEN to an admin's bearer token; the import endpoint is admin-only")
+    fd, path = tempfile.mkstemp(suffix=".csv")
+    os.close(fd)
+    try:
+        start = time.time()
+        generate(path, rows)
+        print(f"Generated {rows} rows ({os.path.getsize(path) / 1e6:.0f} MB) in {time.time() - start:.1f}s")
+
+        for label in ("fresh", "re-import"):
+            start = time.time()
+            job = upload(base_url, path, token)
+            wall = time.time() - start
+            print(f"{label:>9}: {job['state']}  inserted={job['inserted']} duplicates={job['duplicates']} "
+                  f"rejected={job['rejected']}  server {job['rowsPerSecond']} rows/s, "
+                  f"end-to-end {rows / wall:.0f} rows/s incl. upload")
+            if job["state"] != "DONE":
+                sys.exit(job.get("message"))
+    finally:
+        os.remove(path)
+
+
+if __name__ == "__main__":
+    main(int(sys.argv[1]) if len(sys.argv) > 1 else 1_000_000,
+         sys.argv[2] if len(sys.argv) > 2 else "http://localhost:8080")
@@ -0,0 +1,116 @@
+#!/usr/bin/env python3
+"""
+Throughput and tail latency of the backend's database-backed endpoints under
+high concurrency. It is used to compare the platform-thread and
+virtual-thread modes (spring.threads.virtual.enabled, VIRTUAL_THREADS=true).
+
+Each worker keeps its own keep-alive connection and loops over keyset catalog
+pages (GET /api/clothing-items/page?after=...), which means one JPA query per
+request. With a login it also loops over that user's first wishlist detail
+(one join query). After a warm-up it prints requests/s and p50/p99/max
+latency.
+
+Start the backend once in each mode against the same data, with SQL logging
+off so the log does not become the bottleneck, e.g.
+  VIRTUAL_THREADS=true java -jar backend.jar --spring.jpa.show-sql=false \\
+      --logging.level.org.springframework.web=INFO
+and run this against it with the same arguments both times.
+
+usage: bench_threads.py [concurrency=400] [seconds=30] [base_url=http://localhost:8080] [email password]
+"""
+
+import http.client
+import json
+import random
+import sys
+import threading
+import time
+from urllib.parse import urlparse
+
+WARMUP_SECONDS = 5
+
+
+def login(base: str, email: str, password: str) -> tuple:
+    u = urlparse(base)
+    conn = http.client.HTTPConnection(u.hostname, u.port or 80)
+    conn.request("POST", "/auth/login", json.dumps({"email": email, "password": password}),
+                 {"Content-Type": "application/json"})
+    body = json.load(conn.getresponse())
+    conn.close()
+    user_id, token = body["user"]["id"], body["token"]
+    conn = http.client.HTTPConnection(u.hostname, u.port or 80)
+    conn.request("GET", f"/users/{user_id}/wishlists", headers={"Authorization": f"Bearer {token}"})
+    wishlists = json.load(conn.getresponse())
+    conn.close()
+    if not wishlists:
+        sys.exit(f"{email} has no wishlist to read")
+    return f"/users/{user_id}/wishlists/{wishlists[0]['id']}/detail", token
+
+
+def worker(base: str, paths: list, headers: dict, until: float, record_from: float,
+           latencies: list, errors: list) -> None:
+    u = urlparse(base)
+    conn = http.client.HTTPConnection(u.hostname, u.port or 80, timeout=60)
+    mine, failed = [], 0
+    while True:
+        path = random.choice(paths)
+        if "after=" in path:
+            path = path.format(random.randint(0, 5000))
+        start = time.perf_counter()
+        if start >= until:
+            break
+        try:
+            conn.request("GET", path, headers=headers if path.startswith("/users") else {})
+            resp = conn.getresponse()
+            resp.read()
+            ok = resp.status == 200
+        except (OSError, http.client.HTTPException):
+            ok = False
+            conn.close()
+            conn = http.client.HTTPConnection(u.hostname, u.port or 80, timeout=60)
+        if start >= record_from:
+            if ok:
+                mine.append(time.perf_counter() - start)
+            else:
+                failed += 1
+    conn.close()
+    latencies.extend(mine)
+    errors.append(failed)
+
+
+def percentile(sorted_values: list, p: float) -> float:
+    return sorted_values[min(len(sorted_values) - 1, int(len(sorted_values) * p))]
+
+
+def main(concurrency: int, seconds: int, base: str, email: str = None, password: str = None) -> None:
+    paths = ["/api/clothing-items/page?after={}&size=50"]
+    headers = {}
+    if email:
+        detail, token = login(base, email, password)
+        paths.append(detail)
+        headers = {"Authorization": f"Bearer {token}"}
+
+    record_from = time.perf_counter() + WARMUP_SECONDS
+    until = record_from + seconds
+    latencies, errors = [], []
+    threads = [threading.Thread(target=worker, args=(base, paths, headers, until, record_from, latencies, errors),
+                                daemon=True) for _ in range(concurrency)]
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+
+    latencies.sort()
+    if not latencies:
+        sys.exit(f"no successful requests, {sum(errors)} errors")
+    print(f"{concurrency} connections, {seconds}s: {len(latencies) / seconds:.0f} req/s, {sum(errors)} errors")
+    print(f"latency ms  p50 {percentile(latencies, 0.50) * 1000:.1f}  p99 {percentile(latencies, 0.99) * 1000:.1f}  "
+          f"max {latencies[-1] * 1000:.1f}")
+
+
+if __name__ == "__main__":
+    args = sys.argv[1:]
+    main(int(args[0]) if len(args) > 0 else 400,
+         int(args[1]) if len(args) > 1 else 30,
+         args[2] if len(args) > 2 else "http://localhost:8080",
+         *args[3:5])
@@ -6,6 +6,8 @@ name,description,color,pattern,material,estimated_pricing,gender,events,type_of_
 """
 
 import csv
+import hashlib
+import re
 import sys
 import psycopg2
 from psycopg2.extras import execute_values
@@ -19,6 +21,54 @@ CONN_STR = (
     "port=5432"
 )
 
+# must match ClothingItem.ID_ALLOCATION_SIZE / ID_SEQUENCE (pooled-lo: each
+# nextval is the first id of a block this size)
+ID_ALLOCATION_SIZE = 50
+ID_SEQUENCE = "clothing_item_seq"
+
+AMOUNT = re.compile(r"\d+(?:\.\d{1,2})?")
+# PriceRange.MAX_CENTS: the largest price an integer column holds, one below
+# the backend's open-ended marker
+MAX_CENTS = 2**31 - 2
+
+def parse_price(raw: str):
+    """
+    "$40-60" -> (4000, 6000), "$120+" -> (12000, None), "$50" -> (5000, 5000).
+    Amounts past MAX_CENTS are capped there.
+    Mirrors com.example.backend.util.PriceRange so the backend never has to
+    re-parse estimated_pricing.
+    """
+    amounts = [min(round(float(a) * 100), MAX_CENTS) for a in AMOUNT.findall((raw or "").replace(",", ""))]
+    if not amounts:
+        return None, None
+    if len(amounts) >= 2:
+        return min(amounts[:2]), max(amounts[:2])
+    if raw.strip().endswith("+"):
+        return amounts[0], None
+    return amounts[0], amounts[0]
+
+def content_hash(*fields) -> str:
+    """
+    Same value as com.example.backend.util.ContentHash: the first 128 bits of
+    SHA-256 over the trimmed fields joined by \\x1f, hex encoded. Rows with
+    equal content are only inserted once.
+    """
+    joined = "\x1f".join((f or "").strip() for f in fields)
+    return hashlib.sha256(joined.encode("utf-8")).hexdigest()[:32]
+
+def normalize_gender(raw: str) -> str:
+    """
+    Lower-cased, as CatalogImportService stores and hashes it, so a row both
+    loaders see gets the same content_hash.
+    """
+    return (raw or "").strip().lower()
+
+def reserve_ids(cur, count: int):
+    blocks = -(-count // ID_ALLOCATION_SIZE)
+    cur.execute(f"SELECT nextval('{ID_SEQUENCE}') FROM generate_series(1, %s)", (blocks,))
+    ids = [first + k for (first,) in cur.fetchall() for k in range(ID_ALLOCATION_SIZE)]
+    return ids[:count]
+
 def load_csv(path: str) -> None:
     with open(path, newline="", encoding="utf-8") as f:
         rows = [
@@ -29,10 +79,14 @@ def load_csv(path: str) -> None:
                 r["pattern"],
                 r["material"],
                 r["estimated_pricing"],
-                r["gender"],
+                normalize_gender(r["gender"]),
                 r["events"],
                 r["type_of_clothing"],
                 r["image_name"],            # NEW FIELD
+                *parse_price(r["estimated_pricing"]),
+                content_hash(r["name"], r["description"], r["color"], r["pattern"],
+                             r["material"], r["estimated_pricing"], normalize_gender(r["gender"]),
+                             r["events"], r["type_of_clothing"], r["image_name"]),
             )
             for r in csv.DictReader(f)
         ]
@@ -43,17 +97,22 @@ def load_csv(path: str) -> None:
 
     sql = """
         INSERT INTO clothing_item
-        (name, description, color, pattern, material,
-         estimated_pricing, gender, events, type_of_clothing, image_url)
+        (id, name, description, color, pattern, material,
+         estimated_pricing, gender, events, type_of_clothing, image_url,
+         price_min_cents, price_max_cents, content_hash)
         VALUES %s
+        ON CONFLICT (content_hash) DO NOTHING
+        RETURNING id
     """
 
     with psycopg2.connect(CONN_STR) as conn:
         with conn.cursor() as cur:
-            execute_values(cur, sql, rows)
+            ids = reserve_ids(cur, len(rows))
+            rows = [(i, *row) for i, row in zip(ids, rows)]
+            inserted = len(execute_values(cur, sql, rows, page_size=1000, fetch=True))
         conn.commit()
 
-    print(f"✅ Inserted {len(rows)} rows.")
+    print(f"✅ Inserted {inserted} rows, skipped {len(rows) - inserted} already present.")
 
 if __name__ == "__main__":
     if len(sys.argv) != 2:
@@ -0,0 +1,6 @@
+// Authorization header for the per-user endpoints (wishlists, surveys, account),
+// using the token saved at login/signup. Empty when nobody is logged in.
+export const authHeaders = (): Record<string, string> => {
+  const token = localStorage.getItem('jwtToken');
+  return token ? { Authorization: `Bearer ${token}` } : {};
+};
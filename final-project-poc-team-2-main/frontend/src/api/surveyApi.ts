@@ -1,3 +1,5 @@
+import { authHeaders } from './authHeaders';
+
 // need fns to fetch a survey by id and fns to create a survey response for a user
 
 export type RequestResult<T> =
@@ -35,6 +37,7 @@ export async function createSurveyResponse(
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
+      ...authHeaders(),
     },
     body: JSON.stringify(payload),
   })
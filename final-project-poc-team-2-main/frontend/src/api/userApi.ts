@@ -1,13 +1,15 @@
 // api/userApi.ts
 
 import { User } from "@/hooks/UserContext";
+import { authHeaders } from "./authHeaders";
 
 
 export async function getUser(userId: string): Promise<User> {
     const response = await fetch(`http://localhost:8080/auth/user/${userId}`, {
         method: 'GET',
         headers: {
-            'Content-Type': 'application/json'
+            'Content-Type': 'application/json',
+            ...authHeaders()
         }
     });
 
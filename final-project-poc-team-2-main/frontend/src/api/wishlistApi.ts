@@ -1,5 +1,7 @@
 // wishlistApi.ts
 
+import { authHeaders } from './authHeaders';
+
 // Interface representing a Wishlist item
 export interface Wishlist {
   id: number;
@@ -22,6 +24,7 @@ export const fetchUserWishlists = async (userId: string): Promise<Wishlist[]> =>
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
+      ...authHeaders(),
     },
   });
   if (!response.ok) {
@@ -40,6 +43,7 @@ export const fetchWishlistById = async (
 ): Promise<Wishlist> => {
   const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}`, {
     method: 'GET',
+    headers: authHeaders(),
   });
   if (!response.ok) {
     throw new Error(`Error fetching wishlist with id ${wishlistId}`);
@@ -47,11 +51,64 @@ export const fetchWishlistById = async (
   return response.json();
 };
 
+export interface WishlistClothingItem {
+  id: number;
+  name: string;
+  description: string;
+  color: string;
+  pattern: string;
+  material: string;
+  estimatedPricing: string;
+  gender: string;
+  events: string;
+  typeOfClothing: string;
+  imageUrl: string;
+}
+
+// Wishlist with full clothing data per item, one page at a time
+export interface WishlistDetail {
+  id: number;
+  name: string;
+  items: { id: number; clothingItem: WishlistClothingItem }[];
+  nextCursor: number | null;
+}
+
+// Fetch one page of a wishlist's items, with their clothing data
+const fetchWishlistDetailPage = async (
+  userId: string,
+  wishlistId: string,
+  after: number
+): Promise<WishlistDetail> => {
+  const response = await fetch(
+    `http://localhost:8080/users/${userId}/wishlists/${wishlistId}/detail?after=${after}&size=200`,
+    { headers: authHeaders() }
+  );
+  if (!response.ok) {
+    throw new Error(`Error fetching wishlist with id ${wishlistId}`);
+  }
+  return response.json();
+};
+
+// Fetch a wishlist and all its items, following the pages
+export const fetchWishlistDetail = async (
+  userId: string,
+  wishlistId: string
+): Promise<WishlistDetail> => {
+  const detail = await fetchWishlistDetailPage(userId, wishlistId, 0);
+  let next = detail.nextCursor;
+  while (next !== null) {
+    const page = await fetchWishlistDetailPage(userId, wishlistId, next);
+    detail.items.push(...page.items);
+    next = page.nextCursor;
+  }
+  return detail;
+};
+
 // Create a new wishlist for a user
 export const createWishlist = async (newWishlist: NewWishlistData): Promise<Wishlist> => {
   const response = await fetch(`http://localhost:8080/users/${newWishlist.userId}/wishlists`, {
     method: 'POST',
-    headers: { 'Content-Type': 'application/json' },
+    headers: { 'Content-Type': 'application/json', ...authHeaders() },
     body: JSON.stringify({
       name: newWishlist.name,
       user: { id: Number(newWishlist.userId) },
@@ -73,6 +130,7 @@ export const updateWishlist = async (
     method: 'PUT',
     headers: {
       'Content-Type': 'application/json',
+      ...authHeaders(),
     },
     body: JSON.stringify(updates),
   });
@@ -86,6 +144,7 @@ export const updateWishlist = async (
 export const deleteWishlist = async (userId: string, wishlistId: string): Promise<void> => {
   const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}`, {
     method: 'DELETE',
+    headers: authHeaders(),
   });
   if (!response.ok) {
     throw new Error(`Could not delete wishlist with id ${wishlistId}`);
@@ -1,3 +1,5 @@
+import { authHeaders } from './authHeaders';
+
 export interface WishlistItem {
   id: number;
   wishlistId: number;
@@ -9,7 +11,9 @@ export const fetchWishlistItems = async (
   userId: string,
   wishlistId: string
 ): Promise<WishlistItem[]> => {
-  const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}/items`);
+  const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}/items`, {
+    headers: authHeaders(),
+  });
   if (!response.ok) throw new Error('Failed to fetch wishlist items');
   return response.json();
 };
@@ -22,7 +26,7 @@ export const addWishlistItem = async (
 ): Promise<WishlistItem> => {
   const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}/items`, {
     method: 'POST',
-    headers: { 'Content-Type': 'application/json' },
+    headers: { 'Content-Type': 'application/json', ...authHeaders() },
     body: JSON.stringify({ clothingItemId }),
   });
   if (!response.ok) throw new Error('Failed to add wishlist item');
@@ -37,6 +41,7 @@ export const deleteWishlistItem = async (
 ): Promise<void> => {
   const response = await fetch(`http://localhost:8080/users/${userId}/wishlists/${wishlistId}/items/${itemId}`, {
     method: 'DELETE',
+    headers: authHeaders(),
   });
   if (!response.ok) throw new Error('Failed to delete wishlist item');
 };
@@ -11,8 +11,14 @@ import { Input } from '@/components/ui/input';
 import { Button } from '@/components/ui/button';
 
 import { User } from '@/hooks/UserContext';
-import { createWishlist, deleteWishlist, fetchUserWishlists } from '@/api/wishlistApi';
-import { deleteWishlistItem, fetchWishlistItems } from '@/api/wishlistItemApi';
+import {
+  createWishlist,
+  deleteWishlist,
+  fetchUserWishlists,
+  fetchWishlistDetail,
+  WishlistClothingItem,
+} from '@/api/wishlistApi';
+import { deleteWishlistItem } from '@/api/wishlistItemApi';
 
 interface Wishlist {
   id: number;
@@ -26,6 +32,7 @@ interface WishlistPageProps {
 interface WListItm {
   id: number;
   wishlistItemId: number;
+  product: WishlistClothingItem;
 }
 
 
@@ -37,58 +44,26 @@ const WishlistPage: React.FC<WishlistPageProps> = ({ user }) => {
   const [deletingListId, setDeletingListId] = useState<number | null>(null);
   const [showNLst, setShowNLst] = useState(false);
   const [nameForNewList, setNameForNewList] = useState('');
-  const [selectedClothing, setSelectedClothing] = useState<ClothingItem | null>(null);
-
-  interface ClothingItem {
-  id: number;
-  name: string;
-  color: string;
-  pattern: string;
-  material: string;
-  gender: string;
-  typeOfClothing: string;
-  events: string;
-  estimatedPricing: string;
-  imageUrl: string;
-  description: string;
-}
-
-const [clothingMap, setClothingMap] = useState<Record<number, ClothingItem>>({});
+  const [selectedClothing, setSelectedClothing] = useState<WishlistClothingItem | null>(null);
 
 React.useEffect(() => {
-  async function fetchClothingData() {
-    try {
-      const res = await fetch('http://localhost:8080/api/clothing-items');
-      if (!res.ok) throw new Error('Failed to fetch clothing items');
-      const data: ClothingItem[] = await res.json();
-
-      // Build the lookup map by ID
-      const map: Record<number, ClothingItem> = {};
-      data.forEach((item) => {
-        map[item.id] = item;
-      });
-
-      setClothingMap(map);
-    } catch (err) {
-      console.error(err);
-    }
-}
-fetchClothingData();
 async function loadWishlists() {
     console.log("Loading wishlists...");
   try {
     const wishlists = await fetchUserWishlists(user.id);
+    // each detail call returns the items with their clothing data, no catalog download needed
     const fullWishlists = await Promise.all(
     wishlists.map(async (wishlist) => {
-    const items = await fetchWishlistItems(user.id.toString(), wishlist.id.toString());
-    const productIds = items.map(item => ({ 
-      id: item.clothingItemId,  // for display info lookup
-      wishlistItemId: item.id   // needed to delete the item properly
+    const detail = await fetchWishlistDetail(user.id.toString(), wishlist.id.toString());
+    const products = detail.items.map(item => ({
+      id: item.clothingItem.id,
+      wishlistItemId: item.id,   // needed to delete the item properly
+      product: item.clothingItem,
     }));
       return {
       id: wishlist.id,
       name: wishlist.name,
-      products: productIds,
+      products,
       };
      })
     );
@@ -236,19 +211,7 @@ loadWishlists();
                   </td>
                 </tr>
               ) : (
-                wList.products.map(({ id, wishlistItemId }) => {
-  const product = clothingMap[id];
-  if (!product) {
-    // If the product data isn't loaded yet, render a placeholder row or skip
-    return (
-      <tr key={id} className="border-t">
-        <td colSpan={10} className="text-center text-gray-500 py-2">
-          Loading...
-        </td>
-      </tr>
-    );
-  }
-
+                wList.products.map(({ id, wishlistItemId, product }) => {
   return (
     
     <tr key={id} className="border-t">